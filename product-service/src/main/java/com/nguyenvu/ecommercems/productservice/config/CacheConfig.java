@@ -0,0 +1,104 @@
+package com.nguyenvu.ecommercems.productservice.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.TwoTierCacheManager;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Redis-backed Spring caches.
+ * Values are stored as typed JSON so DTOs need not be {@link java.io.Serializable}.
+ * Product lookups additionally keep a bounded per-node copy, invalidated over Redis pub/sub.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public RedisCacheConfiguration redisCacheConfiguration() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.nguyenvu.ecommercems.productservice.")
+                        .allowIfSubType("java.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ProductServiceConstants.DEFAULT_CACHE_TTL)
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper)));
+    }
+
+    /**
+     * Redis caches, with a near cache in front of the product lookups read on every detail page.
+     * Boot's cache manager backs off for this bean, so the builder customizers are applied here.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            RedisCacheConfiguration defaults,
+                                            ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+                                            @Value("${product.cache.near.max-entries:10000}") int nearMaxEntries,
+                                            @Value("${product.cache.near.ttl:30s}") Duration nearTtl) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(redisCacheManager, stringRedisTemplate,
+                Set.of(ProductServiceConstants.CACHE_PRODUCT_BY_ID,
+                        ProductServiceConstants.CACHE_PRODUCT_BY_CODE,
+                        ProductServiceConstants.CACHE_PRODUCT_BY_ISBN),
+                nearMaxEntries, nearTtl);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(ProductServiceConstants.CACHE_INVALIDATION_TOPIC));
+        return container;
+    }
+
+    /**
+     * Search pages go stale on changes no write path reports (e.g. time-based filters),
+     * so they live shorter than entity caches; cached counts are never invalidated and expire quickly
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer searchCachesCustomizer(RedisCacheConfiguration defaults) {
+        Duration resultsTtl = ProductServiceConstants.SEARCH_RESULTS_CACHE_TTL;
+        Duration countsTtl = ProductServiceConstants.SEARCH_COUNTS_CACHE_TTL;
+        return builder -> builder
+                .withCacheConfiguration(ProductServiceConstants.CACHE_SEARCH_RESULTS, defaults.entryTtl(resultsTtl))
+                .withCacheConfiguration(ProductServiceConstants.CACHE_SEARCH_COUNTS, defaults.entryTtl(countsTtl));
+    }
+}
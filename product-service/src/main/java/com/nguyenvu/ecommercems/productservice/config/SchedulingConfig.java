@@ -0,0 +1,12 @@
+package com.nguyenvu.ecommercems.productservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs such as the daily sales window rollover
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -6,20 +6,32 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -29,7 +41,16 @@ import java.util.Map;
 @Tag(name = "products", description = "Product management operations")
 public class ProductController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final ProductService productService;
+
+    /**
+     * Async timeout of the streaming export endpoints only; other async requests keep the global one
+     */
+    @Value("${product.export.request-timeout:30m}")
+    private Duration exportTimeout;
     
     // ===== BASIC CRUD ENDPOINTS =====
     
@@ -65,6 +86,21 @@ public class ProductController {
         return ResponseEntity.ok(Product);
     }
 
+    /**
+     * Get several products by ID in one call, in request order
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Get products by IDs", description = "Retrieve several products in request order; unknown IDs are omitted")
+    public ResponseEntity<List<ProductDTO>> getProductsByIds(
+            @Parameter(description = "Product IDs", required = true)
+            @RequestBody List<String> ids) {
+        
+        log.debug("POST /api/v1/products/batch - {} ids", ids.size());
+        
+        List<ProductDTO> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(products);
+    }
+
     /**
      * Get Product by code
      */
@@ -140,6 +176,38 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    // ===== EXPORT ENDPOINTS =====
+
+    /**
+     * Stream the active catalog as NDJSON, optionally gzip-encoded
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export catalog", description = "Stream all active products as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Gzip-encode the stream")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+
+        log.info("GET /api/v1/products/export - gzip: {}", gzip);
+        applyExportTimeout(request);
+
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(output, GZIP_BUFFER_SIZE, true)) {
+                    productService.exportActiveProducts(compressed);
+                }
+            } else {
+                productService.exportActiveProducts(output);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     // ===== SEARCH ENDPOINTS =====
     
     /**
@@ -157,6 +225,22 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Typeahead suggestions
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions", description = "Ranked prefix completions over titles, slugs, supplier and manufacturer names")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @Parameter(description = "Typed prefix", required = true)
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        log.debug("GET /api/v1/products/suggest?q={}&limit={}", q, limit);
+        
+        List<SuggestionDTO> suggestions = productService.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     /**
      * Advanced search with filters
      */
@@ -175,6 +259,58 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Advanced search with keyset (cursor) pagination
+     */
+    @PostMapping("/search/cursor")
+    @Operation(summary = "Advanced search (cursor mode)",
+            description = "Advanced search paged by an opaque cursor. Pass pagination.nextCursor back as criteria.cursor " +
+                    "to fetch the next page; set includeTotalCount=true to also get the total hit count")
+    public ResponseEntity<ProductListResponse> advancedSearchWithCursor(
+            @Valid @RequestBody ProductSearchCriteria criteria,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("POST /api/v1/products/search/cursor - criteria: {}, size: {}", criteria, size);
+        
+        ProductListResponse response = productService.searchProductsWithCursor(criteria, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Advanced search with facet counts
+     */
+    @PostMapping("/search/faceted")
+    @Operation(summary = "Advanced search (faceted)",
+            description = "Advanced search returning the page together with hit counts per category, availability, " +
+                    "type, manufacturer and price range, computed in one database round trip")
+    public ResponseEntity<ProductListResponse> advancedSearchWithFacets(
+            @Valid @RequestBody ProductSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("POST /api/v1/products/search/faceted - criteria: {}", criteria);
+        
+        ProductListResponse response = productService.searchProductsWithFacets(criteria, PageRequest.of(page, size));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Advanced search returning slim product cards
+     */
+    @PostMapping("/search/cards")
+    @Operation(summary = "Advanced search (cards)",
+            description = "Advanced search returning only the fields needed to render a product grid")
+    public ResponseEntity<Page<ProductCardDTO>> advancedSearchCards(
+            @Valid @RequestBody ProductSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("POST /api/v1/products/search/cards - criteria: {}", criteria);
+        
+        Page<ProductCardDTO> cards = productService.searchProductCards(criteria, PageRequest.of(page, size));
+        return ResponseEntity.ok(cards);
+    }
+
     // ===== CATEGORY ENDPOINTS =====
     
     /**
@@ -193,17 +329,35 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Get product cards by category
+     */
+    @GetMapping("/category/{categoryId}/cards")
+    @Operation(summary = "Get product cards by category", description = "Retrieve a page of slim product cards in a category")
+    public ResponseEntity<Page<ProductCardDTO>> getProductCardsByCategory(
+            @Parameter(description = "Category ID", required = true)
+            @PathVariable String categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("GET /api/v1/products/category/{}/cards - page: {}, size: {}", categoryId, page, size);
+        
+        Page<ProductCardDTO> cards = productService.getProductCardsByCategory(categoryId, PageRequest.of(page, size));
+        return ResponseEntity.ok(cards);
+    }
+
     /**
      * Get products by multiple categories
      */
     @PostMapping("/categories")
     @Operation(summary = "Get products by multiple categories", description = "Retrieve products in multiple categories")
     public ResponseEntity<List<ProductDTO>> getProductsByCategories(
-            @RequestBody List<String> categoryIds) {
+            @RequestBody List<String> categoryIds,
+            @RequestParam(defaultValue = "50") int limit) {
         
-        log.info("POST /api/v1/products/categories - categories: {}", categoryIds);
+        log.info("POST /api/v1/products/categories - categories: {}, limit: {}", categoryIds, limit);
         
-        List<ProductDTO> products = productService.getProductsInMultipleCategories(categoryIds);
+        List<ProductDTO> products = productService.getProductsInMultipleCategories(categoryIds, limit);
         return ResponseEntity.ok(products);
     }
 
@@ -230,11 +384,12 @@ public class ProductController {
      */
     @GetMapping("/discounted")
     @Operation(summary = "Get discounted products", description = "Retrieve products with discounts")
-    public ResponseEntity<List<ProductDTO>> getDiscountedProducts() {
+    public ResponseEntity<List<ProductDTO>> getDiscountedProducts(
+            @RequestParam(defaultValue = "50") int limit) {
         
-        log.info("GET /api/v1/products/discounted");
+        log.info("GET /api/v1/products/discounted - limit: {}", limit);
         
-        List<ProductDTO> products = productService.getDiscountedProducts();
+        List<ProductDTO> products = productService.getDiscountedProducts(limit);
         return ResponseEntity.ok(products);
     }
 
@@ -271,6 +426,36 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Page through products at or below their own low-stock threshold
+     */
+    @GetMapping("/low-stock/tracked")
+    @Operation(summary = "Get tracked low stock products",
+            description = "Page through products at or below their low-stock threshold, lowest stock first")
+    public ResponseEntity<Page<ProductDTO>> getTrackedLowStockProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("GET /api/v1/products/low-stock/tracked - page: {}, size: {}", page, size);
+
+        return ResponseEntity.ok(productService.getLowStockProducts(PageRequest.of(page, size)));
+    }
+
+    /**
+     * Stream every tracked low stock product as NDJSON
+     */
+    @GetMapping(value = "/low-stock/export", produces = NDJSON)
+    @Operation(summary = "Export low stock products",
+            description = "Stream products at or below their low-stock threshold as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportLowStockProducts(HttpServletRequest request) {
+
+        log.info("GET /api/v1/products/low-stock/export");
+        applyExportTimeout(request);
+
+        StreamingResponseBody body = productService::exportLowStockProducts;
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     // ===== FEATURED ENDPOINTS =====
     
     /**
@@ -343,16 +528,31 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Get yearly bestsellers
+     */
+    @GetMapping("/bestsellers/yearly")
+    @Operation(summary = "Get yearly bestsellers", description = "Retrieve best-selling products for the last twelve months")
+    public ResponseEntity<List<ProductDTO>> getYearlyBestsellers(
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        log.info("GET /api/v1/products/bestsellers/yearly?limit={}", limit);
+        
+        List<ProductDTO> products = productService.getYearlyBestsellers(limit);
+        return ResponseEntity.ok(products);
+    }
+
     /**
      * Get recommended products
      */
     @GetMapping("/recommended")
     @Operation(summary = "Get recommended products", description = "Retrieve recommended products")
-    public ResponseEntity<List<ProductDTO>> getRecommendedProducts() {
+    public ResponseEntity<List<ProductDTO>> getRecommendedProducts(
+            @RequestParam(defaultValue = "20") int limit) {
         
-        log.info("GET /api/v1/products/recommended");
+        log.info("GET /api/v1/products/recommended - limit: {}", limit);
         
-        List<ProductDTO> products = productService.getRecommendedProducts();
+        List<ProductDTO> products = productService.getRecommendedProducts(limit);
         return ResponseEntity.ok(products);
     }
 
@@ -671,6 +871,22 @@ public class ProductController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-    
-}
 
+    // ===== HELPER METHODS =====
+
+    /**
+     * Give this request's streaming body the export timeout instead of the global async one.
+     * The interceptor runs after the timeout defaults are applied and before async processing starts.
+     */
+    private void applyExportTimeout(HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ProductController.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncRequest) {
+                            asyncRequest.setTimeout(exportTimeout.toMillis());
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.nguyenvu.ecommercems.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Slim product view for category and search grids.
+ * Loaded through a Mongo projection, so only these fields leave the database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductCardDTO {
+    private String id;
+    private String sku;
+    private ProductType type;
+    private String title;
+    private String subtitle;
+    private String slug;
+    private String thumbnail;
+
+    // ===== PRICING =====
+    private BigDecimal listPrice;
+    private BigDecimal salePrice;
+    private Integer discountPercent;
+    private String currency;
+
+    // ===== RATING & AVAILABILITY =====
+    private Double averageRating;
+    private Integer ratingCount;
+    private Availability availability;
+}
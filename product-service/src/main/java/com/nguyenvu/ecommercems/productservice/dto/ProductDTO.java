@@ -78,6 +78,9 @@ public class ProductDTO {
     private Integer reservedQuantity;
     
     private Integer availableQuantity;      // Calculated: stockQuantity - reservedQuantity
+
+    @PositiveOrZero(message = "Low stock threshold must be zero or positive")
+    private Integer lowStockThreshold;      // Per-product override of the default threshold
     
     // ===== BUSINESS FEATURES =====
     private Featured featured;              // Featured product information
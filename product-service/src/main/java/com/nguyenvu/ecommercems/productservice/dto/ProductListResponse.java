@@ -29,6 +29,9 @@ public class ProductListResponse {
     // ===== SEARCH METADATA =====
     private SearchMetadata search;
     
+    // ===== FACETS =====
+    private SearchFacets facets;
+    
     // ===== NESTED CLASSES =====
     
     @Data
@@ -41,12 +44,14 @@ public class ProductListResponse {
         private Integer pageSize;
         private Integer totalPages;
         private Long totalElements;
+        private Boolean totalExact;         // False when totalElements is an estimate or lower bound
         private Boolean hasNext;
         private Boolean hasPrevious;
         private Integer nextPage;
         private Integer previousPage;
         private Long offset;
         private Integer numberOfElements;
+        private String nextCursor;
     }
     
     @Data
@@ -129,6 +134,14 @@ public class ProductListResponse {
      * Create pagination info
      */
     public static PaginationInfo createPagination(int currentPage, int pageSize, long totalElements) {
+        return createPagination(currentPage, pageSize, totalElements, true);
+    }
+    
+    /**
+     * Create pagination info for a total that may be approximate
+     */
+    public static PaginationInfo createPagination(int currentPage, int pageSize, long totalElements,
+                                                  boolean totalExact) {
         int totalPages = (int) Math.ceil((double) totalElements / pageSize);
         
         return PaginationInfo.builder()
@@ -136,6 +149,7 @@ public class ProductListResponse {
                 .pageSize(pageSize)
                 .totalPages(totalPages)
                 .totalElements(totalElements)
+                .totalExact(totalExact)
                 .hasNext(currentPage < totalPages - 1)
                 .hasPrevious(currentPage > 0)
                 .nextPage(currentPage < totalPages - 1 ? currentPage + 1 : null)
@@ -145,6 +159,24 @@ public class ProductListResponse {
                 .build();
     }
     
+    /**
+     * Create pagination info for keyset (cursor) pages
+     * @param totalElements total hits, or null when the count was skipped
+     * @param totalExact whether totalElements is exact, or null when the count was skipped
+     */
+    public static PaginationInfo createCursorPagination(int pageSize, int numberOfElements,
+                                                        String nextCursor, Long totalElements,
+                                                        Boolean totalExact) {
+        return PaginationInfo.builder()
+                .pageSize(pageSize)
+                .numberOfElements(numberOfElements)
+                .totalElements(totalElements)
+                .totalExact(totalExact)
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
     /**
      * Create search metadata
      */
@@ -107,12 +107,14 @@ public class ProductSearchCriteria {
     private String sortBy;                  // Sort field (name, price, rating, created, sales, stock)
     private String sortDirection;           // Sort direction (asc, desc)
     private List<String> multiSort;         // Multiple sort criteria: ["price:asc", "rating:desc"]
+    private String cursor;                  // Opaque keyset cursor from the previous page (cursor mode)
     
     // ===== PERFORMANCE & OUTPUT =====
     private Boolean includeTotalCount;      // Whether to include total count
     private List<String> includeFields;    // Only return specific fields (projection)
     private List<String> excludeFields;    // Exclude specific fields
     private Integer maxResults;             // Maximum number of results
+    private List<BigDecimal> priceFacetBoundaries; // Ascending price bucket bounds for faceted search
     
     // ===== HELPER METHODS =====
     
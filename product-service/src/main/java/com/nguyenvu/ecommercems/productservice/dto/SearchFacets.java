@@ -0,0 +1,53 @@
+package com.nguyenvu.ecommercems.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Hit counts per filter group for a search, computed over the filtered result set
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchFacets {
+    private List<FacetCount> categories;
+    private List<FacetCount> availability;
+    private List<FacetCount> types;
+    private List<FacetCount> manufacturers;
+    private List<PriceBucket> priceRanges;
+
+    // ===== NESTED CLASSES =====
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class FacetCount {
+        private String value;
+        private String label;
+        private Long count;
+    }
+
+    /**
+     * Price range [min, max); max is null for the open-ended top bucket
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PriceBucket {
+        private BigDecimal min;
+        private BigDecimal max;
+        private Long count;
+    }
+}
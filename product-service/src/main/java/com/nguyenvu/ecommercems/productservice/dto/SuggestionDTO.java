@@ -0,0 +1,24 @@
+package com.nguyenvu.ecommercems.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nguyenvu.ecommercems.productservice.model.enums.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead completion; productId and slug are set for title suggestions only
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SuggestionDTO {
+    private String text;
+    private SuggestionType type;
+    private String productId;
+    private String slug;
+    private Long score;
+}
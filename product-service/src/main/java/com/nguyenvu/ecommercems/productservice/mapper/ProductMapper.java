@@ -1,6 +1,7 @@
 package com.nguyenvu.ecommercems.productservice.mapper;
 
 import com.nguyenvu.ecommercems.productservice.dto.CreateProductRequest;
+import com.nguyenvu.ecommercems.productservice.dto.ProductCardDTO;
 import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
 import com.nguyenvu.ecommercems.productservice.dto.UpdateProductRequest;
 import com.nguyenvu.ecommercems.productservice.model.Product;
@@ -49,6 +50,7 @@ public interface ProductMapper {
     @Mapping(target = "rating", source = "rating")
     @Mapping(target = "reservedQuantity", source = "reservedQuantity")
     @Mapping(target = "availableQuantity", source = "availableQuantity")
+    @Mapping(target = "lowStockThreshold", source = "lowStockThreshold")
     @Mapping(target = "featured", source = "featured")
     @Mapping(target = "sales", source = "sales")
     @Mapping(target = "seriesId", source = "seriesId")
@@ -56,6 +58,19 @@ public interface ProductMapper {
     @Mapping(target = "updatedAt", source = "updatedAt")
     ProductDTO toDTO(Product product);
 
+    /**
+     * Convert a (projected) Product entity to the slim card view
+     */
+    @Mapping(target = "slug", source = "seo.slug")
+    @Mapping(target = "thumbnail", source = "images.thumbnail")
+    @Mapping(target = "listPrice", source = "pricing.listPrice")
+    @Mapping(target = "salePrice", source = "pricing.salePrice")
+    @Mapping(target = "discountPercent", source = "pricing.discountPercent")
+    @Mapping(target = "currency", source = "pricing.currency")
+    @Mapping(target = "averageRating", source = "rating.average")
+    @Mapping(target = "ratingCount", source = "rating.count")
+    ProductCardDTO toCardDTO(Product product);
+
     // ===== DTO TO ENTITY MAPPINGS =====
 
     /**
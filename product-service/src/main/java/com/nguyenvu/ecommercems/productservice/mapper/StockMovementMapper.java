@@ -0,0 +1,18 @@
+package com.nguyenvu.ecommercems.productservice.mapper;
+
+import com.nguyenvu.ecommercems.productservice.dto.StockMovementDTO;
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
+import org.mapstruct.*;
+
+/**
+ * MapStruct mapper for stock movement journal entries
+ */
+@Mapper(
+    componentModel = "spring",
+    unmappedTargetPolicy = ReportingPolicy.IGNORE,
+    nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+)
+public interface StockMovementMapper {
+
+    StockMovementDTO toDTO(StockMovement movement);
+}
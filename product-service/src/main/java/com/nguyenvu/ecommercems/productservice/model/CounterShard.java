@@ -0,0 +1,73 @@
+package com.nguyenvu.ecommercems.productservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Pending increments of one counter of one document, for one shard and one epoch.
+ *
+ * Increments pick a random shard of the current epoch, so a hot document spreads its
+ * writes over several small documents. Increments that must apply at most once get a
+ * shard of their own, keyed by their operation. Shards of closed epochs are folded into
+ * the owning document and deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "counter_shards")
+@CompoundIndex(name = "counter_docId", def = "{'counter': 1, 'docId': 1}")
+public class CounterShard {
+
+    public static final String COLLECTION = "counter_shards";
+
+    /**
+     * {@code counter:docId:epoch:shard}, so an increment is an upsert by ID
+     */
+    @Id
+    private String id;
+
+    private String counter;
+    private String docId;
+
+    @Indexed
+    private Long epoch;
+
+    /**
+     * Increments by field path of the owning document, nested on the dots
+     */
+    private org.bson.Document values;
+
+    private Date lastAt;
+
+    /**
+     * Set by the first fold that claims this shard and kept when another fold takes it over,
+     * so the owning document can tell whether the shard was already applied
+     */
+    private String foldToken;
+
+    /**
+     * Fold currently owning this shard, and since when
+     */
+    private String claimedBy;
+    private Date claimedAt;
+
+    public static String idOf(String counter, String docId, long epoch, int shard) {
+        return counter + ":" + docId + ":" + epoch + ":" + shard;
+    }
+
+    /**
+     * {@code counter:docId:op:operationId}, the single shard of an operation applied at most once
+     */
+    public static String idOf(String counter, String docId, String operationId) {
+        return counter + ":" + docId + ":op:" + operationId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.nguyenvu.ecommercems.productservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * An active product whose stock is at or below its low-stock threshold.
+ *
+ * The collection holds only such products, so listing them costs the size of the list,
+ * not the size of the catalog.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = LowStockEntry.COLLECTION)
+@CompoundIndex(name = "stockQuantity_id", def = "{'stockQuantity': 1, '_id': 1}")
+public class LowStockEntry {
+
+    public static final String COLLECTION = "low_stock_products";
+
+    /**
+     * Product ID
+     */
+    @Id
+    private String id;
+
+    private Integer stockQuantity;
+
+    /**
+     * Threshold in effect when the entry was written
+     */
+    private Integer threshold;
+
+    private Date updatedAt;
+}
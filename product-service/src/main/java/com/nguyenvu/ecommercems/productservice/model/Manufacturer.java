@@ -21,6 +21,7 @@ public class Manufacturer {
     private String id;
     
     private String name;
+    private String normalizedName;   // Lower-cased, accent-folded name for indexed lookups
     private String description;
     private String website;
     private String country;
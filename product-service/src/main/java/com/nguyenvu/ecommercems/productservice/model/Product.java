@@ -68,6 +68,7 @@ public class Product {
     private Integer stockQuantity;
     private Integer reservedQuantity;
     private Integer availableQuantity;
+    private Integer lowStockThreshold;      // Overrides the default low-stock threshold when set
     
     // ===== BUSINESS LOGIC =====
     private Featured featured;
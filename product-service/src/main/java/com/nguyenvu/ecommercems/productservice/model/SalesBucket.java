@@ -0,0 +1,71 @@
+package com.nguyenvu.ecommercems.productservice.model;
+
+import com.nguyenvu.ecommercems.productservice.model.enums.SalesWindow;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Units of one product sold on one UTC day.
+ *
+ * Buckets are what the rolling counters on {@link Product#getSales()} subtract once a day
+ * leaves a window, so they are kept a little longer than the longest window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "product_sales_daily")
+public class SalesBucket {
+
+    public static final String COLLECTION = "product_sales_daily";
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * {@code productId:yyyyMMdd}, so recording a sale is an upsert by ID
+     */
+    @Id
+    private String id;
+
+    private String productId;
+
+    /**
+     * Start of the UTC day; also drives expiry and the rollover range scan
+     */
+    @Indexed(name = "dayStart_ttl", expireAfter = "400d")
+    private Instant dayStart;
+
+    private Long quantity;
+
+    /**
+     * Latest sale operations added to this bucket, so a retried operation is not added twice
+     */
+    @Builder.Default
+    private List<String> saleIds = new ArrayList<>();
+
+    /**
+     * Windows this bucket has already been subtracted from
+     */
+    @Builder.Default
+    private List<SalesWindow> expiredWindows = new ArrayList<>();
+
+    public static String idOf(String productId, LocalDate day) {
+        return productId + ":" + DAY.format(day);
+    }
+
+    public static Instant dayStartOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,69 @@
+package com.nguyenvu.ecommercems.productservice.model;
+
+import com.nguyenvu.ecommercems.productservice.model.enums.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a product's stock, appended and never updated.
+ *
+ * Level changes carry the stock before and after; reservation moves carry only the delta
+ * and the order, since they shift units between available and reserved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_movements")
+@CompoundIndex(name = "productId_timestamp", def = "{'productId': 1, 'timestamp': -1}")
+public class StockMovement {
+
+    @Id
+    private String id;
+
+    private String productId;
+    private MovementType movementType;
+    private Integer previousStock;
+    private Integer nextStock;
+    private Integer delta;
+    private String reason;
+    private String orderId;
+    private LocalDateTime timestamp;
+    private String performedBy;
+
+    /**
+     * Stock level set or adjusted; increases count as restocks
+     */
+    public static StockMovement levelChange(String productId, int previousStock, int nextStock, String reason) {
+        return StockMovement.builder()
+                .productId(productId)
+                .movementType(nextStock > previousStock ? MovementType.RESTOCK : MovementType.ADJUSTMENT)
+                .previousStock(previousStock)
+                .nextStock(nextStock)
+                .delta(nextStock - previousStock)
+                .reason(reason)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Units moved for an order without a known stock level
+     */
+    public static StockMovement orderMove(String productId, MovementType type, int delta, String orderId, String reason) {
+        return StockMovement.builder()
+                .productId(productId)
+                .movementType(type)
+                .delta(delta)
+                .orderId(orderId)
+                .reason(reason)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
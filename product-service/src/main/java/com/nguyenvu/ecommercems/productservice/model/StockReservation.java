@@ -0,0 +1,73 @@
+package com.nguyenvu.ecommercems.productservice.model;
+
+import com.nguyenvu.ecommercems.productservice.model.enums.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of one product held for one order.
+ *
+ * The reservation is recorded as {@code PENDING} before units are taken from the product's
+ * available quantity, then marked {@code RESERVED}; the units are given back when it is
+ * released or expires. Finished reservations are removed by a TTL index once {@code purgeAt}
+ * passes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_reservations")
+@CompoundIndex(name = "status_expiresAt", def = "{'status': 1, 'expiresAt': 1}")
+public class StockReservation {
+
+    /**
+     * {@code orderId:productId}, so an order holds at most one reservation per product
+     */
+    @Id
+    private String id;
+
+    @Indexed
+    private String orderId;
+
+    private String productId;
+    private Integer quantity;
+    private String customerId;
+    private ReservationStatus status;
+
+    /**
+     * Pushed onto the product's {@code reservationTokens} by the update that took the units,
+     * so a pending reservation can be resolved against the product after a crash
+     */
+    private String token;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    /**
+     * Set by the order-level operation that finished this line, to read back exactly the lines it claimed
+     */
+    @Indexed(sparse = true)
+    private String settlementId;
+
+    /**
+     * Final status of a {@code SETTLING} line, so a settlement interrupted by a crash can be finished
+     */
+    private ReservationStatus settleAs;
+
+    private LocalDateTime settlingSince;
+
+    @Indexed(name = "purgeAt_ttl", expireAfter = "0s")
+    private LocalDateTime purgeAt;
+
+    public static String idOf(String orderId, String productId) {
+        return orderId + ":" + productId;
+    }
+}
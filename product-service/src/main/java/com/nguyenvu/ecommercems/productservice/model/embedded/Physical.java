@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 public class Physical {
     private Format format;
     private String language;         // "vi", "en"
+    private String normalizedLanguage; // Lower-cased language for indexed lookups
     private Integer pageCount;
     private Dimensions dimensions;
     private Integer weight;
@@ -22,8 +22,8 @@ public class Rating {
 
     private Double average;
     private Integer count;
+    private Double sum;                         // Sum of all ratings; the average is derived from it
     private Map<String, Integer> distribution;
-    private Map<String, Double> percentages;
 
     private Integer verifiedCount;              // Number of verified purchase ratings
 
@@ -48,37 +48,17 @@ public class Rating {
     }
     
     /**
-     * Initialize percentages map if null (backward compatibility)
+     * Share of each star value in percent, derived from the distribution on read
      */
+    @Transient
     public Map<String, Double> getPercentages() {
-        if (percentages == null) {
-            percentages = new HashMap<>();
-            percentages.put("5", 0.0);
-            percentages.put("4", 0.0);
-            percentages.put("3", 0.0);
-            percentages.put("2", 0.0);
-            percentages.put("1", 0.0);
-        }
-        return percentages;
-    }
-    
-    /**
-     * Calculate percentages based on distribution
-     */
-    public void calculatePercentages() {
-        if (count == null || count == 0) {
-            getPercentages().replaceAll((k, v) -> 0.0);
-            return;
-        }
-        
         Map<String, Integer> dist = getDistribution();
-        Map<String, Double> pct = getPercentages();
-        
+        Map<String, Double> pct = new HashMap<>();
         for (String star : new String[]{"5", "4", "3", "2", "1"}) {
             int starCount = dist.getOrDefault(star, 0);
-            double percentage = Math.round((starCount * 100.0 / count) * 10.0) / 10.0;
-            pct.put(star, percentage);
+            pct.put(star, count == null || count == 0 ? 0.0 : Math.round((starCount * 100.0 / count) * 10.0) / 10.0);
         }
+        return pct;
     }
 
     public void addRating(double ratingValue) {
@@ -92,29 +72,12 @@ public class Rating {
 
         // Calculate new average
         average = (average == null) ? ratingValue : (average * (count - 1) + ratingValue) / count;
+        sum = average * count;
 
         // Initialize and update distribution
         Map<String, Integer> dist = getDistribution();
         String starKey = String.valueOf((int) Math.round(ratingValue));
         dist.put(starKey, dist.getOrDefault(starKey, 0) + 1);
-
-        // Calculate percentages
-        calculatePercentages();
-    }
-
-    private void calculateDistribution() {
-        if (distribution == null || count == 0) {
-            return;
-        }
-
-        if (percentages == null) {
-            percentages = new HashMap<>();
-        }
-
-        for (Map.Entry<String, Integer> entry : distribution.entrySet()) {
-            double percentage = (entry.getValue() * 100.0) / count;
-            percentages.put(entry.getKey(), Math.round(percentage * 10.0) / 10.0);
-        }
     }
 
     // ===== BUISNESS LOGIC =====
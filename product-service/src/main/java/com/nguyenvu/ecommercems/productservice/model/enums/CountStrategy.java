@@ -0,0 +1,10 @@
+package com.nguyenvu.ecommercems.productservice.model.enums;
+
+/**
+ * How listing endpoints compute the total number of matching products
+ */
+public enum CountStrategy {
+    EXACT,      // Full count on every page
+    ESTIMATED,  // Collection metadata for unfiltered listings; filtered ones, active products included, get a capped count
+    CACHED      // Exact count reused per criteria until the count cache expires
+}
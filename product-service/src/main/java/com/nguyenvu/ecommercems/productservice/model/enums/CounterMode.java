@@ -0,0 +1,9 @@
+package com.nguyenvu.ecommercems.productservice.model.enums;
+
+/**
+ * Where counter increments of products and reviews are written
+ */
+public enum CounterMode {
+    DIRECT,     // Straight onto the owning document
+    SHARDED     // Onto counter shards, folded into the owning document periodically
+}
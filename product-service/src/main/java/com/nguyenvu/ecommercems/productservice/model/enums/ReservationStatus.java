@@ -0,0 +1,10 @@
+package com.nguyenvu.ecommercems.productservice.model.enums;
+
+public enum ReservationStatus {
+    PENDING,    // Recorded, units not confirmed taken yet; the expiry sweep resolves stale ones
+    RESERVED,   // Holding stock for the order
+    SETTLING,   // Claimed by a confirm, release or expiry whose stock changes may not be applied yet
+    CONFIRMED,  // Order completed; the units left stock
+    RELEASED,   // Order cancelled; the units went back to available stock
+    EXPIRED     // Not confirmed in time; the units went back to available stock
+}
@@ -0,0 +1,19 @@
+package com.nguyenvu.ecommercems.productservice.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rolling sales counters kept on the product, with the days each one spans
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SalesWindow {
+    DAILY(1, "sales.dailySold"),
+    WEEKLY(7, "sales.weeklySold"),
+    MONTHLY(30, "sales.monthlySold"),
+    YEARLY(365, "sales.yearlySold");
+
+    private final int days;
+    private final String field;
+}
@@ -0,0 +1,9 @@
+package com.nguyenvu.ecommercems.productservice.model.enums;
+
+/**
+ * How product creation enforces SKU uniqueness
+ */
+public enum SkuUniquenessMode {
+    QUERY,          // Look up existing SKUs before writing, one $in query per batch
+    UNIQUE_INDEX    // Skip the lookup and map duplicate key errors from the unique index back to the row
+}
@@ -0,0 +1,7 @@
+package com.nguyenvu.ecommercems.productservice.model.enums;
+
+public enum SuggestionType {
+    TITLE,
+    SUPPLIER,
+    MANUFACTURER
+}
@@ -1,6 +1,5 @@
 package com.nguyenvu.ecommercems.productservice.repository;
 
-import com.nguyenvu.ecommercems.productservice.dto.StockMovementDTO;
 import com.nguyenvu.ecommercems.productservice.model.Product;
 import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
 import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
@@ -15,6 +14,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +24,10 @@ import static com.nguyenvu.ecommercems.productservice.repository.constants.Query
 public interface ProductRepository extends MongoRepository<Product, String> {
 
     // ===== BASIC FINDERS =====
+    @Override
+    @Query(value = "{'_id': ?0}", fields = WITHOUT_RESERVATION_TOKENS)
+    Optional<Product> findById(String id);
+
     @Query("{'sku': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
     Optional<Product> findBySku(String sku);
 
@@ -40,6 +44,9 @@ public interface ProductRepository extends MongoRepository<Product, String> {
     @Query("{'sku': ?0, '_id': {'$ne': ?1}}")
     boolean existsBySkuAndIdNot(String sku, String id);
 
+    @Query(value = "{'sku': {'$in': ?0}}", fields = "{'sku': 1}")
+    List<Product> findSkusIn(Collection<String> skus);
+
     @Query(value = "{'isbn': ?0}", count = true)
     long countByIsbn(String isbn);
 
@@ -51,82 +58,91 @@ public interface ProductRepository extends MongoRepository<Product, String> {
 
     // ===== SEARCH QUERIES =====
     @Query(value = "{'$text': {'$search': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_DATE_DESC + "}")
-    List<Product> searchByTitleAndAuthor(String searchText);
+    List<Product> searchByTitleAndAuthor(String searchText, Pageable pageable);
+
+    @Query(value = "{'$text': {'$search': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_DATE_DESC + "}")
+    Page<Product> searchByText(String searchText, Pageable pageable);
 
     @Query(value = "{'$text': {'$search': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_TITLE_ASC + "}")
-    List<Product> searchByTitle(String searchText);
+    List<Product> searchByTitle(String searchText, Pageable pageable);
 
     @Query(value = "{'categories.categoryId': ?0, 'pricing.salePrice': {'$gte': ?1, '$lte': ?2}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_PRICE_ASC + "}")
-    List<Product> searchByCategoryAndPriceRange(String categoryId, BigDecimal minPrice, BigDecimal maxPrice);
+    List<Product> searchByCategoryAndPriceRange(String categoryId, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
     @Query(value = "{'$text': {'$search': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_DATE_DESC + "}")
-    List<Product> searchByTitleWithSorting(String searchText);
+    List<Product> searchByTitleWithSorting(String searchText, Pageable pageable);
 
     // ===== CATEGORY QUERIES =====
     @Query(value = "{'categories.categoryId': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByCategoryId(String categoryId);
+    List<Product> findByCategoryId(String categoryId, Pageable pageable);
 
     @Query(value = "{'categories.categoryId': {'$in': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByMultipleCategories(List<String> categories);
+    List<Product> findByMultipleCategories(List<String> categories, Pageable pageable);
 
     @Query(value = "{'categories.path': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByCategoryPath(String categoryPath);
+    List<Product> findByCategoryPath(String categoryPath, Pageable pageable);
 
     // ===== Supplier QUERIES =====
     @Query(value = "{'Suppliers.authorId': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByAuthorId(String authorId);
+    List<Product> findByAuthorId(String authorId, Pageable pageable);
 
-    @Query(value = "{'Suppliers.name': {'$regex': ?0, " + CASE_INSENSITIVE + "}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByAuthorName(String authorName);
+    /**
+     * @param namePrefixPattern anchored pattern from {@code NormalizedNames.prefixPattern}
+     */
+    @Query(value = "{'suppliers.normalizedName': {'$regex': ?0}, " + ACTIVE_PRODUCTS_CLAUSES + "}")
+    List<Product> findByAuthorName(String namePrefixPattern, Pageable pageable);
 
     @Query(value = "{'Suppliers.role': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByAuthorRole(String SupplierRole);
+    List<Product> findByAuthorRole(String SupplierRole, Pageable pageable);
 
     @Query(value = "{'Suppliers.name': {'$in': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByMultipleAuthors(List<String> authorNames);
+    List<Product> findByMultipleAuthors(List<String> authorNames, Pageable pageable);
 
     // ===== Manufacturer QUERIES =====
     @Query(value = "{'Manufacturer.publisherId': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByPublisherId(String publisherId);
+    List<Product> findByPublisherId(String publisherId, Pageable pageable);
 
-    @Query(value = "{'Manufacturer.name': {'$regex': ?0, " + CASE_INSENSITIVE + "}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByPublisherName(String publisherName);
+    /**
+     * @param namePrefixPattern anchored pattern from {@code NormalizedNames.prefixPattern}
+     */
+    @Query(value = "{'manufacturer.normalizedName': {'$regex': ?0}, " + ACTIVE_PRODUCTS_CLAUSES + "}")
+    List<Product> findByPublisherName(String namePrefixPattern, Pageable pageable);
 
     @Query(value = "{'publishedDate': {'$gte': ?0, '$lte': ?1}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_PUBLISHED_DESC + "}")
-    List<Product> findByPublishedDateRange(LocalDate startDate, LocalDate endDate);
+    List<Product> findByPublishedDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
     // ===== SERIES QUERIES =====
     @Query(value = "{'seriesId': ?0, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_SERIES_VOLUME + "}")
-    List<Product> findBySeriesId(String seriesId);
+    List<Product> findBySeriesId(String seriesId, Pageable pageable);
 
     @Query(value = "{'seriesId': ?0, " + ACTIVE_IN_STOCK_FILTER + "}", sort = "{" + SORT_BY_SERIES_VOLUME + "}")
-    List<Product> findAvailableProductsInSeries(String seriesId);
+    List<Product> findAvailableProductsInSeries(String seriesId, Pageable pageable);
 
     @Query(value = "{'seriesId': ?0, 'seriesVolume': {'$gt': ?1}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_SERIES_VOLUME + "}")
-    List<Product> findNextProductsInSeries(String seriesId, Integer currentVolume);
+    List<Product> findNextProductsInSeries(String seriesId, Integer currentVolume, Pageable pageable);
 
     @Query(value = "{'seriesName': ?0, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_SERIES_VOLUME + "}")
-    List<Product> findBySeriesName(String seriesName);
+    List<Product> findBySeriesName(String seriesName, Pageable pageable);
 
     // ===== PRICING QUERIES =====
     @Query(value = "{'pricing.salePrice': {'$gte': ?0, '$lte': ?1}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_PRICE_ASC + "}")
-    List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
     @Query(value = "{'$expr': {'$lt': ['$pricing.salePrice', '$pricing.listPrice']}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_PRICE_ASC + "}")
-    List<Product> findDiscountedProducts();
+    List<Product> findDiscountedProducts(Pageable pageable);
 
     @Query(value = "{'pricing.salePrice': {'$lt': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_PRICE_ASC + "}")
-    List<Product> findProductsUnderPrice(BigDecimal price);
+    List<Product> findProductsUnderPrice(BigDecimal price, Pageable pageable);
 
     // ===== STOCK & AVAILABILITY QUERIES =====
     @Query("{'availability': " + IN_STOCK + ", 'stockQuantity': {'$gt': 0}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findAvailableProducts();
+    List<Product> findAvailableProducts(Pageable pageable);
 
     @Query("{'stockQuantity': {'$lt': ?0, '$gt': 0}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findLowStockProducts(Integer threshold);
+    List<Product> findLowStockProducts(Integer threshold, Pageable pageable);
 
     @Query("{'availability': " + OUT_OF_STOCK + ", " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findOutOfStockProducts();
+    List<Product> findOutOfStockProducts(Pageable pageable);
 
     // ===== HIGH-PERFORMANCE QUERIES (Using direct values for frequently called methods) =====
     
@@ -135,20 +151,26 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      * Uses direct string values for better performance in hot paths.
      */
     @Query("{'availability': 'IN_STOCK', 'stockQuantity': {'$gt': 0}, 'status': 'ACTIVE'}")
-    List<Product> findAvailableProductsOptimized();
+    List<Product> findAvailableProductsOptimized(Pageable pageable);
     
     @Query("{'status': 'ACTIVE', 'availability': 'IN_STOCK'}")
     Page<Product> findActiveInStockProductsOptimized(Pageable pageable);
     
     @Query(value = "{'rating.average': {'$gte': 4.0}, 'status': 'ACTIVE', 'availability': 'IN_STOCK'}", 
            sort = "{'rating.average': -1, 'sales.totalSold': -1}")
-    List<Product> findRecommendedProductsOptimized();
+    List<Product> findRecommendedProductsOptimized(Pageable pageable);
 
     // ===== RATING QUERIES =====
 
     // ===== RATING QUERIES =====
     @Query(value = "{'rating.average': {'$gte': ?0, '$lte': ?1}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByRatingRange(Double minRating, Double maxRating);
+    List<Product> findByRatingRange(Double minRating, Double maxRating, Pageable pageable);
+
+    @Query(value = "{'_id': ?0}", fields = "{'rating': 1}")
+    Optional<Product> findRatingById(String bookId);
+
+    @Query(value = "{'_id': ?0, 'status': 'ACTIVE'}", exists = true)
+    boolean existsActiveById(String bookId);
 
     @Query("{'_id': ?0}")
     @Update("{'$set': " + UPDATE_RATING + "}")
@@ -165,53 +187,53 @@ public interface ProductRepository extends MongoRepository<Product, String> {
         * Find Product rating >= threshold.
      */
     @Query(value = "{'rating.average': {'$gte': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_RATING_DESC + "}")
-    List<Product> findHighRatedProducts(Double minRating);
+    List<Product> findHighRatedProducts(Double minRating, Pageable pageable);
 
     @Query(value = "{'rating.average': {'$gte': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", 
             sort = "{'rating.average': -1, 'rating.totalRatings': -1}")
     List<Product> findTopRatedProducts(Double minRating, Pageable pageable);
 
     @Query(value = "{'rating.average': {'$gte': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_RATING_DESC + "}")
-    List<Product> findByMinimumRating(Double minRating);
+    List<Product> findByMinimumRating(Double minRating, Pageable pageable);
 
     @Query(value = "{'rating.average': {'$gte': " + HIGH_RATING_THRESHOLD + "}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_RATING_DESC + "}")
-    List<Product> findHighlyRatedProducts();
+    List<Product> findHighlyRatedProducts(Pageable pageable);
 
     @Query(value = "{'rating.count': {'$gte': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_RATING_COUNT_DESC + "}")
-    List<Product> findProductsWithMostReviews(Integer minReviewCount);
+    List<Product> findProductsWithMostReviews(Integer minReviewCount, Pageable pageable);
 
     // ===== FEATURED QUERIES =====
     @Query(value = "{'featured.featuredType': ?0, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{'featured.featuredUntil': -1}")
-    List<Product> findFeaturedProductsByType(String featuredType);
+    List<Product> findFeaturedProductsByType(String featuredType, Pageable pageable);
 
     @Query(value = "{" + NEW_RELEASES_FILTER + ", " + ACTIVE_IN_STOCK_FILTER + "}", sort = "{" + SORT_BY_DATE_DESC + "}")
-    List<Product> findNewReleases();
+    List<Product> findNewReleases(Pageable pageable);
 
     @Query(value = ACTIVE_IN_STOCK_FILTER, sort = "{'sales.totalSold': -1}")
-    List<Product> findBestsellers();
+    List<Product> findBestsellers(Pageable pageable);
 
     @Query(value = ACTIVE_IN_STOCK_FILTER, sort = "{'sales.dailySold': -1}")
-    List<Product> findDailyBestsellers();
+    List<Product> findDailyBestsellers(Pageable pageable);
 
     @Query(value = ACTIVE_IN_STOCK_FILTER, sort = "{'sales.weeklySold': -1}")
-    List<Product> findWeeklyBestsellers();
+    List<Product> findWeeklyBestsellers(Pageable pageable);
 
     @Query(value = ACTIVE_IN_STOCK_FILTER, sort = "{'sales.monthlySold': -1}")
-    List<Product> findMonthlyBestsellers();
+    List<Product> findMonthlyBestsellers(Pageable pageable);
 
     @Query(value = ACTIVE_IN_STOCK_FILTER, sort = "{'sales.yearlySold': -1}")
-    List<Product> findYearlyBestsellers();
+    List<Product> findYearlyBestsellers(Pageable pageable);
 
 
     // ===== DATE RANGE QUERIES =====
     @Query(value = "{'createdAt': {'$gte': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_DATE_DESC + "}")
-    List<Product> findRecentlyAddedProducts(LocalDateTime sinceDate);
+    List<Product> findRecentlyAddedProducts(LocalDateTime sinceDate, Pageable pageable);
 
     @Query(value = "{'publishedDate': {'$gte': ?0, '$lte': ?1}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{" + SORT_BY_PUBLISHED_DESC + "}")
-    List<Product> findProductsPublishedInRange(LocalDate startDate, LocalDate endDate);
+    List<Product> findProductsPublishedInRange(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
     @Query(value = "{'updatedAt': {'$gte': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}", sort = "{'updatedAt': -1}")
-    List<Product> findRecentlyUpdatedProducts(LocalDateTime sinceDate);
+    List<Product> findRecentlyUpdatedProducts(LocalDateTime sinceDate, Pageable pageable);
 
     // ===== AGGREGATION QUERIES =====
     @Aggregation(pipeline = {
@@ -245,16 +267,16 @@ public interface ProductRepository extends MongoRepository<Product, String> {
 
     // ===== CUSTOM BUSINESS QUERIES =====
     @Query(value = "{'rating.average': {'$gte': " + HIGH_RATING_THRESHOLD + "}, " + ACTIVE_IN_STOCK_FILTER + "}", sort = "{" + SORT_BY_RATING_DESC + ", 'sales.totalSold': -1}")
-    List<Product> findRecommendedProducts();
+    List<Product> findRecommendedProducts(Pageable pageable);
 
     @Query(SIMILAR_Products_QUERY)
-    List<Product> findSimilarProducts(List<String> categoryIds, List<String> authorNames, String excludeBookId);
+    List<Product> findSimilarProducts(List<String> categoryIds, List<String> authorNames, String excludeBookId, Pageable pageable);
 
     @Query(value = ACTIVE_IN_STOCK_FILTER, sort = "{'sales.totalSold': -1}")
-    List<Product> findCrossSellingOpportunities();
+    List<Product> findCrossSellingOpportunities(Pageable pageable);
 
     @Query(value = OUT_OF_STOCK_FILTER)
-    List<Product> findProductsNeedingRestock();
+    List<Product> findProductsNeedingRestock(Pageable pageable);
 
     // ===== PAGINATED QUERIES =====
     @Query("{'categories.categoryId': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
@@ -263,32 +285,34 @@ public interface ProductRepository extends MongoRepository<Product, String> {
     @Query("{'pricing.salePrice': {'$gte': ?0, '$lte': ?1}, " + ACTIVE_PRODUCTS_FILTER + "}")
     Page<Product> findByPriceRangeWithPagination(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
-    @Query("{'Suppliers.name': " + REGEX_IGNORE_CASE + ", " + ACTIVE_PRODUCTS_FILTER + "}")
-    Page<Product> findByAuthorNameWithPagination(String authorName, Pageable pageable);
+    /**
+     * @param namePrefixPattern anchored pattern from {@code NormalizedNames.prefixPattern}
+     */
+    @Query("{'suppliers.normalizedName': {'$regex': ?0}, " + ACTIVE_PRODUCTS_CLAUSES + "}")
+    Page<Product> findByAuthorNameWithPagination(String namePrefixPattern, Pageable pageable);
 
     // ===== BULK OPERATIONS =====
-    @Query("{'_id': {'$in': ?0}}")
+    @Query(value = "{'_id': {'$in': ?0}}", fields = WITHOUT_RESERVATION_TOKENS)
     List<Product> findByIdIn(List<String> ids);
 
     @Query("{'categories.categoryId': {'$in': ?0}, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByCategoryIdIn(List<String> categoryIds);
+    List<Product> findByCategoryIdIn(List<String> categoryIds, Pageable pageable);
 
     // ===== ADVANCED SEARCH SUPPORT =====
     @Query("{'title': " + REGEX_IGNORE_CASE + ", " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByTitleContainingIgnoreCase(String title);
+    List<Product> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
     @Query("{'description': " + REGEX_IGNORE_CASE + ", " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByDescriptionContainingIgnoreCase(String description);
+    List<Product> findByDescriptionContainingIgnoreCase(String description, Pageable pageable);
 
-    @Query("{'physical.language': " + REGEX_IGNORE_CASE + ", " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByLanguage(String language);
+    /**
+     * @param normalizedLanguage language from {@code NormalizedNames.normalize}
+     */
+    @Query("{'physical.normalizedLanguage': ?0, " + ACTIVE_PRODUCTS_CLAUSES + "}")
+    List<Product> findByLanguage(String normalizedLanguage, Pageable pageable);
 
     @Query("{'physical.format': ?0, " + ACTIVE_PRODUCTS_FILTER + "}")
-    List<Product> findByFormat(String format);
-
-    // ===== STOCK MANAGEMENT QUERIES =====
-    @Query(value = "")
-    List<StockMovementDTO> findStockMovementsByBookIdAndDateRange(String bookId, LocalDateTime from, LocalDateTime to);
+    List<Product> findByFormat(String format, Pageable pageable);
 
 }
 
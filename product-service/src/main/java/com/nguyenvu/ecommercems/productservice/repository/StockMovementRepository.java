@@ -0,0 +1,19 @@
+package com.nguyenvu.ecommercems.productservice.repository;
+
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends MongoRepository<StockMovement, String> {
+
+    // ===== HISTORY QUERIES =====
+    // Served by the productId_timestamp index as a single range seek, newest first
+    @Query(value = "{'productId': ?0, 'timestamp': {$gte: ?1, $lte: ?2}}", sort = "{'timestamp': -1}")
+    List<StockMovement> findHistory(String productId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
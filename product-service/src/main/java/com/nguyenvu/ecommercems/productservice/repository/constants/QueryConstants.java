@@ -9,6 +9,15 @@ public final class QueryConstants {
         // Utility class
     }
 
+    // ===== PROJECTIONS =====
+
+    /**
+     * Open reservation tokens on a product; only inventory writes use them, so reads leave them out
+     */
+    public static final String RESERVATION_TOKENS_FIELD = "reservationTokens";
+
+    public static final String WITHOUT_RESERVATION_TOKENS = "{'reservationTokens': 0}";
+
     // ===== FILTER QUERIES =====
     
     /**
@@ -18,6 +27,12 @@ public final class QueryConstants {
         { 'status': 'ACTIVE', 'deleted': false }
         """;
 
+    /**
+     * Active-product conditions without enclosing braces, for splicing into another filter.
+     * Products are not written with a deleted flag, so only an explicit true excludes one.
+     */
+    public static final String ACTIVE_PRODUCTS_CLAUSES = "'status': 'ACTIVE', 'deleted': {'$ne': true}";
+
     /**
      * Filter for active products that are in stock
      */
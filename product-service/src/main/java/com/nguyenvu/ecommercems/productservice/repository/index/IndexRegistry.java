@@ -0,0 +1,129 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared in {@link ProductIndexCatalog} and verifies that every
+ * declared query shape is served by one.
+ *
+ * Runs once the application is ready, on a background thread so index builds do not
+ * hold up the ready event. Each shape is explained with the query planner; a hot shape
+ * whose winning plan scans the collection or sorts in memory is logged. With
+ * {@code product.indexes.plan-check=FAIL} both steps run on the ready event instead,
+ * so a violation aborts startup.
+ */
+@Component
+@Slf4j
+public class IndexRegistry {
+
+    private final MongoTemplate mongoTemplate;
+    private final PlanCheckMode planCheckMode;
+
+    public IndexRegistry(MongoTemplate mongoTemplate,
+                         @Value("${product.indexes.plan-check:WARN}") PlanCheckMode planCheckMode) {
+        this.mongoTemplate = mongoTemplate;
+        this.planCheckMode = planCheckMode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (planCheckMode == PlanCheckMode.FAIL) {
+            ensureAndVerify();
+            return;
+        }
+
+        Thread worker = new Thread(() -> {
+            try {
+                ensureAndVerify();
+            } catch (Exception e) {
+                log.error("Failed to ensure product indexes", e);
+            }
+        }, "product-index-registry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void ensureAndVerify() {
+        ensureIndexes();
+        if (planCheckMode == PlanCheckMode.OFF) {
+            return;
+        }
+
+        List<String> violations = verifyQueryPlans();
+        if (!violations.isEmpty() && planCheckMode == PlanCheckMode.FAIL) {
+            throw new IllegalStateException("Unindexed hot product queries: " + String.join("; ", violations));
+        }
+    }
+
+    /**
+     * Create missing indexes; builds run in the background and a conflicting existing index is only logged
+     */
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(ProductIndexCatalog.COLLECTION);
+        for (IndexSpec index : ProductIndexCatalog.INDEXES) {
+            try {
+                indexOps.ensureIndex(index.toDefinition());
+                log.debug("Ensured index {}", index.getName());
+            } catch (Exception e) {
+                log.error("Failed to create index {}: {}", index.getName(), e.getMessage());
+            }
+        }
+        log.info("Ensured {} product indexes", ProductIndexCatalog.INDEXES.size());
+    }
+
+    /**
+     * Explain every declared query shape
+     * @return violations of hot shapes, one message per shape
+     */
+    public List<String> verifyQueryPlans() {
+        List<String> hotViolations = new ArrayList<>();
+        for (QueryShape shape : ProductIndexCatalog.QUERY_SHAPES) {
+            List<String> problems;
+            try {
+                problems = QueryPlans.violations(explain(shape, QueryPlans.QUERY_PLANNER),
+                        shape.isBlockingSortAllowed());
+            } catch (Exception e) {
+                log.warn("Failed to explain query shape {}: {}", shape.getName(), e.getMessage());
+                continue;
+            }
+
+            if (problems.isEmpty()) {
+                continue;
+            }
+
+            String message = shape.getName() + " " + problems;
+            if (shape.isHot()) {
+                log.warn("Hot query plan problem: {}", message);
+                hotViolations.add(message);
+            } else {
+                log.info("Query plan problem: {}", message);
+            }
+        }
+        return hotViolations;
+    }
+
+    /**
+     * Explain a shape at the given verbosity; {@link QueryPlans#EXECUTION_STATS} runs the query
+     */
+    Document explain(QueryShape shape, String verbosity) {
+        Document find = new Document("find", ProductIndexCatalog.COLLECTION)
+                .append("filter", shape.getFilter())
+                .append("limit", shape.getLimit());
+        if (shape.getSort() != null) {
+            find.append("sort", shape.getSort());
+        }
+
+        return mongoTemplate.getDb().runCommand(new Document("explain", find)
+                .append("verbosity", verbosity));
+    }
+}
@@ -0,0 +1,68 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+
+import java.util.Map;
+
+/**
+ * Declaration of one collection index.
+ *
+ * Keys keep declaration order (equality, sort, range). A text index is declared
+ * through its field weights instead of keys.
+ */
+@Value
+@Builder
+public class IndexSpec {
+
+    String name;
+
+    /**
+     * Field to direction (1 / -1), in index order
+     */
+    @Singular
+    Map<String, Integer> keys;
+
+    /**
+     * Text index fields and weights; when set, keys are ignored
+     */
+    @Singular
+    Map<String, Float> textWeights;
+
+    /**
+     * Only documents matching this filter are indexed
+     */
+    Document partialFilter;
+
+    boolean unique;
+
+    public boolean isText() {
+        return !textWeights.isEmpty();
+    }
+
+    IndexDefinition toDefinition() {
+        if (isText()) {
+            TextIndexDefinition.TextIndexDefinitionBuilder builder = TextIndexDefinition.builder().named(name);
+            textWeights.forEach(builder::onField);
+            return builder.build();
+        }
+
+        Document keyDocument = new Document();
+        keys.forEach(keyDocument::append);
+        CompoundIndexDefinition definition = new CompoundIndexDefinition(keyDocument);
+        definition.named(name).background();
+        if (unique) {
+            definition.unique();
+        }
+        if (partialFilter != null) {
+            definition.partial(PartialIndexFilter.of(partialFilter));
+        }
+        return definition;
+    }
+}
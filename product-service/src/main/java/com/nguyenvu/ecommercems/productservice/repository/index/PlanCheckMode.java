@@ -0,0 +1,10 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+/**
+ * What to do when a hot query shape has a bad plan at startup
+ */
+public enum PlanCheckMode {
+    OFF,    // Do not explain query shapes
+    WARN,   // Log violations
+    FAIL    // Abort startup on violations
+}
@@ -0,0 +1,18 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Documents returned and index keys and documents examined by one query execution.
+ */
+@Value
+@Builder
+public class PlanStats {
+
+    long returned;
+
+    long keysExamined;
+
+    long docsExamined;
+}
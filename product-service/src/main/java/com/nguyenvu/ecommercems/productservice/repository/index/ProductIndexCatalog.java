@@ -0,0 +1,127 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import org.bson.Document;
+
+import java.util.List;
+
+/**
+ * Indexes of the products collection and the access patterns they are meant to serve.
+ *
+ * Compound keys follow equality, sort, range. Startup verification reports a declared
+ * shape no index serves; when adding a repository query or a search filter, also add it
+ * to the real queries of the query plan regression suite.
+ */
+public final class ProductIndexCatalog {
+
+    public static final String COLLECTION = "products";
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String IN_STOCK = "IN_STOCK";
+    private static final Document ACTIVE_IN_STOCK = new Document("status", ACTIVE).append("availability", IN_STOCK);
+
+    private ProductIndexCatalog() {
+        // Utility class
+    }
+
+    // ===== INDEXES =====
+
+    public static final List<IndexSpec> INDEXES = List.of(
+            IndexSpec.builder().name("status_createdAt")
+                    .key("status", 1).key("createdAt", -1).build(),
+            IndexSpec.builder().name("status_updatedAt")
+                    .key("status", 1).key("updatedAt", -1).build(),
+            IndexSpec.builder().name("category_status_createdAt")
+                    .key("categories.categoryId", 1).key("status", 1).key("createdAt", -1).build(),
+            IndexSpec.builder().name("category_status_price")
+                    .key("categories.categoryId", 1).key("status", 1).key("pricing.salePrice", 1).build(),
+            IndexSpec.builder().name("categoryPath_status")
+                    .key("categories.path", 1).key("status", 1).build(),
+            IndexSpec.builder().name("status_price")
+                    .key("status", 1).key("pricing.salePrice", 1).build(),
+            IndexSpec.builder().name("status_rating")
+                    .key("status", 1).key("rating.average", -1).build(),
+            IndexSpec.builder().name("status_stock")
+                    .key("status", 1).key("stockQuantity", 1).build(),
+            IndexSpec.builder().name("series_status_volume")
+                    .key("seriesId", 1).key("status", 1).key("seriesVolume", 1).build(),
+            IndexSpec.builder().name("featuredType_status_until")
+                    .key("featured.featuredType", 1).key("status", 1).key("featured.featuredUntil", -1).build(),
+            IndexSpec.builder().name("supplier_name_status")
+                    .key("suppliers.normalizedName", 1).key("status", 1).build(),
+            IndexSpec.builder().name("manufacturer_name_status")
+                    .key("manufacturer.normalizedName", 1).key("status", 1).build(),
+            IndexSpec.builder().name("language_status")
+                    .key("physical.normalizedLanguage", 1).key("status", 1).build(),
+
+            // Bestseller rankings only ever read active, in-stock products
+            IndexSpec.builder().name("bestsellers_total")
+                    .key("sales.totalSold", -1).partialFilter(ACTIVE_IN_STOCK).build(),
+            IndexSpec.builder().name("bestsellers_daily")
+                    .key("sales.dailySold", -1).partialFilter(ACTIVE_IN_STOCK).build(),
+            IndexSpec.builder().name("bestsellers_weekly")
+                    .key("sales.weeklySold", -1).partialFilter(ACTIVE_IN_STOCK).build(),
+            IndexSpec.builder().name("bestsellers_monthly")
+                    .key("sales.monthlySold", -1).partialFilter(ACTIVE_IN_STOCK).build(),
+            IndexSpec.builder().name("bestsellers_yearly")
+                    .key("sales.yearlySold", -1).partialFilter(ACTIVE_IN_STOCK).build(),
+
+            // Backs every $text query; a collection can hold only one text index
+            IndexSpec.builder().name("product_text")
+                    .textWeight("title", 10f)
+                    .textWeight("subtitle", 5f)
+                    .textWeight("suppliers.name", 3f)
+                    .textWeight("manufacturer.name", 2f)
+                    .textWeight("tags", 2f)
+                    .textWeight("description", 1f)
+                    .build()
+    );
+
+    // ===== QUERY SHAPES =====
+
+    public static final List<QueryShape> QUERY_SHAPES = List.of(
+            // Search pages with no filter beyond the status the search service always adds
+            QueryShape.builder().name("activeListing").hot(true)
+                    .filter(new Document("status", ACTIVE))
+                    .sort(new Document("createdAt", -1)).build(),
+            QueryShape.builder().name("categoryListing").hot(true)
+                    .filter(new Document("categories.categoryId", "sample").append("status", ACTIVE))
+                    .sort(new Document("createdAt", -1)).build(),
+            QueryShape.builder().name("categoryPriceRange").hot(true)
+                    .filter(new Document("categories.categoryId", "sample").append("status", ACTIVE)
+                            .append("pricing.salePrice", new Document("$gte", 10).append("$lte", 50)))
+                    .sort(new Document("pricing.salePrice", 1)).build(),
+            QueryShape.builder().name("priceRange").hot(true)
+                    .filter(new Document("status", ACTIVE)
+                            .append("pricing.salePrice", new Document("$gte", 10).append("$lte", 50)))
+                    .sort(new Document("pricing.salePrice", 1)).build(),
+            QueryShape.builder().name("bestsellers").hot(true)
+                    .filter(new Document(ACTIVE_IN_STOCK).append("stockQuantity", new Document("$gt", 0)))
+                    .sort(new Document("sales.totalSold", -1)).build(),
+            QueryShape.builder().name("dailyBestsellers").hot(true)
+                    .filter(new Document(ACTIVE_IN_STOCK).append("stockQuantity", new Document("$gt", 0)))
+                    .sort(new Document("sales.dailySold", -1)).build(),
+            QueryShape.builder().name("topRated").hot(true)
+                    .filter(new Document("status", ACTIVE).append("rating.average", new Document("$gte", 4.0)))
+                    .sort(new Document("rating.average", -1)).build(),
+            QueryShape.builder().name("supplierNamePrefix").hot(true)
+                    .filter(new Document("suppliers.normalizedName", new Document("$regex", "^nguyen"))
+                            .append("status", ACTIVE)).build(),
+            QueryShape.builder().name("manufacturerNamePrefix").hot(true)
+                    .filter(new Document("manufacturer.normalizedName", new Document("$regex", "^nxb"))
+                            .append("status", ACTIVE)).build(),
+            QueryShape.builder().name("language")
+                    .filter(new Document("physical.normalizedLanguage", "vi").append("status", ACTIVE)).build(),
+            QueryShape.builder().name("seriesVolumes")
+                    .filter(new Document("seriesId", "sample").append("status", ACTIVE))
+                    .sort(new Document("seriesVolume", 1)).build(),
+            QueryShape.builder().name("lowStock")
+                    .filter(new Document("status", ACTIVE)
+                            .append("stockQuantity", new Document("$lt", 10).append("$gt", 0))).build(),
+            QueryShape.builder().name("recentlyUpdated")
+                    .filter(new Document("status", ACTIVE))
+                    .sort(new Document("updatedAt", -1)).build(),
+            QueryShape.builder().name("textSearch").hot(true).blockingSortAllowed(true)
+                    .filter(new Document("$text", new Document("$search", "sample")).append("status", ACTIVE))
+                    .sort(new Document("createdAt", -1)).build()
+    );
+}
@@ -0,0 +1,98 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads stage names out of {@code explain} output, for both the classic and the slot-based engine.
+ */
+public final class QueryPlans {
+
+    public static final String COLLECTION_SCAN = "COLLSCAN";
+    public static final String BLOCKING_SORT = "SORT";
+
+    public static final String QUERY_PLANNER = "queryPlanner";
+    public static final String EXECUTION_STATS = "executionStats";
+
+    private QueryPlans() {
+        // Utility class
+    }
+
+    /**
+     * Stage names of the winning plan, outermost first
+     */
+    public static List<String> winningStages(Document explain) {
+        Document queryPlanner = explain.get(QUERY_PLANNER, Document.class);
+        if (queryPlanner == null) {
+            return List.of();
+        }
+
+        Document winningPlan = queryPlanner.get("winningPlan", Document.class);
+        if (winningPlan == null) {
+            return List.of();
+        }
+
+        // The slot-based engine nests the classic-shaped plan under queryPlan
+        Document plan = winningPlan.containsKey("queryPlan")
+                ? winningPlan.get("queryPlan", Document.class)
+                : winningPlan;
+
+        List<String> stages = new ArrayList<>();
+        collectStages(plan, stages);
+        return stages;
+    }
+
+    /**
+     * Problems found in a plan: a collection scan, or an in-memory sort unless allowed
+     */
+    public static List<String> violations(Document explain, boolean blockingSortAllowed) {
+        List<String> stages = winningStages(explain);
+        List<String> violations = new ArrayList<>();
+        if (stages.contains(COLLECTION_SCAN)) {
+            violations.add(COLLECTION_SCAN);
+        }
+        if (!blockingSortAllowed && stages.contains(BLOCKING_SORT)) {
+            violations.add("in-memory " + BLOCKING_SORT);
+        }
+        return violations;
+    }
+
+    /**
+     * Work done by an explain run with {@link #EXECUTION_STATS} verbosity
+     */
+    public static PlanStats executionStats(Document explain) {
+        Document stats = explain.get(EXECUTION_STATS, Document.class);
+        if (stats == null) {
+            throw new IllegalArgumentException("Explain output has no executionStats");
+        }
+
+        return PlanStats.builder()
+                .returned(longValue(stats, "nReturned"))
+                .keysExamined(longValue(stats, "totalKeysExamined"))
+                .docsExamined(longValue(stats, "totalDocsExamined"))
+                .build();
+    }
+
+    private static long longValue(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static void collectStages(Document stage, List<String> stages) {
+        if (stage == null) {
+            return;
+        }
+
+        String name = stage.getString("stage");
+        if (name != null) {
+            stages.add(name);
+        }
+        collectStages(stage.get("inputStage", Document.class), stages);
+        List<Document> inputStages = stage.getList("inputStages", Document.class);
+        if (inputStages != null) {
+            inputStages.forEach(input -> collectStages(input, stages));
+        }
+    }
+}
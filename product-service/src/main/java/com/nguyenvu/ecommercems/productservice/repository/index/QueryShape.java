@@ -0,0 +1,36 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import lombok.Builder;
+import lombok.Value;
+import org.bson.Document;
+
+/**
+ * A representative access pattern with sample values whose plan is checked at startup.
+ *
+ * Shapes describe what the declared indexes are meant to serve; they are not derived
+ * from the code. The filters and sorts the repository and search service actually issue
+ * are checked by the query plan regression suite.
+ */
+@Value
+@Builder
+public class QueryShape {
+
+    String name;
+
+    Document filter;
+
+    Document sort;
+
+    @Builder.Default
+    int limit = 20;
+
+    /**
+     * Hot shapes must not scan the collection or sort in memory
+     */
+    boolean hot;
+
+    /**
+     * Accept an in-memory sort, e.g. text search results ordered by another field
+     */
+    boolean blockingSortAllowed;
+}
@@ -0,0 +1,103 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fills the normalized lookup fields on products saved before they existed.
+ *
+ * Only the source names are read and only the normalized fields are written, in unordered
+ * bulk batches, so concurrent writes to the rest of the document are not overwritten. Blank
+ * names get the empty marker from {@link NormalizedNames#normalizeForStorage} so documents
+ * already processed are not matched again. Each batch evicts the products it updated from
+ * the cache.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class NormalizedFieldsBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductCacheService cacheService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("suppliers.name").exists(true).and("suppliers.normalizedName").exists(false),
+                Criteria.where("manufacturer.name").exists(true).and("manufacturer.normalizedName").exists(false),
+                Criteria.where("physical.language").exists(true).and("physical.normalizedLanguage").exists(false)));
+        query.fields().include("suppliers.name", "manufacturer.name", "physical.language");
+
+        long updated = 0;
+        String collection = mongoTemplate.getCollectionName(Product.class);
+        try (Stream<Document> products = mongoTemplate.stream(query, Document.class, collection)) {
+            Iterator<Document> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+                List<String> batchedIds = new ArrayList<>();
+                while (batchedIds.size() < BATCH_SIZE && iterator.hasNext()) {
+                    Document product = iterator.next();
+                    Update update = normalizedFields(product);
+                    if (!update.getUpdateObject().isEmpty()) {
+                        bulk.updateOne(new Query(Criteria.where("_id").is(product.get("_id"))), update);
+                        batchedIds.add(String.valueOf(product.get("_id")));
+                    }
+                }
+                if (!batchedIds.isEmpty()) {
+                    bulk.execute();
+                    cacheService.evictByIds(batchedIds);
+                    updated += batchedIds.size();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill normalized product names", e);
+            return;
+        }
+
+        if (updated > 0) {
+            log.info("Backfilled normalized names on {} products", updated);
+        }
+    }
+
+    /**
+     * $set of the normalized field next to every source name present in the document
+     */
+    static Update normalizedFields(Document product) {
+        Update update = new Update();
+        if (product.get("suppliers") instanceof List<?> suppliers) {
+            for (int i = 0; i < suppliers.size(); i++) {
+                if (suppliers.get(i) instanceof Document supplier) {
+                    update.set("suppliers." + i + ".normalizedName",
+                            NormalizedNames.normalizeForStorage(supplier.getString("name")));
+                }
+            }
+        }
+        if (product.get("manufacturer") instanceof Document manufacturer) {
+            update.set("manufacturer.normalizedName",
+                    NormalizedNames.normalizeForStorage(manufacturer.getString("name")));
+        }
+        if (product.get("physical") instanceof Document physical) {
+            update.set("physical.normalizedLanguage",
+                    NormalizedNames.normalizeForStorage(physical.getString("language")));
+        }
+        return update;
+    }
+}
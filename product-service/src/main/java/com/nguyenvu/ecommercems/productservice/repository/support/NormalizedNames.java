@@ -0,0 +1,57 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization for the indexed lookup fields that shadow supplier, manufacturer and language names.
+ *
+ * Stored values and query input go through the same function, so lookups are exact
+ * or anchored-prefix matches on a plain index instead of case-insensitive regex scans.
+ */
+public final class NormalizedNames {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern REGEX_METACHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private NormalizedNames() {
+        // Utility class
+    }
+
+    /**
+     * Lower-cased, accent-folded, trimmed text with single spaces; null for blank input
+     */
+    public static String normalize(String text) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(text.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+        return WHITESPACE.matcher(folded).replaceAll(" ");
+    }
+
+    /**
+     * Value to store for a name: its normalized form, or an empty string marking a blank name as processed
+     */
+    public static String normalizeForStorage(String text) {
+        String normalized = normalize(text);
+        return normalized != null ? normalized : "";
+    }
+
+    /**
+     * Anchored, case-sensitive regex matching normalized values that start with the input.
+     * Mongo turns a literal prefix like this into tight index bounds.
+     */
+    public static String prefixPattern(String text) {
+        String normalized = normalize(text);
+        if (normalized == null) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        return "^" + REGEX_METACHARACTERS.matcher(normalized).replaceAll("\\\\$0");
+    }
+}
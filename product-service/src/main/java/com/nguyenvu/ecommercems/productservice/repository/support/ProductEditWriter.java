@@ -0,0 +1,72 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Writes catalog edits of a product without replacing the whole document.
+ *
+ * Stock, reservation and counter fields are changed concurrently by atomic updates, so an
+ * edit built from an earlier read must not write them back. Every other mapped field is set
+ * to the edited value, or unset when the edit leaves it empty, which keeps the replace
+ * semantics of a save for the fields an edit owns. Unmapped fields such as reservation
+ * tokens and applied counter operations are never touched.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductEditWriter {
+
+    /**
+     * Fields maintained by stock, reservation, rating and sales writers
+     */
+    static final Set<String> SERVER_MAINTAINED_FIELDS = Set.of(
+            "_id", "createdAt", "stockQuantity", "reservedQuantity", "availableQuantity", "availability",
+            "rating", "sales");
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Apply the edited fields to the stored product
+     * @return the product after the edit, or null when it no longer exists
+     */
+    public Product write(Product edited) {
+        ProductNormalizationCallback.normalizeNames(edited);
+        return mongoTemplate.findAndModify(
+                ProductQueries.byId(edited.getId()),
+                editUpdate(edited),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+    }
+
+    Update editUpdate(Product edited) {
+        Document fields = new Document();
+        mongoTemplate.getConverter().write(edited, fields);
+
+        Update update = new Update();
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Product.class);
+        for (MongoPersistentProperty property : entity) {
+            String field = property.getFieldName();
+            if (SERVER_MAINTAINED_FIELDS.contains(field)) {
+                continue;
+            }
+            if (fields.containsKey(field)) {
+                update.set(field, fields.get(field));
+            } else {
+                update.unset(field);
+            }
+        }
+        return update;
+    }
+}
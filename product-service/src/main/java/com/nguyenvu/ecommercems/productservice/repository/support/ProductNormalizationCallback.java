@@ -0,0 +1,45 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the normalized lookup fields in sync on every save through the repository or MongoTemplate,
+ * and fills in stock quantities that atomic stock updates rely on
+ */
+@Component
+public class ProductNormalizationCallback implements BeforeConvertCallback<Product> {
+
+    @Override
+    public Product onBeforeConvert(Product product, String collection) {
+        normalizeNames(product);
+        if (product.getStockQuantity() != null && product.getReservedQuantity() == null) {
+            product.setReservedQuantity(0);
+        }
+        if (product.getStockQuantity() != null && product.getAvailableQuantity() == null) {
+            // Reservations only ever $inc this field, so it must exist
+            product.setAvailableQuantity(product.getStockQuantity() - product.getReservedQuantity());
+        }
+        return product;
+    }
+
+    /**
+     * Fill the normalized lookup fields from the names they index
+     */
+    static void normalizeNames(Product product) {
+        if (product.getSuppliers() != null) {
+            product.getSuppliers().stream()
+                    .filter(supplier -> supplier != null)
+                    .forEach(supplier -> supplier.setNormalizedName(NormalizedNames.normalizeForStorage(supplier.getName())));
+        }
+        if (product.getManufacturer() != null) {
+            product.getManufacturer().setNormalizedName(
+                    NormalizedNames.normalizeForStorage(product.getManufacturer().getName()));
+        }
+        if (product.getPhysical() != null) {
+            product.getPhysical().setNormalizedLanguage(
+                    NormalizedNames.normalizeForStorage(product.getPhysical().getLanguage()));
+        }
+    }
+}
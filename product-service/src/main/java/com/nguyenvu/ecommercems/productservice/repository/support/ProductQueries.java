@@ -0,0 +1,26 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import com.nguyenvu.ecommercems.productservice.repository.constants.QueryConstants;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Product queries for writes that return the document
+ */
+public final class ProductQueries {
+
+    private ProductQueries() {
+    }
+
+    /**
+     * One product by ID, leaving out the fields only inventory writes use
+     */
+    public static Query byId(String id) {
+        return withoutInventoryFields(new Query(Criteria.where("_id").is(id)));
+    }
+
+    public static Query withoutInventoryFields(Query query) {
+        query.fields().exclude(QueryConstants.RESERVATION_TOKENS_FIELD);
+        return query;
+    }
+}
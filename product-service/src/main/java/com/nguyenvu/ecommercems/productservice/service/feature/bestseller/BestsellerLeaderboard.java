@@ -0,0 +1,228 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.bestseller;
+
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.SalesBatchRecordedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.SalesRecordedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bestseller rankings kept in Redis sorted sets, scored by units sold.
+ *
+ * Every recorded sale increments the product in its UTC day bucket and month bucket.
+ * Rolling windows are the union of the buckets they span, merged once into a short-lived
+ * window key by a script that also sets its TTL, and then read with ZREVRANGE, so a
+ * ranking costs O(log n + limit) instead of sorting the catalog. Merged windows lag new
+ * sales by at most the window TTL. Buckets expire on their own once no window covers them.
+ */
+@Component
+@Slf4j
+public class BestsellerLeaderboard {
+
+    static final String KEY_PREFIX = "Product:leaderboard:";
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * Buckets outlive the longest window that reads them by a safety margin
+     */
+    private static final Duration DAY_BUCKET_TTL = Duration.ofDays(32);
+    private static final Duration MONTH_BUCKET_TTL = Duration.ofDays(400);
+
+    /**
+     * Merges the buckets (KEYS[2..]) into the window key (KEYS[1]), sets its expiry and reads
+     * the top members in one atomic step, so a window key never exists without a TTL
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MERGE_WINDOW = new DefaultRedisScript<>("""
+            local size = redis.call('ZUNIONSTORE', KEYS[1], #KEYS - 1, unpack(KEYS, 2))
+            if size == 0 then
+                return {}
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return redis.call('ZREVRANGE', KEYS[1], 0, ARGV[2])
+            """, List.class);
+
+    private static final int WEEK_DAYS = 7;
+    private static final int MONTH_DAYS = 30;
+    private static final int YEAR_MONTHS = 12;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration windowTtl;
+
+    public BestsellerLeaderboard(StringRedisTemplate stringRedisTemplate,
+                                 @Value("${product.bestsellers.window-ttl:60s}") Duration windowTtl) {
+        if (windowTtl.isZero() || windowTtl.isNegative()) {
+            throw new IllegalArgumentException("Bestseller window TTL must be positive");
+        }
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.windowTtl = windowTtl;
+    }
+
+    // ===== RECORDING =====
+
+    @EventListener
+    public void onSalesRecorded(SalesRecordedEvent event) {
+        if (event.getProductId() == null || event.getQuantitySold() == null || event.getQuantitySold() <= 0) {
+            return;
+        }
+        LocalDate day = event.getOccurredAt() != null
+                ? event.getOccurredAt().atZoneSameInstant(ZoneOffset.UTC).toLocalDate()
+                : today();
+        record(event.getProductId(), event.getQuantitySold(), day);
+    }
+
+    @EventListener
+    public void onSalesBatchRecorded(SalesBatchRecordedEvent event) {
+        if (event.getQuantities() == null || event.getQuantities().isEmpty()) {
+            return;
+        }
+        LocalDate day = event.getOccurredAt() != null
+                ? event.getOccurredAt().atZoneSameInstant(ZoneOffset.UTC).toLocalDate()
+                : today();
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        event.getQuantities().forEach((productId, quantity) -> {
+            if (productId != null && quantity != null && quantity > 0) {
+                quantities.put(productId, quantity.longValue());
+            }
+        });
+        recordAll(quantities, day);
+    }
+
+    /**
+     * Add units sold to the product's day and month buckets in one round trip
+     */
+    public void record(String productId, long quantity, LocalDate day) {
+        recordAll(Map.of(productId, quantity), day);
+    }
+
+    /**
+     * Add units sold by many products to their day and month buckets in one round trip
+     */
+    public void recordAll(Map<String, Long> quantities, LocalDate day) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        byte[] dayKey = bytes(dayKey(day));
+        byte[] monthKey = bytes(monthKey(day));
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                quantities.forEach((productId, quantity) -> {
+                    byte[] member = bytes(productId);
+                    connection.zSetCommands().zIncrBy(dayKey, quantity, member);
+                    connection.zSetCommands().zIncrBy(monthKey, quantity, member);
+                });
+                connection.keyCommands().expire(dayKey, DAY_BUCKET_TTL.getSeconds());
+                connection.keyCommands().expire(monthKey, MONTH_BUCKET_TTL.getSeconds());
+                return null;
+            });
+        } catch (Exception e) {
+            // Rankings are best effort; the sales themselves are already stored
+            log.warn("Failed to record sales of {} products in leaderboard: {}", quantities.size(), e.getMessage());
+        }
+    }
+
+    // ===== RANKINGS =====
+
+    /**
+     * Product IDs of the window's top sellers, best first.
+     * Empty when the window has no sales yet or Redis is unavailable, so callers can fall back.
+     */
+    public Optional<List<String>> top(BestsellerWindow window, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than zero");
+        }
+        LocalDate today = today();
+        try {
+            if (window == BestsellerWindow.DAILY) {
+                return ranked(stringRedisTemplate.opsForZSet().reverseRange(dayKey(today), 0, count - 1L));
+            }
+
+            String windowKey = windowKey(window, today);
+            Set<String> ids = stringRedisTemplate.opsForZSet().reverseRange(windowKey, 0, count - 1L);
+            if (ids == null || ids.isEmpty()) {
+                // Rebuilt once the window key expires; concurrent rebuilds write the same result
+                List<String> keys = new ArrayList<>();
+                keys.add(windowKey);
+                keys.addAll(bucketKeys(window, today));
+                @SuppressWarnings("unchecked")
+                List<String> merged = stringRedisTemplate.execute(MERGE_WINDOW, keys,
+                        String.valueOf(windowTtl.toMillis()), String.valueOf(count - 1L));
+                ids = merged != null ? new LinkedHashSet<>(merged) : null;
+            }
+            return ranked(ids);
+        } catch (Exception e) {
+            log.warn("Failed to read {} bestseller leaderboard: {}", window, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // ===== HELPER METHODS =====
+
+    /**
+     * Bucket keys a window spans, most recent first
+     */
+    static List<String> bucketKeys(BestsellerWindow window, LocalDate today) {
+        List<String> keys = new ArrayList<>();
+        switch (window) {
+            case DAILY -> keys.add(dayKey(today));
+            case WEEKLY -> addDays(keys, today, WEEK_DAYS);
+            case MONTHLY -> addDays(keys, today, MONTH_DAYS);
+            case YEARLY -> {
+                for (int i = 0; i < YEAR_MONTHS; i++) {
+                    keys.add(monthKey(today.minusMonths(i)));
+                }
+            }
+        }
+        return keys;
+    }
+
+    static String dayKey(LocalDate day) {
+        return KEY_PREFIX + "day:" + DAY.format(day);
+    }
+
+    static String monthKey(LocalDate day) {
+        return KEY_PREFIX + "month:" + MONTH.format(day);
+    }
+
+    static String windowKey(BestsellerWindow window, LocalDate today) {
+        return KEY_PREFIX + "window:" + window.name().toLowerCase() + ":" + DAY.format(today);
+    }
+
+    private static void addDays(List<String> keys, LocalDate today, int days) {
+        for (int i = 0; i < days; i++) {
+            keys.add(dayKey(today.minusDays(i)));
+        }
+    }
+
+    private static Optional<List<String>> ranked(Set<String> ids) {
+        return ids == null || ids.isEmpty() ? Optional.empty() : Optional.of(new ArrayList<>(ids));
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,11 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.bestseller;
+
+/**
+ * Rolling windows served by {@link BestsellerLeaderboard}
+ */
+public enum BestsellerWindow {
+    DAILY,      // Today's day bucket
+    WEEKLY,     // Last 7 day buckets, today included
+    MONTHLY,    // Last 30 day buckets, today included
+    YEARLY      // Last 12 month buckets, this month included
+}
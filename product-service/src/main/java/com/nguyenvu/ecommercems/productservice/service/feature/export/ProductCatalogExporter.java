@@ -0,0 +1,117 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.LowStockEntry;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductQueries;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.LowStockView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the active catalog, or its low-stock part, as newline-delimited JSON, one {@code ProductDTO} per line.
+ *
+ * Products are read from a single cursor in {@code _id} order and mapped one at a time,
+ * so memory use does not grow with the catalog. The output is flushed after every
+ * cursor batch so clients receive data while the export runs.
+ */
+@Component
+@Slf4j
+public class ProductCatalogExporter {
+
+    private static final byte NEWLINE = '\n';
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductMapper productMapper;
+    private final LowStockView lowStockView;
+    private final ObjectWriter lineWriter;
+    private final int batchSize;
+
+    public ProductCatalogExporter(MongoTemplate mongoTemplate,
+                                  ProductMapper productMapper,
+                                  LowStockView lowStockView,
+                                  ObjectMapper objectMapper,
+                                  @Value("${product.export.batch-size:500}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Export batch size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.productMapper = productMapper;
+        this.lowStockView = lowStockView;
+        // Each line is written separately; the response stream must stay open between them
+        this.lineWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Stream all active products to the output
+     * @return number of products written
+     */
+    public long exportActiveProducts(OutputStream output) throws IOException {
+        Query query = ProductQueries.withoutInventoryFields(new Query(Criteria.where("status").is(ProductStatus.ACTIVE)))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize)
+                .noCursorTimeout();
+
+        long written = 0;
+        try (Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                lineWriter.writeValue(output, productMapper.toDTO(iterator.next()));
+                output.write(NEWLINE);
+                if (++written % batchSize == 0) {
+                    output.flush();
+                }
+            }
+        }
+        output.flush();
+
+        log.info("Exported {} active products", written);
+        return written;
+    }
+
+    /**
+     * Stream the low-stock set, lowest stock first, loading products one cursor batch at a time
+     * @return number of products written
+     */
+    public long exportLowStockProducts(OutputStream output) throws IOException {
+        long written = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<LowStockEntry> entries = lowStockView.stream()) {
+            Iterator<LowStockEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next().getId());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    for (ProductDTO product : lowStockView.load(batch)) {
+                        lineWriter.writeValue(output, product);
+                        output.write(NEWLINE);
+                        written++;
+                    }
+                    output.flush();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        output.flush();
+
+        log.info("Exported {} low stock products", written);
+        return written;
+    }
+}
@@ -0,0 +1,214 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.inventory;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.LowStockEntry;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductQueries;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductCreatedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductUpdatedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductsBulkChangedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.StockChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Materialized set of active products at or below their low-stock threshold, kept in
+ * {@code low_stock_products}.
+ *
+ * Each stock, create or update event re-reads the affected products by ID and adds or
+ * removes their entries, so the set follows the stored stock even when events arrive out
+ * of order. A product's own {@code lowStockThreshold} wins over the default. The whole set
+ * is rebuilt server-side on startup to pick up changes made while no instance was listening.
+ */
+@Component
+@Slf4j
+public class LowStockView {
+
+    private static final Sort ORDER = Sort.by(Sort.Order.asc("stockQuantity"), Sort.Order.asc("_id"));
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductMapper productMapper;
+    private final int defaultThreshold;
+    private final boolean rebuildOnStartup;
+
+    public LowStockView(MongoTemplate mongoTemplate,
+                        ProductMapper productMapper,
+                        @Value("${product.inventory.low-stock.threshold:10}") int defaultThreshold,
+                        @Value("${product.inventory.low-stock.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        if (defaultThreshold < 0) {
+            throw new IllegalArgumentException("Low stock threshold must not be negative");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.productMapper = productMapper;
+        this.defaultThreshold = defaultThreshold;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    // ===== MAINTENANCE =====
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        refresh(List.of(event.getProductId()));
+    }
+
+    @EventListener
+    public void onProductCreated(ProductCreatedEvent event) {
+        refresh(List.of(event.getProductId()));
+    }
+
+    @EventListener
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        refresh(List.of(event.getProductId()));
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        refresh(event.getProductIds());
+    }
+
+    /**
+     * Re-evaluate products against their thresholds with one read and one bulk write
+     */
+    public void refresh(Collection<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            Query query = new Query(Criteria.where("_id").in(productIds));
+            query.fields().include("status", "stockQuantity", "lowStockThreshold");
+            Map<String, Product> found = new HashMap<>();
+            mongoTemplate.find(query, Product.class).forEach(product -> found.put(product.getId(), product));
+
+            Date now = new Date();
+            BulkOperations entries = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LowStockEntry.class);
+            for (String productId : new LinkedHashSet<>(productIds)) {
+                Product product = found.get(productId);
+                Query byId = new Query(Criteria.where("_id").is(productId));
+                if (product != null && isLow(product)) {
+                    entries.upsert(byId, new Update()
+                            .set("stockQuantity", stockOf(product))
+                            .set("threshold", thresholdOf(product))
+                            .set("updatedAt", now));
+                } else {
+                    entries.remove(byId);
+                }
+            }
+            entries.execute();
+        } catch (Exception e) {
+            // The next change of the product or the next rebuild corrects the entry
+            log.warn("Failed to refresh low stock entries for {} products: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute the whole set from the catalog
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        Date startedAt = new Date();
+        List<AggregationOperation> stages = List.of(
+                context -> new Document("$match", new Document("status", ProductStatus.ACTIVE.name())
+                        .append("$expr", new Document("$lte", List.of(
+                                new Document("$ifNull", List.of("$stockQuantity", 0)),
+                                new Document("$ifNull", List.of("$lowStockThreshold", defaultThreshold)))))),
+                context -> new Document("$project", new Document("stockQuantity",
+                        new Document("$ifNull", List.of("$stockQuantity", 0)))
+                        .append("threshold", new Document("$ifNull", List.of("$lowStockThreshold", defaultThreshold)))
+                        .append("updatedAt", startedAt)),
+                context -> new Document("$merge", new Document("into", LowStockEntry.COLLECTION)
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+        try {
+            mongoTemplate.aggregate(Aggregation.newAggregation(stages), Product.class, Document.class);
+            // Entries not rewritten by the rebuild or by a newer event are no longer low
+            long removed = mongoTemplate.remove(new Query(Criteria.where("updatedAt").lt(startedAt)),
+                    LowStockEntry.class).getDeletedCount();
+            log.info("Rebuilt low stock set ({} stale entries removed)", removed);
+        } catch (Exception e) {
+            log.error("Failed to rebuild low stock set", e);
+        }
+    }
+
+    // ===== READS =====
+
+    /**
+     * Low-stock products, lowest stock first
+     */
+    public Page<ProductDTO> page(Pageable pageable) {
+        List<LowStockEntry> entries = mongoTemplate.find(new Query().with(ORDER).with(pageable), LowStockEntry.class);
+        return new PageImpl<>(load(entries.stream().map(LowStockEntry::getId).toList()), pageable,
+                mongoTemplate.estimatedCount(LowStockEntry.class));
+    }
+
+    /**
+     * The first low-stock products, lowest stock first, without counting the set
+     */
+    public List<ProductDTO> first(int limit) {
+        List<LowStockEntry> entries = mongoTemplate.find(new Query().with(ORDER).limit(limit), LowStockEntry.class);
+        return load(entries.stream().map(LowStockEntry::getId).toList());
+    }
+
+    /**
+     * Products by ID in the given order, skipping any deleted since their entry was written
+     */
+    public List<ProductDTO> load(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Product> found = new HashMap<>();
+        mongoTemplate.find(ProductQueries.withoutInventoryFields(new Query(Criteria.where("_id").in(productIds))), Product.class)
+                .forEach(product -> found.put(product.getId(), product));
+        return productIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toDTO)
+                .toList();
+    }
+
+    /**
+     * All low-stock entries from one cursor, lowest stock first; the caller closes the stream
+     */
+    public Stream<LowStockEntry> stream() {
+        return mongoTemplate.stream(new Query().with(ORDER), LowStockEntry.class);
+    }
+
+    // ===== HELPER METHODS =====
+
+    private boolean isLow(Product product) {
+        return product.getStatus() == ProductStatus.ACTIVE && stockOf(product) <= thresholdOf(product);
+    }
+
+    private int thresholdOf(Product product) {
+        return product.getLowStockThreshold() != null ? product.getLowStockThreshold() : defaultThreshold;
+    }
+
+    private static int stockOf(Product product) {
+        return product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.inventory;
+
+import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pipeline updates that change a product's stock level in place.
+ *
+ * The new level is computed by the server from the stored document, and the same update
+ * derives {@code availableQuantity} and {@code availability} from it, so stock writers never
+ * read a product, change it in memory and save it back over concurrent reservations.
+ */
+public final class StockLevelUpdates {
+
+    /**
+     * Stock levels at or below this are reported as low stock
+     */
+    public static final int LOW_STOCK_LEVEL = 5;
+
+    private StockLevelUpdates() {
+    }
+
+    /**
+     * Set the stock to an absolute quantity
+     */
+    public static AggregationUpdate setStock(int quantity, Map<String, Object> extraFields) {
+        return update(new Document("stockQuantity", quantity), extraFields, true);
+    }
+
+    /**
+     * Add a delta to the stock and to the units available for reservation
+     */
+    public static AggregationUpdate adjustStock(int delta, Map<String, Object> extraFields) {
+        Document set = new Document("stockQuantity", add("stockQuantity", delta))
+                .append("availableQuantity", add("availableQuantity", delta));
+        return update(set, extraFields, false);
+    }
+
+    /**
+     * Add deltas to stock fields
+     */
+    public static AggregationUpdate increment(Map<String, Integer> deltas, Map<String, Object> extraFields) {
+        Document set = new Document();
+        deltas.forEach((field, delta) -> set.append(field, add(field, delta)));
+        return update(set, extraFields, false);
+    }
+
+    private static AggregationUpdate update(Document set, Map<String, Object> extraFields, boolean deriveAvailable) {
+        extraFields.forEach(set::append);
+
+        Document derived = new Document("availability", availability());
+        if (deriveAvailable) {
+            derived.append("availableQuantity", new Document("$subtract", List.of(
+                    "$stockQuantity", new Document("$ifNull", List.of("$reservedQuantity", 0)))));
+        }
+
+        // Stages run in order, so the second one sees the stock written by the first
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(context -> new Document("$set", set));
+        stages.add(context -> new Document("$set", derived));
+        return AggregationUpdate.from(stages);
+    }
+
+    private static Document add(String field, int delta) {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$" + field, 0)), delta));
+    }
+
+    private static Document availability() {
+        return new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$lte", List.of("$stockQuantity", 0)))
+                        .append("then", Availability.OUT_OF_STOCK.name()),
+                new Document("case", new Document("$lte", List.of("$stockQuantity", LOW_STOCK_LEVEL)))
+                        .append("then", Availability.LOW_STOCK.name())))
+                .append("default", Availability.IN_STOCK.name()));
+    }
+}
@@ -0,0 +1,152 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.inventory;
+
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
+import com.nguyenvu.ecommercems.productservice.repository.StockMovementRepository;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Append-only journal of stock movements in {@code stock_movements}.
+ *
+ * Inventory paths hand movements to a bounded in-memory buffer and return; a scheduled
+ * flush drains it and writes each batch with one multi-document insert. When the buffer is
+ * full the movement is written synchronously instead of dropped, so bursts slow the writer
+ * down rather than lose history. Entries reach the collection within one flush interval.
+ *
+ * Movements get their ID when recorded, and batches are unordered inserts that ignore
+ * duplicate keys, so a failed batch is kept and retried on the next flushes without
+ * duplicating the entries that did land. It is dropped after {@link #MAX_FLUSH_ATTEMPTS}.
+ */
+@Component
+@Slf4j
+public class StockMovementJournal {
+
+    static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final StockMovementRepository repository;
+    private final BlockingQueue<StockMovement> buffer;
+    private final int batchSize;
+
+    /**
+     * Batch whose last write failed, retried before new movements; only touched by {@link #flush}
+     */
+    private List<StockMovement> failedBatch = List.of();
+    private int failedAttempts;
+
+    public StockMovementJournal(MongoTemplate mongoTemplate, StockMovementRepository repository,
+                                @Value("${product.inventory.movements.buffer-capacity:10000}") int capacity,
+                                @Value("${product.inventory.movements.batch-size:500}") int batchSize) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Movement buffer capacity and batch size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.repository = repository;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a movement for the next flush
+     */
+    public void record(StockMovement movement) {
+        if (movement.getId() == null) {
+            movement.setId(new ObjectId().toHexString());
+        }
+        if (!buffer.offer(movement)) {
+            try {
+                repository.insert(movement);
+            } catch (Exception e) {
+                log.error("Failed to journal {} movement of product {}", movement.getMovementType(),
+                        movement.getProductId(), e);
+            }
+        }
+    }
+
+    /**
+     * Write buffered movements in batches, starting with the batch that failed last time
+     * @return number of movements written
+     */
+    @Scheduled(fixedDelayString = "${product.inventory.movements.flush-interval:1s}")
+    public synchronized int flush() {
+        int written = 0;
+        List<StockMovement> batch = failedBatch;
+        failedBatch = List.of();
+        if (batch.isEmpty()) {
+            batch = drain();
+        }
+        while (!batch.isEmpty()) {
+            try {
+                write(batch);
+                written += batch.size();
+                failedAttempts = 0;
+            } catch (Exception e) {
+                if (++failedAttempts < MAX_FLUSH_ATTEMPTS) {
+                    log.warn("Failed to journal {} stock movements, retrying on the next flush", batch.size(), e);
+                    failedBatch = batch;
+                } else {
+                    log.error("Dropping {} stock movements after {} failed flushes", batch.size(), failedAttempts, e);
+                    failedAttempts = 0;
+                }
+                break;
+            }
+            batch = drain();
+        }
+        return written;
+    }
+
+    /**
+     * Movements of a product in the range, newest first
+     */
+    public List<StockMovement> history(String productId, LocalDateTime from, LocalDateTime to) {
+        return repository.findHistory(productId, from, to,
+                PageRequest.of(0, ProductServiceConstants.MAX_STOCK_HISTORY_SIZE));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        int written = flush();
+        log.debug("Flushed {} stock movements on shutdown", written);
+    }
+
+    private List<StockMovement> drain() {
+        List<StockMovement> batch = new ArrayList<>(batchSize);
+        buffer.drainTo(batch, batchSize);
+        return batch;
+    }
+
+    private void write(List<StockMovement> batch) {
+        BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockMovement.class);
+        inserts.insert(batch);
+        try {
+            inserts.execute();
+        } catch (BulkOperationException e) {
+            // Entries written by an earlier attempt of this batch collide on their IDs
+            boolean onlyWritten = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_ERROR);
+            if (!onlyWritten) {
+                throw e;
+            }
+        }
+    }
+
+    int pending() {
+        return buffer.size() + failedBatch.size();
+    }
+}
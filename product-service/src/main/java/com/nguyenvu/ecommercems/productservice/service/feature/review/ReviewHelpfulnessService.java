@@ -0,0 +1,50 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.review;
+
+import com.nguyenvu.ecommercems.productservice.model.Review;
+import com.nguyenvu.ecommercems.productservice.repository.ReviewRepository;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounter;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounters;
+import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductServiceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+/**
+ * "Was this review helpful?" votes, counted through {@link ShardedCounters}
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReviewHelpfulnessService {
+
+    private static final String HELPFUL_COUNT = "helpfulCount";
+
+    private final ReviewRepository reviewRepository;
+    private final ShardedCounters counters;
+
+    public void markHelpful(String reviewId) {
+        if (!StringUtils.hasText(reviewId)) {
+            throw new IllegalArgumentException("Review ID is required");
+        }
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ProductServiceException("Review not found with ID: " + reviewId);
+        }
+
+        counters.increment(ShardedCounter.REVIEW_HELPFUL, reviewId, Map.of(HELPFUL_COUNT, 1));
+        log.debug("Review {} marked helpful", reviewId);
+    }
+
+    /**
+     * Helpful votes of a review, including votes not yet folded into it
+     */
+    public int getHelpfulCount(String reviewId) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new ProductServiceException("Review not found with ID: " + reviewId));
+        int stored = review.getHelpfulCount() != null ? review.getHelpfulCount() : 0;
+        return stored + counters.pending(ShardedCounter.REVIEW_HELPFUL, reviewId)
+                .getOrDefault(HELPFUL_COUNT, 0).intValue();
+    }
+}
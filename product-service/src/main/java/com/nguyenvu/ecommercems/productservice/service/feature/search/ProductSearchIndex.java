@@ -0,0 +1,258 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.Supplier;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the searchable text of active products.
+ *
+ * Each term maps to the products containing it with a field-weighted frequency.
+ * Queries intersect posting lists starting from the rarest term and rank by
+ * weight * idf, so cost follows the number of matches rather than catalog size.
+ * The last query term also matches as a prefix to support search-as-you-type.
+ *
+ * Only the terms of each product are kept; callers hydrate the ranked ids through
+ * the product cache, so results always reflect the current stock, price and status.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    // ===== FIELD WEIGHTS =====
+    private static final int TITLE_WEIGHT = 5;
+    private static final int SUBTITLE_WEIGHT = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int KEYWORD_WEIGHT = 2;
+
+    /**
+     * Upper bound on terms a prefix may expand to, keeping short prefixes cheap
+     */
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ConcurrentSkipListMap<String, Map<String, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> documents = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // ===== WRITE OPERATIONS =====
+
+    /**
+     * Add or replace a product in the index
+     * @param product source entity used to extract terms
+     */
+    public void index(Product product) {
+        Map<String, Integer> termWeights = extractTerms(product);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(product.getId(), weight));
+            documents.put(product.getId(), Set.copyOf(termWeights.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the index
+     */
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every entry, e.g. before a full rebuild
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark the index as fully built and safe to answer queries
+     */
+    public void markReady() {
+        ready = true;
+        log.info("Product search index ready: {} products, {} terms", documents.size(), postings.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // ===== QUERY OPERATIONS =====
+
+    /**
+     * Find products matching every term of the query, best matches first
+     * @param offset number of ranked hits to skip
+     * @param limit maximum number of hits to return
+     */
+    public SearchHits search(String text, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTextAnalyzer.tokenize(text)));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                boolean lastTerm = i == terms.size() - 1;
+                Map<String, Integer> matches = lastTerm ? prefixPostings(terms.get(i)) : postings.get(terms.get(i));
+                if (matches == null || matches.isEmpty()) {
+                    return SearchHits.empty();
+                }
+                termPostings.add(matches);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int totalDocuments = Math.max(documents.size(), 1);
+            double[] idf = termPostings.stream()
+                    .mapToDouble(matches -> Math.log(1.0 + (double) totalDocuments / matches.size()))
+                    .toArray();
+
+            // Min-heap holding the best offset + limit hits seen so far
+            int keep = offset + limit;
+            PriorityQueue<ScoredHit> top = new PriorityQueue<>(ScoredHit.WORST_FIRST);
+            int totalHits = 0;
+
+            candidates:
+            for (Map.Entry<String, Integer> candidate : termPostings.get(0).entrySet()) {
+                double score = candidate.getValue() * idf[0];
+                for (int i = 1; i < termPostings.size(); i++) {
+                    Integer weight = termPostings.get(i).get(candidate.getKey());
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += weight * idf[i];
+                }
+
+                totalHits++;
+                top.offer(new ScoredHit(candidate.getKey(), score));
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+
+            List<ScoredHit> ranked = new ArrayList<>(top);
+            ranked.sort(ScoredHit.WORST_FIRST.reversed());
+            List<String> productIds = ranked.stream()
+                    .skip(offset)
+                    .map(ScoredHit::getProductId)
+                    .toList();
+
+            return new SearchHits(productIds, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== HELPER METHODS =====
+
+    private void removeInternal(String productId) {
+        Set<String> existing = documents.remove(productId);
+        if (existing == null) {
+            return;
+        }
+
+        for (String term : existing) {
+            postings.computeIfPresent(term, (key, matches) -> {
+                matches.remove(productId);
+                return matches.isEmpty() ? null : matches;
+            });
+        }
+    }
+
+    /**
+     * Union of the postings of the term itself and terms it prefixes, keeping the best weight
+     */
+    private Map<String, Integer> prefixPostings(String prefix) {
+        Map<String, Integer> merged = new HashMap<>();
+        int expansions = 0;
+        for (Map<String, Integer> matches : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            matches.forEach((productId, weight) -> merged.merge(productId, weight, Math::max));
+            if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return merged;
+    }
+
+    private Map<String, Integer> extractTerms(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, product.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, product.getSubtitle(), SUBTITLE_WEIGHT);
+
+        if (product.getManufacturer() != null) {
+            addTerms(weights, product.getManufacturer().getName(), NAME_WEIGHT);
+        }
+        if (product.getSuppliers() != null) {
+            product.getSuppliers().stream()
+                    .map(Supplier::getName)
+                    .forEach(name -> addTerms(weights, name, NAME_WEIGHT));
+        }
+        if (product.getTags() != null) {
+            product.getTags().forEach(tag -> addTerms(weights, tag, KEYWORD_WEIGHT));
+        }
+        if (product.getSubjects() != null) {
+            product.getSubjects().forEach(subject -> addTerms(weights, subject, KEYWORD_WEIGHT));
+        }
+        return weights;
+    }
+
+    private void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : SearchTextAnalyzer.tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    // ===== VALUE TYPES =====
+
+    /**
+     * Ranked product ids for one page plus the total number of matches
+     */
+    @Value
+    public static class SearchHits {
+        List<String> productIds;
+        int totalHits;
+
+        public static SearchHits empty() {
+            return new SearchHits(List.of(), 0);
+        }
+    }
+
+    @Value
+    private static class ScoredHit {
+        static final Comparator<ScoredHit> WORST_FIRST = Comparator
+                .comparingDouble(ScoredHit::getScore)
+                .thenComparing(ScoredHit::getProductId, Comparator.reverseOrder());
+
+        String productId;
+        double score;
+    }
+}
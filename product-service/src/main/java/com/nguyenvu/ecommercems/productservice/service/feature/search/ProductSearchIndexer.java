@@ -0,0 +1,124 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductCreatedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductUpdatedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductsBulkChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link ProductSearchIndex} and {@link ProductSuggester} in sync with the catalog.
+ *
+ * Both are built once from a Mongo cursor at startup, then updated
+ * incrementally from product domain events. Events only carry the product id,
+ * so the current document is re-read and indexed, or removed when it is gone
+ * or no longer active. Only the searchable text is indexed; product data for
+ * the hits is read through the product cache, which every write evicts.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggester suggester;
+    private final ProductRepository productRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Build the full index from all active products
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Building product search index");
+        searchIndex.clear();
+        suggester.clear();
+
+        Query query = new Query(Criteria.where("status").is(ProductStatus.ACTIVE));
+        try (Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            products.forEach(product -> {
+                searchIndex.index(product);
+                suggester.index(product);
+            });
+        } catch (Exception e) {
+            // Searches keep falling back to Mongo until a rebuild succeeds
+            log.error("Failed to build product search index", e);
+            return;
+        }
+
+        searchIndex.markReady();
+        suggester.markReady();
+    }
+
+    @EventListener
+    public void onProductCreated(ProductCreatedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    @EventListener
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        if (event.getProductIds() == null || event.getProductIds().isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<String, Product> active = new HashMap<>();
+            productRepository.findAllById(event.getProductIds()).stream()
+                    .filter(product -> product.getStatus() == ProductStatus.ACTIVE)
+                    .forEach(product -> active.put(product.getId(), product));
+
+            for (String productId : event.getProductIds()) {
+                Product product = active.get(productId);
+                if (product != null) {
+                    searchIndex.index(product);
+                    suggester.index(product);
+                } else {
+                    searchIndex.remove(productId);
+                    suggester.remove(productId);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh search index for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    private void refresh(String productId) {
+        if (productId == null) {
+            return;
+        }
+
+        try {
+            productRepository.findById(productId)
+                    .filter(product -> product.getStatus() == ProductStatus.ACTIVE)
+                    .ifPresentOrElse(
+                            product -> {
+                                searchIndex.index(product);
+                                suggester.index(product);
+                            },
+                            () -> {
+                                searchIndex.remove(productId);
+                                suggester.remove(productId);
+                            });
+        } catch (Exception e) {
+            log.warn("Failed to refresh search index for product {}: {}", productId, e.getMessage());
+        }
+    }
+}
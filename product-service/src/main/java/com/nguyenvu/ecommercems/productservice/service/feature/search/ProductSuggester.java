@@ -0,0 +1,213 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import com.nguyenvu.ecommercems.productservice.dto.SuggestionDTO;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.Supplier;
+import com.nguyenvu.ecommercems.productservice.model.enums.SuggestionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix autocomplete over product titles, slugs, supplier and manufacturer names.
+ *
+ * Every suggestion is reachable from the start of each of its words, so "code"
+ * completes "Clean Code". Titles rank by units sold; supplier and manufacturer
+ * names rank by the combined sales of their products.
+ */
+@Component
+@Slf4j
+public class ProductSuggester {
+
+    /**
+     * Word-start keys generated per text, bounding trie growth for long titles
+     */
+    private static final int MAX_KEYS_PER_TEXT = 8;
+
+    private final SuggestionTrie trie = new SuggestionTrie();
+    private final Map<String, Suggestion> sharedSuggestions = new HashMap<>();
+    private final Map<String, List<Suggestion>> productSuggestions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // ===== WRITE OPERATIONS =====
+
+    /**
+     * Add or replace the suggestions contributed by a product.
+     * Before {@link #markReady()} rankings are left stale and computed once at the end.
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+
+            long productWeight = 1 + Optional.ofNullable(product.getSales())
+                    .map(sales -> sales.getTotalSold())
+                    .orElse(0L);
+            List<Suggestion> contributed = new ArrayList<>();
+
+            if (StringUtils.hasText(product.getTitle())) {
+                String slug = product.getSeo() != null ? product.getSeo().getSlug() : null;
+                List<String> keys = new ArrayList<>(keysFor(product.getTitle()));
+                keysFor(slug).stream().filter(key -> !keys.contains(key)).forEach(keys::add);
+
+                Suggestion title = new Suggestion(SuggestionType.TITLE, product.getTitle().trim(), slug, keys);
+                title.putProduct(product.getId(), productWeight);
+                keys.forEach(key -> trie.add(key, title, ready));
+                contributed.add(title);
+            }
+
+            if (product.getManufacturer() != null) {
+                addShared(SuggestionType.MANUFACTURER, product.getManufacturer().getName(),
+                        product.getId(), productWeight, contributed);
+            }
+            if (product.getSuppliers() != null) {
+                product.getSuppliers().stream()
+                        .map(Supplier::getName)
+                        .distinct()
+                        .forEach(name -> addShared(SuggestionType.SUPPLIER, name,
+                                product.getId(), productWeight, contributed));
+            }
+
+            productSuggestions.put(product.getId(), contributed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            trie.clear();
+            sharedSuggestions.clear();
+            productSuggestions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compute all rankings after a bulk load and start answering queries
+     */
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            trie.recomputeAll();
+            ready = true;
+            log.info("Product suggester ready: {} products, {} shared names",
+                    productSuggestions.size(), sharedSuggestions.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ===== QUERY OPERATIONS =====
+
+    /**
+     * Ranked completions for the typed prefix
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty() || !ready) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return trie.complete(key).stream()
+                    .limit(limit)
+                    .map(suggestion -> SuggestionDTO.builder()
+                            .text(suggestion.getText())
+                            .type(suggestion.getType())
+                            .productId(suggestion.getProductId())
+                            .slug(suggestion.getSlug())
+                            .score(suggestion.getWeight())
+                            .build())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== HELPER METHODS =====
+
+    private void addShared(SuggestionType type, String name, String productId, long productWeight,
+                           List<Suggestion> contributed) {
+        String key = toKey(name);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Suggestion suggestion = sharedSuggestions.computeIfAbsent(type + ":" + key, identity -> {
+            Suggestion created = new Suggestion(type, name.trim(), null, keysFor(name));
+            created.getKeys().forEach(trieKey -> trie.add(trieKey, created, false));
+            return created;
+        });
+        suggestion.putProduct(productId, productWeight);
+        if (ready) {
+            suggestion.getKeys().forEach(trie::refresh);
+        }
+        contributed.add(suggestion);
+    }
+
+    private void removeInternal(String productId) {
+        List<Suggestion> contributed = productSuggestions.remove(productId);
+        if (contributed == null) {
+            return;
+        }
+
+        for (Suggestion suggestion : contributed) {
+            suggestion.removeProduct(productId);
+            if (suggestion.hasProducts()) {
+                if (ready) {
+                    suggestion.getKeys().forEach(trie::refresh);
+                }
+                continue;
+            }
+
+            suggestion.getKeys().forEach(key -> trie.remove(key, suggestion, ready));
+            if (suggestion.getType() != SuggestionType.TITLE) {
+                sharedSuggestions.remove(suggestion.getType() + ":" + toKey(suggestion.getText()));
+            }
+        }
+    }
+
+    /**
+     * Trie keys for a text: the whole normalized text plus every suffix starting at a word
+     */
+    private List<String> keysFor(String text) {
+        List<String> words = SearchTextAnalyzer.tokenize(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < words.size() && keys.size() < MAX_KEYS_PER_TEXT; i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    /**
+     * Normalize typed text the same way keys are built; a trailing space is kept
+     * so "clean " only completes titles with another word after "clean"
+     */
+    private String toKey(String text) {
+        String key = String.join(" ", SearchTextAnalyzer.tokenize(text));
+        return !key.isEmpty() && text.endsWith(" ") ? key + " " : key;
+    }
+}
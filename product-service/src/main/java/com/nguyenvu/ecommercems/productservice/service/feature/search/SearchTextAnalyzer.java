@@ -0,0 +1,47 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms: lower-cased, accent-folded
+ * (so "sách" matches "sach") and split on anything that is not a letter or digit.
+ */
+public final class SearchTextAnalyzer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTextAnalyzer() {
+    }
+
+    /**
+     * Normalize text without splitting it
+     */
+    public static String normalize(String text) {
+        if (!StringUtils.hasText(text)) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+    }
+
+    /**
+     * Split text into normalized terms, keeping duplicates and order
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalize(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
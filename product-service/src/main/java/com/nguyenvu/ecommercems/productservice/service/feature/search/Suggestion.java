@@ -0,0 +1,64 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import com.nguyenvu.ecommercems.productservice.model.enums.SuggestionType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A completion held in the {@link SuggestionTrie}.
+ *
+ * Title suggestions belong to one product; supplier and manufacturer
+ * suggestions are shared and weighted by the sum of their products' weights.
+ * Identity-based equality: one canonical instance exists per suggestion.
+ */
+@Getter
+final class Suggestion {
+
+    static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingLong(Suggestion::getWeight).reversed()
+            .thenComparingInt(suggestion -> suggestion.getText().length())
+            .thenComparing(Suggestion::getText);
+
+    private final SuggestionType type;
+    private final String text;
+    private final String slug;
+    private final List<String> keys;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> productWeights = new HashMap<>();
+    private long weight;
+
+    Suggestion(SuggestionType type, String text, String slug, List<String> keys) {
+        this.type = type;
+        this.text = text;
+        this.slug = slug;
+        this.keys = keys;
+    }
+
+    void putProduct(String productId, long productWeight) {
+        productWeights.put(productId, productWeight);
+        weight = productWeights.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    void removeProduct(String productId) {
+        productWeights.remove(productId);
+        weight = productWeights.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    boolean hasProducts() {
+        return !productWeights.isEmpty();
+    }
+
+    /**
+     * The owning product for title suggestions
+     */
+    String getProductId() {
+        return type == SuggestionType.TITLE && productWeights.size() == 1
+                ? productWeights.keySet().iterator().next()
+                : null;
+    }
+}
@@ -0,0 +1,216 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import java.util.*;
+
+/**
+ * Compressed (radix) trie mapping normalized keys to suggestions.
+ *
+ * Every node caches the best {@link #TOP_K} suggestions of its subtree, so a
+ * lookup is a walk down the prefix plus a copy of one cached list. Mutations
+ * recompute the caches along the touched path only; {@link #recomputeAll()}
+ * refreshes every node after a bulk load.
+ *
+ * Not thread-safe; callers guard access.
+ */
+final class SuggestionTrie {
+
+    static final int TOP_K = 10;
+
+    private final Node root = new Node("");
+
+    /**
+     * Attach a suggestion under the given key
+     * @param refresh recompute cached rankings on the path (skip during bulk loads)
+     */
+    void add(String key, Suggestion suggestion, boolean refresh) {
+        List<Node> path = insertPath(key);
+        path.get(path.size() - 1).terminals.add(suggestion);
+        if (refresh) {
+            recompute(path);
+        }
+    }
+
+    /**
+     * Detach a suggestion from the given key, pruning nodes left empty
+     */
+    void remove(String key, Suggestion suggestion, boolean refresh) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+
+        Node last = path.get(path.size() - 1);
+        last.terminals.remove(suggestion);
+        prune(path);
+        if (refresh) {
+            recompute(path);
+        }
+    }
+
+    /**
+     * Recompute cached rankings on the path of a key, e.g. after a weight change
+     */
+    void refresh(String key) {
+        List<Node> path = findPath(key);
+        if (path != null) {
+            recompute(path);
+        }
+    }
+
+    /**
+     * Best suggestions for keys starting with the prefix
+     */
+    List<Suggestion> complete(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+
+            String remaining = prefix.substring(i);
+            if (child.label.startsWith(remaining)) {
+                return child.top;
+            }
+            if (!remaining.startsWith(child.label)) {
+                return List.of();
+            }
+            i += child.label.length();
+            node = child;
+        }
+        return node.top;
+    }
+
+    void recomputeAll() {
+        recomputeSubtree(root);
+    }
+
+    void clear() {
+        root.children.clear();
+        root.terminals.clear();
+        root.top = List.of();
+    }
+
+    // ===== HELPER METHODS =====
+
+    private List<Node> insertPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            char first = key.charAt(i);
+            Node child = node.children.get(first);
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(first, child);
+                path.add(child);
+                return path;
+            }
+
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge so the key ends (or branches) at the new middle node
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(first, middle);
+                child = middle;
+            }
+
+            path.add(child);
+            node = child;
+            i += common;
+        }
+        return path;
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            i += child.label.length();
+        }
+        return path;
+    }
+
+    /**
+     * Remove empty leaves and merge single-child pass-through nodes, bottom-up
+     */
+    private void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+
+            if (node.terminals.isEmpty() && node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+                path.remove(i);
+            } else if (node.terminals.isEmpty() && node.children.size() == 1) {
+                Node child = node.children.values().iterator().next();
+                node.label = node.label + child.label;
+                node.children.clear();
+                node.children.putAll(child.children);
+                node.terminals.addAll(child.terminals);
+                node.top = child.top;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).top = rank(path.get(i));
+        }
+    }
+
+    private void recomputeSubtree(Node node) {
+        node.children.values().forEach(this::recomputeSubtree);
+        node.top = rank(node);
+    }
+
+    private List<Suggestion> rank(Node node) {
+        Set<Suggestion> candidates = new HashSet<>(node.terminals);
+        node.children.values().forEach(child -> candidates.addAll(child.top));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        return candidates.stream()
+                .sorted(Suggestion.BEST_FIRST)
+                .limit(TOP_K)
+                .toList();
+    }
+
+    private int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String label;
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final Set<Suggestion> terminals = new HashSet<>();
+        private List<Suggestion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.nguyenvu.ecommercems.productservice.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -17,6 +19,8 @@ public interface ProductService {
     
     ProductDTO getProductById(String id);
     
+    List<ProductDTO> getProductsByIds(List<String> ids);
+    
     ProductDTO getProductByCode(String code);
     
     ProductDTO getProductBySku(String sku);
@@ -27,26 +31,47 @@ public interface ProductService {
     
     void deleteProduct(String id);
 
+    // ===== EXPORT OPERATIONS =====
+    long exportActiveProducts(OutputStream output) throws IOException;
+
+    long exportLowStockProducts(OutputStream output) throws IOException;
+
     // ===== SEARCH OPERATIONS =====
     List<ProductDTO> searchProducts(String query);
     
+    List<SuggestionDTO> suggest(String prefix, int limit);
+    
     Page<ProductDTO> searchProductsWithFilters(ProductSearchCriteria criteria, Pageable pageable);
+    
+    ProductListResponse searchProductsWithCursor(ProductSearchCriteria criteria, int size);
+
+    Page<ProductCardDTO> searchProductCards(ProductSearchCriteria criteria, Pageable pageable);
+
+    ProductListResponse searchProductsWithFacets(ProductSearchCriteria criteria, Pageable pageable);
 
     // ===== CATEGORY OPERATIONS =====
     List<ProductDTO> getProductsByCategory(String categoryId, int limit);
+
+    Page<ProductCardDTO> getProductCardsByCategory(String categoryId, Pageable pageable);
     
     List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds);
+    
+    List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds, int limit);
 
     // ===== PRICING OPERATIONS =====
     List<ProductDTO> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit);
     
     List<ProductDTO> getDiscountedProducts();
+    
+    List<ProductDTO> getDiscountedProducts(int limit);
 
     // ===== STOCK OPERATIONS =====
     void updateStock(String id, Integer quantity);
     
     List<ProductDTO> getLowStockProducts(Integer threshold);
 
+    Page<ProductDTO> getLowStockProducts(Pageable pageable);
+
     // ===== RECOMMENDATION OPERATIONS =====
     List<ProductDTO> getNewReleases(int limit);
     
@@ -58,8 +83,12 @@ public interface ProductService {
     
     List<ProductDTO> getMonthlyBestsellers(int limit);
     
+    List<ProductDTO> getYearlyBestsellers(int limit);
+    
     List<ProductDTO> getRecommendedProducts();
     
+    List<ProductDTO> getRecommendedProducts(int limit);
+    
     List<ProductDTO> getSimilarProducts(String id, int limit);
 
     // ===== SUPPLIER OPERATIONS =====
@@ -4,30 +4,49 @@ import com.nguyenvu.ecommercems.productservice.dto.*;
 import com.nguyenvu.ecommercems.productservice.exception.ProductNotFoundException;
 import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
 import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
 import com.nguyenvu.ecommercems.productservice.model.embedded.Supplier;
 import com.nguyenvu.ecommercems.productservice.model.embedded.ProductCategory;
-import com.nguyenvu.ecommercems.productservice.model.embedded.Rating;
 import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
 import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
 import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductQueries;
+import com.nguyenvu.ecommercems.productservice.repository.support.NormalizedNames;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductEditWriter;
+import com.nguyenvu.ecommercems.productservice.service.feature.bestseller.BestsellerLeaderboard;
+import com.nguyenvu.ecommercems.productservice.service.feature.bestseller.BestsellerWindow;
+import com.nguyenvu.ecommercems.productservice.service.feature.export.ProductCatalogExporter;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.LowStockView;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockLevelUpdates;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockMovementJournal;
+import com.nguyenvu.ecommercems.productservice.service.rating.RatingService;
 import com.nguyenvu.ecommercems.productservice.service.product.ProductService;
+import com.nguyenvu.ecommercems.productservice.service.product.api.ProductSearchService;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.TotalCountResolver;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.CachedProductLoader;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,34 +56,70 @@ import java.util.Map;
 @Transactional(readOnly = true)
 public class ProductServiceImpl implements ProductService {
 
+    /**
+     * Leaderboard IDs read per requested bestseller, to absorb inactive or out-of-stock entries
+     */
+    private static final int BESTSELLER_OVERFETCH = 2;
+
     private final ProductRepository ProductRepository;
     private final ProductMapper ProductMapper;
     private final MongoTemplate mongoTemplate;
+    private final ProductSearchService productSearchService;
+    private final ProductDomainEventPublisher eventPublisher;
+    private final ProductCacheService cacheService;
+    private final TotalCountResolver totalCountResolver;
+    private final ProductCatalogExporter catalogExporter;
+    private final CachedProductLoader productLoader;
+    private final BestsellerLeaderboard bestsellerLeaderboard;
+    private final StockMovementJournal movementJournal;
+    private final LowStockView lowStockView;
+    private final RatingService ratingService;
+    private final ProductEditWriter productEditWriter;
 
     // ===== BASIC CRUD OPERATIONS =====
 
     /**
-     * Get all products with pagination
+     * Get all products with pagination.
+     * The total follows the configured count strategy instead of always running a full count;
+     * the listing is unfiltered, so the estimated strategy reads collection metadata.
      */
     public Page<ProductDTO> getAllProducts(Pageable pageable) {
         log.debug("Getting all products with pagination: {}", pageable);
-        Page<Product> ProductsPage = ProductRepository.findAll(pageable);
-        List<ProductDTO> bookDTOs = ProductsPage.getContent().stream()
+        List<ProductDTO> bookDTOs = mongoTemplate.find(new Query().with(pageable), Product.class).stream()
                 .map(this::convertToDTO)
                 .toList();
-        return new PageImpl<>(bookDTOs, pageable, ProductsPage.getTotalElements());
+        return totalCountResolver.page(bookDTOs, pageable, null, "all-products");
     }
 
     /**
-     * Get Product by ID with exception handling
+     * Get Product by ID through the product cache
      */
     public ProductDTO getProductById(String id) {
         log.debug("Getting Product by ID: {}", id);
-        return ProductRepository.findById(id)
-                .map(this::convertToDTO)
+        return productLoader.get(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
     }
 
+    /**
+     * Get several products in request order through the by-id cache; unknown IDs are skipped
+     */
+    @Override
+    public List<ProductDTO> getProductsByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one product ID is required");
+        }
+        if (ids.size() > ProductServiceConstants.MAX_BATCH_GET_SIZE) {
+            throw new IllegalArgumentException("Cannot get more than " + ProductServiceConstants.MAX_BATCH_GET_SIZE
+                    + " products at once");
+        }
+        if (ids.stream().anyMatch(id -> !StringUtils.hasText(id))) {
+            throw new IllegalArgumentException("Product IDs cannot be blank");
+        }
+
+        log.debug("Getting {} products by ID", ids.size());
+        return productLoader.getAll(ids);
+    }
+
     /**
      * Get Product by code - Delegated to SKU method
      */
@@ -118,6 +173,9 @@ public class ProductServiceImpl implements ProductService {
 
         // Save to repository
         Product savedProduct = ProductRepository.save(Product);
+        eventPublisher.publishProductCreatedEvent(savedProduct.getId(), savedProduct.getSku(),
+                savedProduct.getSku(), savedProduct.getTitle(), LocalDateTime.now());
+        cacheService.evictSearchResults(savedProduct);
 
         log.info("Successfully saved Product with ID: {}", savedProduct.getId());
         return convertToDTO(savedProduct);
@@ -136,11 +194,27 @@ public class ProductServiceImpl implements ProductService {
 
         validateBookData(ProductDTO);
 
+        // The entity is updated in place, so keep what search caching needs of the old state
+        List<String> oldCategoryIds = Product.getCategories() != null
+                ? Product.getCategories().stream().map(ProductCategory::getCategoryId).toList()
+                : List.of();
+        List<BigDecimal> oldSalePrices = Product.getPricing() != null && Product.getPricing().getSalePrice() != null
+                ? List.of(Product.getPricing().getSalePrice())
+                : List.of();
+
         ProductMapper.updateEntityFromDTO(ProductDTO, Product);
 
         Product.setUpdatedAt(LocalDateTime.now());
 
-        Product updatedProduct = ProductRepository.save(Product);
+        // Write only the edited fields; stock, reservation and counter fields keep their live values
+        Product updatedProduct = productEditWriter.write(Product);
+        if (updatedProduct == null) {
+            throw new ProductNotFoundException("Product not found with ID: " + id);
+        }
+        eventPublisher.publishProductUpdatedEvent(updatedProduct.getId(), "SYSTEM", LocalDateTime.now());
+        cacheService.evictById(id);
+        cacheService.evictSearchResults(oldCategoryIds, oldSalePrices);
+        cacheService.evictSearchResults(updatedProduct);
         return convertToDTO(updatedProduct);
     }
 
@@ -152,14 +226,36 @@ public class ProductServiceImpl implements ProductService {
     public void deleteProduct(String id) {
         log.info("Soft deleting Product with ID: {}", id);
 
-        Product product = ProductRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
+        Product product = mongoTemplate.findAndModify(
+                ProductQueries.byId(id),
+                new Update().set("status", ProductStatus.INACTIVE).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+        if (product == null) {
+            throw new ProductNotFoundException("Product not found with ID: " + id);
+        }
+        eventPublisher.publishProductUpdatedEvent(id, "SYSTEM", LocalDateTime.now());
+        cacheService.evictById(id);
+        cacheService.evictSearchResults(product);
+        log.info("Successfully soft deleted Product with ID: {}", id);
+    }
 
-        product.setStatus(ProductStatus.INACTIVE);
-        product.setUpdatedAt(LocalDateTime.now());
+    // ===== EXPORT OPERATIONS =====
 
-        ProductRepository.save(product);
-        log.info("Successfully soft deleted Product with ID: {}", id);
+    /**
+     * Stream active products as NDJSON from a single cursor
+     */
+    @Override
+    public long exportActiveProducts(OutputStream output) throws IOException {
+        return catalogExporter.exportActiveProducts(output);
+    }
+
+    /**
+     * Stream the low-stock set as newline-delimited JSON
+     */
+    @Override
+    public long exportLowStockProducts(OutputStream output) throws IOException {
+        return catalogExporter.exportLowStockProducts(output);
     }
 
     // ===== SEARCH OPERATIONS =====
@@ -168,202 +264,54 @@ public class ProductServiceImpl implements ProductService {
      * Search products by text
      */
     public List<ProductDTO> searchProducts(String searchText) {
-        log.debug("Searching products by text: {}", searchText);
-
-        if (!StringUtils.hasText(searchText)) {
-            return List.of();
-        }
+        return productSearchService.searchProducts(searchText);
+    }
 
-        List<Product> products = ProductRepository.searchByTitleAndAuthor(searchText);
-        return products.stream()
-                .map(this::convertToDTO)
-                .toList();
+    /**
+     * Typeahead completions for titles, suppliers and manufacturers
+     */
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return productSearchService.suggest(prefix, limit);
     }
 
     /**
      * Advanced search with criteria
      */
     public Page<ProductDTO> searchProductsWithFilters(ProductSearchCriteria criteria, Pageable pageable) {
-        log.debug("Advanced search with criteria: {}", criteria);
-
-        // Validate criteria
-        if (criteria == null) {
-            return getAllProducts(pageable);
-        }
-
-        if(pageable.getPageSize() > 100) {
-            throw new IllegalArgumentException("Page size cannot exceed 100");
-        }
-
-        // Build MongoDB query using criteria API
-        Query query = new Query();
-        query.addCriteria(Criteria.where("status").is(ProductStatus.ACTIVE));
-
-        // Text search using MongoDB full-text search
-        if (StringUtils.hasText(criteria.getSearchText())) {
-            query.addCriteria(new Criteria("$text").is(
-                    new BasicQuery("{\"$search\": \"" + criteria.getSearchText() + "\"}")
-            ));
-        }
-
-        // Category filter
-        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
-            query.addCriteria(Criteria.where("categories.categoryId").in(criteria.getCategoryIds()));
-        }
-
-        // Price range filter
-        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
-            Criteria priceCriteria = Criteria.where("pricing.salePrice");
-
-            if (criteria.getMinPrice() != null) {
-                priceCriteria = priceCriteria.gte(criteria.getMinPrice());
-            }
-
-            if (criteria.getMaxPrice() != null) {
-                priceCriteria = priceCriteria.lte(criteria.getMaxPrice());
-            }
-
-            query.addCriteria(priceCriteria);
-        }
-
-        // Supplier filter
-        if (StringUtils.hasText(criteria.getSupplierName())) {
-            query.addCriteria(Criteria.where("Suppliers.name").regex(criteria.getSupplierName(), "i"));
-        }
-
-        // Multiple Suppliers filter
-        if (criteria.getSupplierIds() != null && !criteria.getSupplierIds().isEmpty()) {
-            query.addCriteria(Criteria.where("Suppliers.supplierId").in(criteria.getSupplierIds()));
-        }
-
-        // Manufacturer filter
-        if (StringUtils.hasText(criteria.getManufacturerId())) {
-            query.addCriteria(Criteria.where("Manufacturer.manufacturerId").is(criteria.getManufacturerId()));
-        }
-
-        // Manufacturer name filter
-        if (StringUtils.hasText(criteria.getManufacturerName())) {
-            query.addCriteria(Criteria.where("Manufacturer.name").regex(criteria.getManufacturerName(), "i"));
-        }
-
-        // Availability filter
-        if (criteria.getAvailabilities() != null && !criteria.getAvailabilities().isEmpty()) {
-            query.addCriteria(Criteria.where("availability").in(criteria.getAvailabilities()));
-        }
-
-        // Product type filter (replaces format)
-        if (criteria.getProductTypes() != null && !criteria.getProductTypes().isEmpty()) {
-            query.addCriteria(Criteria.where("type").in(criteria.getProductTypes()));
-        }
-
-        // Rating filter
-        if (criteria.getMinRating() != null) {
-            query.addCriteria(Criteria.where("rating.average").gte(criteria.getMinRating()));
-        }
-
-        // Stock filter
-        if (criteria.getMinStock() != null) {
-            query.addCriteria(Criteria.where("stockQuantity").gte(criteria.getMinStock()));
-        }
-
-        // In stock filter
-        if (criteria.getInStock() != null && criteria.getInStock()) {
-            query.addCriteria(Criteria.where("availability").is(Availability.IN_STOCK));
-            query.addCriteria(Criteria.where("stockQuantity").gt(0));
-        }
-
-        // Language filter - commented out as not available in new search criteria
-        // TODO: Add language filter to ProductSearchCriteria if needed
-        // if (StringUtils.hasText(criteria.getLanguage())) {
-        //     query.addCriteria(Criteria.where("physical.language").regex(criteria.getLanguage(), "i"));
-        // }
-
-        // Series filter
-        if (StringUtils.hasText(criteria.getSeriesId())) {
-            query.addCriteria(Criteria.where("series.seriesId").is(criteria.getSeriesId()));
-        }
-
-        // Sales filters
-        if (criteria.getMinTotalSold() != null) {
-            query.addCriteria(Criteria.where("sales.totalSold").gte(criteria.getMinTotalSold()));
-        }
-
-        // Detailed sales tracking filters - commented out as not available in new search criteria
-        // TODO: Add detailed sales tracking to ProductSearchCriteria if needed
-        /*
-        if (criteria.getMinDailySold() != null || criteria.getMaxDailySold() != null) {
-            Criteria dailySoldCriteria = Criteria.where("sales.dailySold");
-            if (criteria.getMinDailySold() != null) {
-                dailySoldCriteria = dailySoldCriteria.gte(criteria.getMinDailySold());
-            }
-            if (criteria.getMaxDailySold() != null) {
-                dailySoldCriteria = dailySoldCriteria.lte(criteria.getMaxDailySold());
-            }
-            query.addCriteria(dailySoldCriteria);
-        }
-
-        if (criteria.getMinWeeklySold() != null || criteria.getMaxWeeklySold() != null) {
-            Criteria weeklySoldCriteria = Criteria.where("sales.weeklySold");
-            if (criteria.getMinWeeklySold() != null) {
-                weeklySoldCriteria = weeklySoldCriteria.gte(criteria.getMinWeeklySold());
-            }
-            if (criteria.getMaxWeeklySold() != null) {
-                weeklySoldCriteria = weeklySoldCriteria.lte(criteria.getMaxWeeklySold());
-            }
-            query.addCriteria(weeklySoldCriteria);
-        }
-
-        if (criteria.getMinMonthlySold() != null || criteria.getMaxMonthlySold() != null) {
-            Criteria monthlySoldCriteria = Criteria.where("sales.monthlySold");
-            if (criteria.getMinMonthlySold() != null) {
-                monthlySoldCriteria = monthlySoldCriteria.gte(criteria.getMinMonthlySold());
-            }
-            if (criteria.getMaxMonthlySold() != null) {
-                monthlySoldCriteria = monthlySoldCriteria.lte(criteria.getMaxMonthlySold());
-            }
-            query.addCriteria(monthlySoldCriteria);
-        }
-        */
-
-        if (StringUtils.hasText(criteria.getSortBy())) {
-            Sort.Direction direction = "desc".equalsIgnoreCase(criteria.getSortDirection()) ?
-                    Sort.Direction.DESC : Sort.Direction.ASC;
-
-            String sortField = mapSortField(criteria.getSortBy());
-            query.with(Sort.by(direction, sortField));
-        } else {
-            query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
-        }
-
-        // Pagination
-        query.with(pageable);
-        List<Product> products = mongoTemplate.find(query, Product.class);
-        Long total = mongoTemplate.count(query.skip(0).limit(0), Product.class);
+        return productSearchService.advancedSearch(criteria, pageable);
+    }
 
-        // Convert to DTOs using mapstruct
-        List<ProductDTO> bookDTOs = products.stream()
-                .map(this::convertToDTO)
-                .toList();
+    /**
+     * Advanced search with keyset (cursor) pagination
+     */
+    @Override
+    public ProductListResponse searchProductsWithCursor(ProductSearchCriteria criteria, int size) {
+        return productSearchService.searchWithCursor(criteria, size);
+    }
 
-        log.debug("Optimized search returned {} results out of {} total", bookDTOs.size(), total);
+    /**
+     * Advanced search with facet counts
+     */
+    @Override
+    public ProductListResponse searchProductsWithFacets(ProductSearchCriteria criteria, Pageable pageable) {
+        return productSearchService.advancedSearchWithFacets(criteria, pageable);
+    }
 
-        // Create and return Page object for response
-        return new PageImpl<>(bookDTOs, pageable, total);
+    /**
+     * Advanced search returning slim product cards
+     */
+    @Override
+    public Page<ProductCardDTO> searchProductCards(ProductSearchCriteria criteria, Pageable pageable) {
+        return productSearchService.searchProductCards(criteria, pageable);
     }
 
-    private String mapSortField(String sortBy) {
-        return switch (sortBy.toLowerCase()) {
-            case "price", "saleprice" -> "pricing.salePrice";
-            case "rating" -> "rating.average";
-            case "published", "publisheddate" -> "publishedDate";
-            case "created", "createdat" -> "createdAt";
-            case "stock", "stockquantity" -> "stockQuantity";
-            case "sales", "totalsold" -> "sales.totalSold";
-            case "dailysales", "dailysold" -> "sales.dailySold";
-            case "weeklysales", "weeklysold" -> "sales.weeklySold";
-            case "monthlysales", "monthlysold" -> "sales.monthlySold";
-            default -> "title";
-        };
+    /**
+     * Get a page of product cards in a category
+     */
+    @Override
+    public Page<ProductCardDTO> getProductCardsByCategory(String categoryId, Pageable pageable) {
+        return productSearchService.getProductCardsByCategory(categoryId, pageable);
     }
 
     // ===== Product OPERATIONS BY Supplier =====
@@ -387,11 +335,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByAuthorId(authorId);
+        List<Product> products = ProductRepository.findByAuthorId(authorId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -413,11 +360,11 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByAuthorName(authorName);
+        List<Product> products = ProductRepository.findByAuthorName(
+                NormalizedNames.prefixPattern(authorName), PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -443,11 +390,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByPublisherId(publisherId);
+        List<Product> products = ProductRepository.findByPublisherId(publisherId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -469,11 +415,11 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByPublisherName(publisherName);
+        List<Product> products = ProductRepository.findByPublisherName(
+                NormalizedNames.prefixPattern(publisherName), PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -499,11 +445,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findBySeriesId(seriesId);
+        List<Product> products = ProductRepository.findBySeriesId(seriesId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -525,11 +470,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findBySeriesName(seriesName);
+        List<Product> products = ProductRepository.findBySeriesName(seriesName, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -556,11 +500,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByCategoryId(categoryId);
+        List<Product> products = ProductRepository.findByCategoryId(categoryId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -569,13 +512,21 @@ public class ProductServiceImpl implements ProductService {
      * Get products by multiple categories
      */
     public List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds) {
-        log.debug("Getting products in categories: {}", categoryIds);
+        return getProductsInMultipleCategories(categoryIds, 50); // Default limit of 50
+    }
+
+    public List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds, int limit) {
+        log.debug("Getting {} products in categories: {}", limit, categoryIds);
 
         if (categoryIds == null || categoryIds.isEmpty()) {
             throw new IllegalArgumentException("Category IDs cannot be null or empty");
         }
 
-        List<Product> products = ProductRepository.findByMultipleCategories(categoryIds);
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+
+        List<Product> products = ProductRepository.findByMultipleCategories(categoryIds, PageRequest.of(0, limit));
 
         return products.stream()
                 .map(this::convertToDTO)
@@ -605,11 +556,11 @@ public class ProductServiceImpl implements ProductService {
 
         List<Product> products = ProductRepository.findByPriceRange(
                 minPrice != null ? minPrice : BigDecimal.ZERO,
-                maxPrice != null ? maxPrice : new BigDecimal("9999999")
+                maxPrice != null ? maxPrice : new BigDecimal("9999999"),
+                PageRequest.of(0, limit)
         );
 
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -618,9 +569,17 @@ public class ProductServiceImpl implements ProductService {
      * Get discounted products
      */
     public List<ProductDTO> getDiscountedProducts() {
-        log.debug("Getting discounted products");
+        return getDiscountedProducts(50); // Default limit of 50
+    }
+
+    public List<ProductDTO> getDiscountedProducts(int limit) {
+        log.debug("Getting {} discounted products", limit);
+
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
 
-        List<Product> products = ProductRepository.findDiscountedProducts();
+        List<Product> products = ProductRepository.findDiscountedProducts(PageRequest.of(0, limit));
 
         return products.stream()
                 .map(this::convertToDTO)
@@ -630,29 +589,36 @@ public class ProductServiceImpl implements ProductService {
     // ===== STOCK OPERATIONS =====
 
     /**
-     * Update stock quantity
+     * Update stock quantity with one pipeline update that also derives the available units and
+     * availability, reading the previous level from the document it replaced
      */
-    @Transactional
     public void updateStock(String bookId, Integer quantity) {
         log.info("Updating stock for Product: {} to quantity: {}", bookId, quantity);
 
-        if (quantity < 0) {
+        if (quantity == null || quantity < 0) {
             throw new IllegalArgumentException("Stock quantity cannot be negative");
         }
 
-        Product Product = ProductRepository.findById(bookId)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + bookId));
-
-        Product.setStockQuantity(quantity);
-        Product.setAvailability(quantity > 0 ? Availability.IN_STOCK : Availability.OUT_OF_STOCK);
-        Product.setUpdatedAt(LocalDateTime.now());
+        Product previous = mongoTemplate.findAndModify(
+                ProductQueries.byId(bookId),
+                StockLevelUpdates.setStock(quantity, Map.of("updatedAt", LocalDateTime.now())),
+                FindAndModifyOptions.options().returnNew(false),
+                Product.class);
+        if (previous == null) {
+            throw new ProductNotFoundException("Product not found with ID: " + bookId);
+        }
 
-        ProductRepository.save(Product);
+        int previousStock = previous.getStockQuantity() != null ? previous.getStockQuantity() : 0;
+        cacheService.evictById(bookId);
+        cacheService.evictSearchResults(previous);
+        movementJournal.record(StockMovement.levelChange(bookId, previousStock, quantity, "Stock update"));
+        eventPublisher.publishStockChangedEvent(bookId, previousStock, quantity, "Stock update", LocalDateTime.now());
         log.info("Successfully updated stock for Product: {}", bookId);
     }
 
     /**
-     * Get low stock products
+     * Get low stock products, lowest stock first and at most
+     * {@link ProductServiceConstants#MAX_STOCK_REPORT_SIZE}; the paged overload reaches the rest
      */
     public List<ProductDTO> getLowStockProducts(Integer threshold) {
         log.debug("Getting low stock products with threshold: {}", threshold);
@@ -661,13 +627,22 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Threshold must be a positive number");
         }
 
-        List<Product> products = ProductRepository.findLowStockProducts(threshold);
+        List<Product> products = ProductRepository.findLowStockProducts(threshold,
+                PageRequest.of(0, ProductServiceConstants.MAX_STOCK_REPORT_SIZE, Sort.by(Sort.Direction.ASC, "stockQuantity")));
 
         return products.stream()
                 .map(this::convertToDTO)
                 .toList();
     }
 
+    /**
+     * Page through products at or below their own low-stock threshold
+     */
+    @Override
+    public Page<ProductDTO> getLowStockProducts(Pageable pageable) {
+        return lowStockView.page(pageable);
+    }
+
     // ===== FEATURED OPERATIONS =====
 
     /**
@@ -684,10 +659,9 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        List<Product> products = ProductRepository.findNewReleases();
+        List<Product> products = ProductRepository.findNewReleases(PageRequest.of(0, limit));
 
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -706,10 +680,9 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        List<Product> products = ProductRepository.findBestsellers();
+        List<Product> products = ProductRepository.findBestsellers(PageRequest.of(0, limit));
 
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -728,12 +701,8 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        List<Product> products = ProductRepository.findDailyBestsellers();
-
-        return products.stream()
-                .limit(limit)
-                .map(this::convertToDTO)
-                .toList();
+        return rankedBestsellers(BestsellerWindow.DAILY, limit,
+                () -> ProductRepository.findDailyBestsellers(PageRequest.of(0, limit)));
     }
 
     /**
@@ -750,12 +719,8 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        List<Product> products = ProductRepository.findWeeklyBestsellers();
-
-        return products.stream()
-                .limit(limit)
-                .map(this::convertToDTO)
-                .toList();
+        return rankedBestsellers(BestsellerWindow.WEEKLY, limit,
+                () -> ProductRepository.findWeeklyBestsellers(PageRequest.of(0, limit)));
     }
 
     /**
@@ -772,12 +737,26 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        List<Product> products = ProductRepository.findMonthlyBestsellers();
+        return rankedBestsellers(BestsellerWindow.MONTHLY, limit,
+                () -> ProductRepository.findMonthlyBestsellers(PageRequest.of(0, limit)));
+    }
 
-        return products.stream()
-                .limit(limit)
-                .map(this::convertToDTO)
-                .toList();
+    /**
+     * Get yearly bestsellers
+     */
+    public List<ProductDTO> getYearlyBestsellers() {
+        return getYearlyBestsellers(20);
+    }
+
+    public List<ProductDTO> getYearlyBestsellers(int limit) {
+        log.debug("Getting {} yearly bestsellers", limit);
+
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+
+        return rankedBestsellers(BestsellerWindow.YEARLY, limit,
+                () -> ProductRepository.findYearlyBestsellers(PageRequest.of(0, limit)));
     }
 
     // ===== RECOMMENDATION OPERATIONS =====
@@ -786,9 +765,17 @@ public class ProductServiceImpl implements ProductService {
      * Get recommended products
      */
     public List<ProductDTO> getRecommendedProducts() {
-        log.debug("Getting recommended products");
+        return getRecommendedProducts(20); // Default limit of 20
+    }
 
-        List<Product> products = ProductRepository.findRecommendedProducts();
+    public List<ProductDTO> getRecommendedProducts(int limit) {
+        log.debug("Getting {} recommended products", limit);
+
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+
+        List<Product> products = ProductRepository.findRecommendedProducts(PageRequest.of(0, limit));
 
         return products.stream()
                 .map(this::convertToDTO)
@@ -819,10 +806,9 @@ public class ProductServiceImpl implements ProductService {
                 .map(supplier -> supplier.getName())
                 .toList();
 
-        List<Product> similarProducts = ProductRepository.findSimilarProducts(categoryIds, supplierNames, bookId);
+        List<Product> similarProducts = ProductRepository.findSimilarProducts(categoryIds, supplierNames, bookId, PageRequest.of(0, limit));
 
         return similarProducts.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -831,78 +817,18 @@ public class ProductServiceImpl implements ProductService {
     // ====== RATING OPERATIONS =====
 
     /*
-     * Add rating to a Product
+     * Add rating to a Product through the rating counters, without loading or saving the Product
      */
-    @Transactional
     public ApiResponse addRating(String bookId, ProductRatingRequest request) {
         log.info("Adding rating: bookId={}, userId={}. rating={}", bookId, request.getUserId(), request.getRating());
 
-        try {
-            // Validate input
-            if (!StringUtils.hasText(bookId)) {
-                return ApiResponse.builder()
-                        .success(false)
-                        .message("Product ID is required")
-                        .build();
-            }
-
-            if (request.getRating() == null || request.getRating() < 1.0 || request.getRating() > 5.0) {
-                return ApiResponse.builder()
-                        .success(false)
-                        .message("Rating must be between 1 and 5")
-                        .build();
-            }
-
-            // Find Product
-            Product Product = ProductRepository.findById(bookId)
-                    .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + bookId));
-
-            // Busines validation
-            if (Product.getStatus() != ProductStatus.ACTIVE) {
-                return ApiResponse.builder()
-                        .success(false)
-                        .message("Cannot rate an inactive Product")
-                        .build();
-            }
-
-            // Get or create Rating
-            Rating rating = Product.getRating();
-            if (rating == null) {
-                rating = Rating.builder()
-                        .average(0.0)
-                        .count(0)
-                        .distribution(new HashMap<>())
-                        .percentages(new HashMap<>())
-                        .build();
-            }
-
-            rating.addRating(request.getRating());
-            Product.setRating(rating);
-            Product.setUpdatedAt(LocalDateTime.now());
-            ProductRepository.save(Product);
-
-            log.info("Raring added successfully: bookId={}, userId={}. New average: {}, Total ratings: {}",
-                    bookId, request.getUserId(), rating.getAverage(), rating.getCount());
-
-            return ApiResponse.builder()
-                    .success(true)
-                    .message("Rating added successfully")
-                    .data(Map.of(
-                            "newAverage", rating.getAverage(),
-                            "totalRatings", rating.getCount(),
-                            "userRating", request.getRating()
-                    ))
-                    .build();
-        } catch (ProductNotFoundException e) {
-            log.warn("Product not found with ID: {}", bookId);
-            throw e; // Re-throw to match test expectations
-        } catch (Exception e) {
-            log.error("Error adding rating: bookId={}", bookId, e);
+        if (!StringUtils.hasText(bookId)) {
             return ApiResponse.builder()
                     .success(false)
-                    .message("Failed to add rating: " + e.getMessage())
+                    .message("Product ID is required")
                     .build();
         }
+        return ratingService.addRating(bookId, request);
     }
 
     /**
@@ -910,42 +836,30 @@ public class ProductServiceImpl implements ProductService {
      */
     public RatingStatsDTO getRatingStats(String bookId) {
         log.debug("Getting rating stats for bookId: {}", bookId);
-
-        Product Product = ProductRepository.findById(bookId)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + bookId));
-
-        Rating rating = Product.getRating();
-        if (rating == null) {
-            return RatingStatsDTO.builder()
-                    .averageRating(0.0)
-                    .totalRatings(0)
-                    .fiveStar(0)
-                    .fourStar(0)
-                    .threeStar(0)
-                    .twoStar(0)
-                    .oneStar(0)
-                    .build();
-        }
-
-        return RatingStatsDTO.builder()
-                .averageRating(rating.getAverage())
-                .totalRatings(rating.getCount())
-                .fiveStar(rating.getDistribution().getOrDefault("5", 0))
-                .fourStar(rating.getDistribution().getOrDefault("4", 0))
-                .threeStar(rating.getDistribution().getOrDefault("3", 0))
-                .twoStar(rating.getDistribution().getOrDefault("2", 0))
-                .oneStar(rating.getDistribution().getOrDefault("1", 0))
-                .percentageFiveStar(rating.getPercentages().getOrDefault("5", 0.0))
-                .percentageFourStar(rating.getPercentages().getOrDefault("4", 0.0))
-                .percentageThreeStar(rating.getPercentages().getOrDefault("3", 0.0))
-                .percentageTwoStar(rating.getPercentages().getOrDefault("2", 0.0))
-                .percentageOneStar(rating.getPercentages().getOrDefault("1", 0.0))
-                .build();
+        return ratingService.getRatingStats(bookId);
     }
 
 
     // ===== HELPER METHODS =====
 
+    /**
+     * Bestsellers of a window from the leaderboard, hydrated through the by-id cache.
+     * Extra IDs are read so products no longer active or in stock can be dropped;
+     * the Mongo ranking is used while the window has no recorded sales.
+     */
+    private List<ProductDTO> rankedBestsellers(BestsellerWindow window, int limit,
+                                               java.util.function.Supplier<List<Product>> fallback) {
+        return bestsellerLeaderboard.top(window, limit * BESTSELLER_OVERFETCH)
+                .map(ids -> productLoader.getAll(ids).stream()
+                        .filter(product -> product.getStatus() == ProductStatus.ACTIVE
+                                && product.getAvailability() == Availability.IN_STOCK)
+                        .limit(limit)
+                        .toList())
+                .orElseGet(() -> fallback.get().stream()
+                        .map(this::convertToDTO)
+                        .toList());
+    }
+
     /**
      * Convert Product entity to ProductDTO
      */
@@ -1075,7 +989,8 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public List<ProductDTO> getProductsBySupplierName(String supplierName, int limit) {
         log.debug("Getting products by supplier name: {} with limit: {}", supplierName, limit);
-        Query query = new Query(Criteria.where("suppliers.name").regex(supplierName, "i")
+        Query query = new Query(Criteria.where("suppliers.normalizedName")
+                .regex(NormalizedNames.prefixPattern(supplierName))
                 .and("status").is(ProductStatus.ACTIVE));
         query.limit(limit);
         
@@ -1103,7 +1018,8 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public List<ProductDTO> getProductsByManufacturerName(String manufacturerName, int limit) {
         log.debug("Getting products by manufacturer name: {} with limit: {}", manufacturerName, limit);
-        Query query = new Query(Criteria.where("manufacturer.name").regex(manufacturerName, "i")
+        Query query = new Query(Criteria.where("manufacturer.normalizedName")
+                .regex(NormalizedNames.prefixPattern(manufacturerName))
                 .and("status").is(ProductStatus.ACTIVE));
         query.limit(limit);
         
@@ -3,6 +3,9 @@ package com.nguyenvu.ecommercems.productservice.service.product.api;
 import com.nguyenvu.ecommercems.productservice.dto.ApiResponse;
 import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
 import com.nguyenvu.ecommercems.productservice.dto.StockMovementDTO;
+import com.nguyenvu.ecommercems.productservice.dto.StockReservationRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -24,14 +27,32 @@ public interface InventoryService {
      * Reserve stock for pending order
      */
     ApiResponse reserveStock(String productId, Integer quantity,String orderId);
+
+    /**
+     * Reserve stock for pending order until the request's expiry
+     */
+    ApiResponse reserveStock(String productId, StockReservationRequest request);
     
     /**
      * Release reserved stock (when order cancelled)
      */
     ApiResponse releaseReservedStock(String productId, Integer quantity, String orderId);
 
+    /**
+     * Turn every reserved line of the order into a sale
+     */
     ApiResponse confirmReservedStock(String orderId);
 
+    /**
+     * Release every reserved line of the order (when order cancelled)
+     */
+    ApiResponse releaseOrderReservations(String orderId);
+
+    /**
+     * Release reservations past their expiry
+     */
+    int expireReservations();
+
     List<StockMovementDTO> getStockHistory(String productId, LocalDateTime from, LocalDateTime to);
     
     /**
@@ -45,12 +66,17 @@ public interface InventoryService {
     Integer getAvailableStock(String productId);
     
     /**
-     * Get products with low stock
+     * Get products with low stock, lowest stock first and capped; page for the full set
      */
     List<ProductDTO> getLowStockProducts(Integer threshold);
 
     /**
-     * Get products with out of stock
+     * Page through products at or below their own low-stock threshold
+     */
+    Page<ProductDTO> getLowStockProducts(Pageable pageable);
+
+    /**
+     * Get products with out of stock, capped
      */
     List<ProductDTO> getOutOfStockProducts();
     
@@ -1,7 +1,10 @@
 package com.nguyenvu.ecommercems.productservice.service.product.api;
 
+import com.nguyenvu.ecommercems.productservice.dto.ProductCardDTO;
 import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.dto.ProductListResponse;
 import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.dto.SuggestionDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -13,8 +16,16 @@ public interface ProductSearchService {
 
     Page<ProductDTO> searchProducts(String searchText, Pageable pageable);
 
+    List<SuggestionDTO> suggest(String prefix, int limit);
+
     Page<ProductDTO> advancedSearch(ProductSearchCriteria criteria, Pageable pageable);
 
+    ProductListResponse searchWithCursor(ProductSearchCriteria criteria, int size);
+
+    ProductListResponse advancedSearchWithFacets(ProductSearchCriteria criteria, Pageable pageable);
+
+    Page<ProductCardDTO> searchProductCards(ProductSearchCriteria criteria, Pageable pageable);
+
     List<ProductDTO> getProductsByAuthor(String authorId, int limit);
 
     List<ProductDTO> getProductsByAuthorName(String authorName, int limit);
@@ -29,9 +40,15 @@ public interface ProductSearchService {
 
     List<ProductDTO> getProductsByCategory(String categoryId, int limit);
 
+    Page<ProductCardDTO> getProductCardsByCategory(String categoryId, Pageable pageable);
+
     List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds);
 
+    List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds, int limit);
+
     List<ProductDTO> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit);
 
     List<ProductDTO> getDiscountedProducts();
+
+    List<ProductDTO> getDiscountedProducts(int limit);
 }
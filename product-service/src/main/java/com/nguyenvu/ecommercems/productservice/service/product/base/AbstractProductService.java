@@ -9,6 +9,8 @@ import com.nguyenvu.ecommercems.productservice.model.embedded.Pricing;
 import com.nguyenvu.ecommercems.productservice.model.embedded.Manufacturer;
 import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
 import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductEditWriter;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.TotalCountResolver;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -36,6 +38,12 @@ public abstract class AbstractProductService {
     @Autowired
     protected RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    protected TotalCountResolver totalCountResolver;
+
+    @Autowired
+    protected ProductEditWriter productEditWriter;
+
     // ===== VALIDATION METHODS =====
     protected void validateProductData(ProductDTO ProductDTO) {
         if (!StringUtils.hasText(ProductDTO.getSku())) {
@@ -142,6 +150,10 @@ public abstract class AbstractProductService {
         query.with(pageable);
     }
 
+    /**
+     * Active products; the status filter means the estimated count strategy caps the total
+     * rather than reading collection metadata
+     */
     protected Page<ProductDTO> getAllProducts(Pageable pageable) {
         if (pageable.getPageSize() > 100) {
             throw new IllegalArgumentException("Page size cannot exceed 100");
@@ -151,13 +163,12 @@ public abstract class AbstractProductService {
         query.with(pageable);
 
         List<Product> products = mongoTemplate.find(query, Product.class);
-        long total = mongoTemplate.count(query.skip(0).limit(0), Product.class);
 
         List<ProductDTO> bookDTOs = products.stream()
                 .map(this::convertToDTO)
                 .toList();
 
-        return new PageImpl<>(bookDTOs, pageable, total);
+        return totalCountResolver.page(bookDTOs, pageable, query, "active-products");
     }
 
     // ===== TEMPLATE METHODS =====
@@ -196,8 +207,11 @@ public abstract class AbstractProductService {
         // Execute hook
         beforeUpdate(existingProduct, updatedProduct);
         
-        // Save to database
-        Product savedProduct = ProductRepository.save(updatedProduct);
+        // Write only the edited fields; stock, reservation and counter fields keep their live values
+        Product savedProduct = productEditWriter.write(updatedProduct);
+        if (savedProduct == null) {
+            throw new IllegalArgumentException("Product with ID " + updatedProduct.getId() + " does not exist");
+        }
         
         // Execute hook
         afterUpdate(existingProduct, savedProduct);
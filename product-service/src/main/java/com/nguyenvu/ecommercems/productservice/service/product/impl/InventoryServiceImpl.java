@@ -3,27 +3,71 @@ package com.nguyenvu.ecommercems.productservice.service.product.impl;
 import com.nguyenvu.ecommercems.productservice.dto.ApiResponse;
 import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
 import com.nguyenvu.ecommercems.productservice.dto.StockMovementDTO;
+import com.nguyenvu.ecommercems.productservice.dto.StockReservationRequest;
 import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.mapper.StockMovementMapper;
 import com.nguyenvu.ecommercems.productservice.model.Product;
-import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
+import com.nguyenvu.ecommercems.productservice.model.StockReservation;
+import com.nguyenvu.ecommercems.productservice.model.enums.MovementType;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.model.enums.ReservationStatus;
 import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.repository.constants.QueryConstants;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductQueries;
 import com.nguyenvu.ecommercems.productservice.service.product.api.InventoryService;
 import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
 import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
 import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.LowStockView;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockLevelUpdates;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockMovementJournal;
 
 import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
 import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductNotFoundException;
 import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductServiceException;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.bson.Document;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stock levels and order reservations.
+ *
+ * A reservation takes three round trips: the line is inserted as PENDING with a fresh token,
+ * the product update takes the units only if available stock covers them and the token is not
+ * already on the product, and the line is then marked RESERVED. The product and the line live
+ * in different collections and there is no transaction manager, so a single conditional update
+ * cannot take the units and record who holds them. The token on the product is what lets a
+ * crash between the trips be resolved exactly once: a stale PENDING line whose token is on the
+ * product is marked reserved, and one whose token is missing is blocked with a tombstone and
+ * dropped, so its units are never taken later.
+ *
+ * That resolution and the release of expired reservations run in a scheduled sweep rather than
+ * a TTL index. Expiring a reservation has to return its units to the product, and a TTL index
+ * can only delete the line. The TTL index covers finished lines, which no longer hold stock.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -32,29 +76,63 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
     private final ProductCacheService cacheService;
     private final ProductDomainEventPublisher eventPublisher;
     private final ProductRepository productRepository;
-
+    private final StockMovementJournal movementJournal;
+    private final StockMovementMapper movementMapper;
+    private final LowStockView lowStockView;
+
+    /**
+     * Finished reservations are kept this long for support lookups, then removed by the TTL index
+     */
+    private static final Duration FINISHED_RESERVATION_RETENTION = Duration.ofDays(7);
+
+    /**
+     * Reservations still pending or settling after this long are assumed abandoned by a crashed request
+     */
+    private static final Duration IN_FLIGHT_GRACE_PERIOD = Duration.ofMinutes(2);
+
+    private static final String RESERVATION_TOKENS = QueryConstants.RESERVATION_TOKENS_FIELD;
+
+    /**
+     * Open reservations one product can hold. Settlement needs every open token, so reserving past
+     * the bound is refused instead of trimming the list; at 24-character tokens it caps the field
+     * near 60KB. Product reads leave the field out.
+     */
+    static final int MAX_OPEN_RESERVATIONS = 2_000;
+
+    @Value("${product.inventory.reservation-ttl:15m}")
+    private Duration reservationTtl;
+
+    /**
+     * Set the stock level with one pipeline update that also derives the available units and
+     * availability, reading the previous level from the document it replaced
+     */
     @Override
     public ApiResponse updateStock(String productId, Integer quantity) {
         log.info("Updating stock for Product ID: {} with quantity: {}", productId, quantity);
 
-        try {
-            Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
-
-            Integer currentStock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
-            product.setStockQuantity(quantity);
-            product.setAvailableQuantity(quantity - product.getReservedQuantity());
+        if (quantity == null || quantity < 0) {
+            return ApiResponse.error("Quantity must not be negative");
+        }
 
-            updateAvailabilityStatus(product, quantity);
+        try {
+            Product previous = mongoTemplate.findAndModify(
+                    ProductQueries.byId(productId),
+                    StockLevelUpdates.setStock(quantity, Map.of("updatedAt", LocalDateTime.now())),
+                    FindAndModifyOptions.options().returnNew(false),
+                    Product.class);
+            if (previous == null) {
+                throw new ProductNotFoundException(productId);
+            }
+            Integer currentStock = previous.getStockQuantity() != null ? previous.getStockQuantity() : 0;
 
-            Product saved = productRepository.save(product);
-            
             // Clear cache
             cacheService.evictById(productId);
+            cacheService.evictSearchResults(previous);
             
             // Publish event
             eventPublisher.publishStockChangedEvent(
                 productId, currentStock, quantity, "Manual stock update", LocalDateTime.now());
+            movementJournal.record(StockMovement.levelChange(productId, currentStock, quantity, "Manual stock update"));
                 
             return ApiResponse.success("Stock updated successfully");
 
@@ -68,25 +146,78 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
 
     @Override
     public ApiResponse reserveStock(String productId, Integer quantity, String orderId) {
+        return reserveStock(productId, StockReservationRequest.builder()
+                .quantity(quantity)
+                .orderId(orderId)
+                .build());
+    }
+
+    /**
+     * Record the reservation as pending, take the units with one conditional update, then mark it reserved.
+     * Concurrent reservations cannot oversell: the filter only matches while enough units are available.
+     * The update also pushes the reservation's token onto the product, so a reservation left pending by
+     * a crash is resolved by {@link #expireReservations} instead of leaking the units.
+     */
+    @Override
+    public ApiResponse reserveStock(String productId, StockReservationRequest request) {
+        Integer quantity = request.getQuantity();
+        String orderId = request.getOrderId();
         log.debug("Reserving {} units for Product ID: {}", quantity, productId);
-        
+
+        if (quantity == null || quantity <= 0) {
+            return ApiResponse.error("Quantity must be positive");
+        }
+        if (!StringUtils.hasText(orderId)) {
+            return ApiResponse.error("Order ID is required");
+        }
+
         try {
-            Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
-                
-            Integer currentStock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
-            if (currentStock < quantity) {
-                return ApiResponse.error("Insufficient stock available");
+            LocalDateTime now = LocalDateTime.now();
+            StockReservation reservation = StockReservation.builder()
+                    .id(StockReservation.idOf(orderId, productId))
+                    .orderId(orderId)
+                    .productId(productId)
+                    .quantity(quantity)
+                    .customerId(request.getCustomerId())
+                    .status(ReservationStatus.PENDING)
+                    .token(new ObjectId().toHexString())
+                    .createdAt(now)
+                    .expiresAt(request.getReservationExpiry() != null
+                            ? request.getReservationExpiry()
+                            : now.plus(reservationTtl))
+                    .build();
+            try {
+                mongoTemplate.insert(reservation);
+            } catch (DuplicateKeyException e) {
+                return ApiResponse.error("Stock already reserved for order " + orderId);
             }
 
-            product.setReservedQuantity(product.getReservedQuantity() + quantity);
-            product.setAvailableQuantity(product.getStockQuantity() - product.getReservedQuantity());
+            UpdateResult taken = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(productId)
+                            .and("availableQuantity").gte(quantity)
+                            .and(RESERVATION_TOKENS).ne(reservation.getToken())
+                            .and(RESERVATION_TOKENS + "." + (MAX_OPEN_RESERVATIONS - 1)).exists(false)),
+                    new Update().inc("availableQuantity", -quantity).inc("reservedQuantity", quantity)
+                            .push(RESERVATION_TOKENS, reservation.getToken()),
+                    Product.class);
+            if (taken.getModifiedCount() == 0) {
+                discardPending(reservation);
+                // Only a refused reservation pays for telling a full token list from short stock
+                boolean full = mongoTemplate.exists(new Query(Criteria.where("_id").is(productId)
+                        .and(RESERVATION_TOKENS + "." + (MAX_OPEN_RESERVATIONS - 1)).exists(true)), Product.class);
+                return ApiResponse.error(full
+                        ? "Too many open reservations for this product, try again later"
+                        : "Insufficient stock available");
+            }
+            markReserved(reservation);
+
+            cacheService.evictById(productId);
+            movementJournal.record(StockMovement.orderMove(productId, MovementType.RESERVE, -quantity, orderId,
+                    "Stock reserved"));
 
-            productRepository.save(product);
-            
             log.info("Reserved {} units for Product ID: {}", quantity, productId);
-            return ApiResponse.success("Stock reserved successfully");
-            
+            return ApiResponse.success("Stock reserved successfully", reservation.getId());
+
         } catch (Exception e) {
             log.error("Failed to reserve stock for Product ID: {}", productId, e);
             return ApiResponse.error("Failed to reserve stock: " + e.getMessage());
@@ -95,23 +226,34 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
 
     @Override
     public ApiResponse releaseReservedStock(String productId, Integer quantity, String orderId) {
-        log.debug("Releasing reserved stock for Product ID: {}", orderId);
-        try {
-            Product product = productRepository.findById(orderId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
+        log.debug("Releasing reserved stock for Product ID: {} and order ID: {}", productId, orderId);
+
+        if (quantity == null || quantity <= 0) {
+            return ApiResponse.error("Quantity must be positive");
+        }
 
-            Integer reservedQuantity = product.getReservedQuantity();
-            if (reservedQuantity <= 0) {
+        try {
+            // Shrink the reservation first; only units actually held are given back
+            StockReservation reservation = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(StockReservation.idOf(orderId, productId))
+                            .and("status").is(ReservationStatus.RESERVED)
+                            .and("quantity").gte(quantity)),
+                    new Update().inc("quantity", -quantity),
+                    FindAndModifyOptions.options().returnNew(true),
+                    StockReservation.class);
+            if (reservation == null) {
                 return ApiResponse.error("No reserved stock to release");
             }
 
-            product.setReservedQuantity(Math.max(0, reservedQuantity - quantity));
-            product.setAvailableQuantity(product.getStockQuantity() - product.getReservedQuantity());
-
-            productRepository.save(product);
+            returnToAvailable(productId, quantity, reservation.getQuantity() == 0 ? reservation.getToken() : null);
+            if (reservation.getQuantity() == 0) {
+                finishReservation(reservation.getId(), ReservationStatus.RELEASED);
+            }
             cacheService.evictById(productId);
+            movementJournal.record(StockMovement.orderMove(productId, MovementType.RELEASE, quantity, orderId,
+                    "Reserved stock released"));
 
-            log.info("Released reserved stock for Product ID: {}", orderId);
+            log.info("Released {} reserved units for Product ID: {} and order ID: {}", quantity, productId, orderId);
             return ApiResponse.success("Reserved stock released successfully");
 
         } catch (Exception e) {
@@ -122,12 +264,41 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
         }
     }
 
+    /**
+     * Resolve reservations left pending and finish settlements left half done by a crash, then
+     * give the units of reservations past their expiry back to available stock
+     * @return number of reservations expired
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${product.inventory.reservation-sweep-interval:60s}")
+    public int expireReservations() {
+        try {
+            resolveStalePending();
+            finishStuckSettlements();
+            int expired = settle(Criteria.where("status").is(ReservationStatus.RESERVED)
+                    .and("expiresAt").lt(LocalDateTime.now()), ReservationStatus.EXPIRED).size();
+            if (expired > 0) {
+                log.info("Expired {} stock reservations", expired);
+            }
+            return expired;
+        } catch (Exception e) {
+            log.error("Failed to expire stock reservations", e);
+            return 0;
+        }
+    }
+
     @Override
     public ApiResponse confirmReservedStock(String orderId) {
         log.info("Confirming reserved stock for order ID: {}", orderId);
 
         try {
-            return null;
+            List<StockReservation> lines = settle(Criteria.where("orderId").is(orderId)
+                    .and("status").is(ReservationStatus.RESERVED), ReservationStatus.CONFIRMED);
+            if (lines.isEmpty()) {
+                return ApiResponse.error("No reserved stock for order " + orderId);
+            }
+            log.info("Confirmed {} reserved lines for order ID: {}", lines.size(), orderId);
+            return ApiResponse.success("Reserved stock confirmed successfully", lines.size());
         } catch (Exception e) {
             log.error("Failed to confirm reserved stock for order ID: {}", orderId, e);
             return ApiResponse.error("Failed to confirm reserved stock: " + e.getMessage());
@@ -136,12 +307,34 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
         }
     }
 
+    @Override
+    public ApiResponse releaseOrderReservations(String orderId) {
+        log.info("Releasing reserved stock for order ID: {}", orderId);
+
+        try {
+            List<StockReservation> lines = settle(Criteria.where("orderId").is(orderId)
+                    .and("status").is(ReservationStatus.RESERVED), ReservationStatus.RELEASED);
+            if (lines.isEmpty()) {
+                return ApiResponse.error("No reserved stock for order " + orderId);
+            }
+            log.info("Released {} reserved lines for order ID: {}", lines.size(), orderId);
+            return ApiResponse.success("Reserved stock released successfully", lines.size());
+        } catch (Exception e) {
+            log.error("Failed to release reserved stock for order ID: {}", orderId, e);
+            return ApiResponse.error("Failed to release reserved stock: " + e.getMessage());
+        } finally {
+            log.debug("Release order reservations operation completed for order ID: {}", orderId);
+        }
+    }
+
     @Override
     public List<StockMovementDTO> getStockHistory(String productId, LocalDateTime from, LocalDateTime to) {
         log.debug("Getting stock history for Product ID: {} from {} to {}", productId, from, to);
 
         try {
-            return productRepository.findStockMovementsByBookIdAndDateRange(productId, from, to);
+            return movementJournal.history(productId, from, to).stream()
+                    .map(movementMapper::toDTO)
+                    .toList();
         } catch (Exception e) {
             log.error("Failed to get stock history for Product ID: {}", productId, e);
             return List.of();
@@ -175,7 +368,8 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
         try {
             Product Product = productRepository.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException(productId));
-            Integer stock = Product.getStockQuantity() != null ? Product.getStockQuantity() : 0;
+            // Reserved units are already taken out of availableQuantity
+            Integer stock = Product.getAvailableQuantity() != null ? Product.getAvailableQuantity() : 0;
             return stock;
             
         } catch (Exception e) {
@@ -184,43 +378,44 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
         }
     }
 
+    /**
+     * Active products at or below the threshold; without one, the tracked low-stock set,
+     * where each product's own threshold applies. Lowest stock first and capped at
+     * {@link ProductServiceConstants#MAX_STOCK_REPORT_SIZE}; the paged overload reaches the rest.
+     */
     @Override
     public List<ProductDTO> getLowStockProducts(Integer threshold) {
         log.debug("Getting products with stock below threshold: {}", threshold);
-        
+
         try {
-            Integer effectiveThreshold = threshold != null ? threshold : ProductServiceConstants.LOW_STOCK_THRESHOLD;
-            
-            List<Product> allProducts = productRepository.findAll();
-            List<ProductDTO> lowStockProducts = allProducts.stream()
-                    .filter(Product -> {
-                        Integer stock = Product.getStockQuantity() != null ? Product.getStockQuantity() : 0;
-                        return stock <= effectiveThreshold;
-                    }).map(productMapper::toDTO)
-                .collect(Collectors.toList());
-                
-            log.info("Found {} products with low stock (threshold: {})", lowStockProducts.size(), effectiveThreshold);
+            if (threshold == null) {
+                return lowStockView.first(ProductServiceConstants.MAX_STOCK_REPORT_SIZE);
+            }
+            List<ProductDTO> lowStockProducts = findByStock(Criteria.where("stockQuantity").lte(threshold));
+            log.info("Found {} products with low stock (threshold: {})", lowStockProducts.size(), threshold);
             return lowStockProducts;
-            
+
         } catch (Exception e) {
             log.error("Failed to get low stock products", e);
             return List.of();
         }
     }
 
+    @Override
+    public Page<ProductDTO> getLowStockProducts(Pageable pageable) {
+        return lowStockView.page(pageable);
+    }
+
+    /**
+     * Active products out of stock, capped at {@link ProductServiceConstants#MAX_STOCK_REPORT_SIZE}
+     */
     @Override
     public List<ProductDTO> getOutOfStockProducts() {
         log.debug("Getting out of stock products");
 
         try {
-            List<Product> allProducts = productRepository.findAll();
-            List<ProductDTO> outOfStockProducts = allProducts.stream()
-                    .filter(Product -> {
-                        Integer stock = Product.getStockQuantity() != null ? Product.getStockQuantity() : 0;
-                        return stock <= 0;
-                    }).map(productMapper::toDTO)
-                .collect(Collectors.toList());
-
+            List<ProductDTO> outOfStockProducts = findByStock(
+                    Criteria.where("stockQuantity").lte(ProductServiceConstants.OUT_OF_STOCK_THRESHOLD));
             log.info("Found {} products that are out of stock", outOfStockProducts.size());
             return outOfStockProducts;
 
@@ -264,13 +459,206 @@ public class InventoryServiceImpl extends AbstractProductService implements Inve
         }
     }
 
-    private void updateAvailabilityStatus(Product product, Integer quantity) {
-        if (quantity <= 0) {
-            product.setAvailability(Availability.OUT_OF_STOCK);
-        } else if (quantity <= 5) {
-            product.setAvailability(Availability.LOW_STOCK);
-        } else {
-            product.setAvailability(Availability.IN_STOCK);
+    /**
+     * Decide reservations pending past the grace period from their product. Pushing the token
+     * only matches when the units were never taken, and once pushed the original update can no
+     * longer match either, so the reservation is dropped; otherwise the units are held and the
+     * reservation is marked reserved, to be confirmed, released or expired as usual.
+     */
+    private void resolveStalePending() {
+        List<StockReservation> stale = mongoTemplate.find(new Query(Criteria.where("status")
+                .is(ReservationStatus.PENDING)
+                .and("createdAt").lt(LocalDateTime.now().minus(IN_FLIGHT_GRACE_PERIOD))), StockReservation.class);
+        for (StockReservation reservation : stale) {
+            UpdateResult blocked = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(reservation.getProductId())
+                            .and(RESERVATION_TOKENS).ne(reservation.getToken())),
+                    // Not bounded: dropping a token here only follows a crash, and refusing it would leave the reservation undecided
+                    new Update().push(RESERVATION_TOKENS, reservation.getToken()),
+                    Product.class);
+            if (blocked.getModifiedCount() > 0) {
+                discardPending(reservation);
+                log.warn("Dropped pending reservation {}; its units were never taken", reservation.getId());
+            } else {
+                markReserved(reservation);
+                log.warn("Recovered pending reservation {} of {} units", reservation.getId(), reservation.getQuantity());
+            }
+        }
+    }
+
+    /**
+     * Pipeline expression for the product's reservation tokens without the given one
+     */
+    private static Document withoutToken(String token) {
+        return new Document("$filter", new Document("input",
+                new Document("$ifNull", List.of("$" + RESERVATION_TOKENS, List.of())))
+                .append("cond", new Document("$ne", List.of("$$this", token))));
+    }
+
+    private void markReserved(StockReservation reservation) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(reservation.getId())
+                        .and("token").is(reservation.getToken())
+                        .and("status").is(ReservationStatus.PENDING)),
+                new Update().set("status", ReservationStatus.RESERVED), StockReservation.class);
+    }
+
+    /**
+     * Remove a pending reservation that holds no units, so the order can reserve the product again
+     */
+    private void discardPending(StockReservation reservation) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(reservation.getId())
+                        .and("token").is(reservation.getToken())
+                        .and("status").is(ReservationStatus.PENDING)),
+                StockReservation.class);
+    }
+
+    /**
+     * Finish every reserved line matching the criteria in four round trips however many lines
+     * match: claim them as {@code SETTLING} with one multi-update, read the claimed lines, apply
+     * all stock changes with one bulk write, then give the lines their final status with one more
+     * multi-update. Confirming takes a fifth to read back the remaining stock for the stock events.
+     * Only lines this call claimed are applied, so concurrent confirm, release and expiry of the
+     * same line cannot both move its units.
+     * @return lines finished by this call
+     */
+    private List<StockReservation> settle(Criteria reserved, ReservationStatus status) {
+        String settlementId = UUID.randomUUID().toString();
+        long claimed = mongoTemplate.updateMulti(new Query(reserved),
+                new Update()
+                        .set("status", ReservationStatus.SETTLING)
+                        .set("settleAs", status)
+                        .set("settlementId", settlementId)
+                        .set("settlingSince", LocalDateTime.now()),
+                StockReservation.class).getModifiedCount();
+        if (claimed == 0) {
+            return List.of();
+        }
+        return completeSettlement(settlementId, status);
+    }
+
+    /**
+     * Re-run settlements whose lines are still {@code SETTLING} past the grace period
+     */
+    private void finishStuckSettlements() {
+        Query stuck = new Query(Criteria.where("status").is(ReservationStatus.SETTLING)
+                .and("settlingSince").lt(LocalDateTime.now().minus(IN_FLIGHT_GRACE_PERIOD)));
+        stuck.fields().include("settlementId", "settleAs");
+        Map<String, ReservationStatus> settlements = new HashMap<>();
+        mongoTemplate.find(stuck, StockReservation.class)
+                .forEach(line -> settlements.put(line.getSettlementId(), line.getSettleAs()));
+
+        settlements.forEach((settlementId, status) -> {
+            int lines = completeSettlement(settlementId, status).size();
+            log.warn("Finished interrupted settlement {} of {} reservation lines", settlementId, lines);
+        });
+    }
+
+    /**
+     * Apply the stock changes of the claimed lines still settling and finish them. Each product
+     * update requires the line's token and pulls it, so running a settlement again after a crash
+     * between the bulk write and the final status does not move the same units twice.
+     */
+    private List<StockReservation> completeSettlement(String settlementId, ReservationStatus status) {
+        Criteria settling = Criteria.where("settlementId").is(settlementId).and("status").is(ReservationStatus.SETTLING);
+        List<StockReservation> lines = mongoTemplate.find(
+                new Query(settling).addCriteria(Criteria.where("quantity").gt(0)), StockReservation.class);
+
+        boolean consume = status == ReservationStatus.CONFIRMED;
+        if (!lines.isEmpty()) {
+            BulkOperations products = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+            lines.forEach(line -> {
+                int quantity = line.getQuantity();
+                Criteria held = Criteria.where("_id").is(line.getProductId()).and("reservedQuantity").gte(quantity);
+                Map<String, Object> extraFields = Map.of();
+                if (line.getToken() != null) {
+                    held.and(RESERVATION_TOKENS).is(line.getToken());
+                    extraFields = Map.of(RESERVATION_TOKENS, withoutToken(line.getToken()));
+                }
+                // Selling lowers the stock, so availability is derived again in the same update
+                products.updateOne(new Query(held), StockLevelUpdates.increment(Map.of(
+                        "reservedQuantity", -quantity,
+                        consume ? "stockQuantity" : "availableQuantity", consume ? -quantity : quantity), extraFields));
+            });
+            products.execute();
+        }
+
+        mongoTemplate.updateMulti(new Query(settling), finishedUpdate(status), StockReservation.class);
+        if (lines.isEmpty()) {
+            return lines;
+        }
+
+        if (consume) {
+            publishSold(lines);
+        }
+
+        String reason = switch (status) {
+            case CONFIRMED -> "Reserved stock sold";
+            case EXPIRED -> "Reservation expired";
+            default -> "Reserved stock released";
+        };
+        cacheService.evictByIds(lines.stream().map(StockReservation::getProductId).distinct().toList());
+        lines.forEach(line -> {
+            movementJournal.record(StockMovement.orderMove(line.getProductId(),
+                    consume ? MovementType.SALE : MovementType.RELEASE,
+                    consume ? -line.getQuantity() : line.getQuantity(), line.getOrderId(), reason));
+        });
+        return lines;
+    }
+
+    /**
+     * Active products matching the stock condition, lowest stock first and at most
+     * {@link ProductServiceConstants#MAX_STOCK_REPORT_SIZE}; served by the status_stock index
+     */
+    private List<ProductDTO> findByStock(Criteria stock) {
+        Query query = new Query(Criteria.where("status").is(ProductStatus.ACTIVE).andOperator(stock))
+                .with(Sort.by(Sort.Direction.ASC, "stockQuantity"))
+                .limit(ProductServiceConstants.MAX_STOCK_REPORT_SIZE);
+        return mongoTemplate.find(ProductQueries.withoutInventoryFields(query), Product.class).stream()
+                .map(productMapper::toDTO)
+                .toList();
+    }
+
+    /**
+     * Announce the stock levels left after confirmed lines, read back with one query
+     */
+    private void publishSold(List<StockReservation> lines) {
+        Query query = new Query(Criteria.where("_id").in(lines.stream().map(StockReservation::getProductId).toList()));
+        query.fields().include("stockQuantity");
+        Map<String, Integer> stock = new HashMap<>();
+        mongoTemplate.find(query, Product.class).forEach(product ->
+                stock.put(product.getId(), product.getStockQuantity() != null ? product.getStockQuantity() : 0));
+
+        LocalDateTime now = LocalDateTime.now();
+        lines.forEach(line -> {
+            Integer remaining = stock.get(line.getProductId());
+            if (remaining != null) {
+                eventPublisher.publishStockChangedEvent(line.getProductId(), remaining + line.getQuantity(),
+                        remaining, "Reserved stock sold", now);
+            }
+        });
+    }
+
+    /**
+     * Move units from reserved back to available stock, dropping the token of a finished reservation
+     */
+    private void returnToAvailable(String productId, int quantity, String finishedToken) {
+        Update update = new Update().inc("availableQuantity", quantity).inc("reservedQuantity", -quantity);
+        if (finishedToken != null) {
+            update.pull(RESERVATION_TOKENS, finishedToken);
         }
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(productId).and("reservedQuantity").gte(quantity)),
+                update, Product.class);
+    }
+
+    private void finishReservation(String reservationId, ReservationStatus status) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(reservationId)),
+                finishedUpdate(status), StockReservation.class);
+    }
+
+    private Update finishedUpdate(ReservationStatus status) {
+        return new Update()
+                .set("status", status)
+                .set("purgeAt", LocalDateTime.now().plus(FINISHED_RESERVATION_RETENTION));
     }
 }
@@ -3,28 +3,57 @@ package com.nguyenvu.ecommercems.productservice.service.product.impl;
 import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
 import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
 import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Pricing;
 import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.repository.support.ProductQueries;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockLevelUpdates;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockMovementJournal;
 import com.nguyenvu.ecommercems.productservice.service.product.api.ProductCrudService;
 import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
 import com.nguyenvu.ecommercems.productservice.service.product.validation.ProductValidator;
 import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
 import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
 import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
+import com.nguyenvu.ecommercems.productservice.service.shared.exception.BatchValidationException;
 import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductNotFoundException;
 import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductServiceException;
 import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductValidationException;
 
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.model.enums.SkuUniquenessMode;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductsBulkChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * ProductCrudServiceImpl - Complete CRUD operations with validation, events, and caching
@@ -35,19 +64,30 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductCrudServiceImpl extends AbstractProductService implements ProductCrudService {
     
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    
     private final ProductRepository ProductRepository;
     private final ProductMapper ProductMapper;
     private final ProductValidator ProductValidator;
     private final ProductDomainEventPublisher eventPublisher;
     private final ProductCacheService cacheService;
+    private final StockMovementJournal movementJournal;
+    
+    @Value("${product.validation.sku-uniqueness:QUERY}")
+    private SkuUniquenessMode skuUniquenessMode = SkuUniquenessMode.QUERY;
 
     @Override
     public ProductDTO createProduct(ProductDTO ProductDTO) {
         log.debug("Creating new Product: {}", ProductDTO.getTitle());
         
         try {
-            ProductValidator.validateForCreate(ProductDTO);
-            ProductDTO savedProduct = saveProductTemplate(ProductDTO);
+            ProductValidator.validateForCreate(ProductDTO, skuUniquenessMode == SkuUniquenessMode.QUERY);
+            ProductDTO savedProduct;
+            try {
+                savedProduct = saveProductTemplate(ProductDTO);
+            } catch (DuplicateKeyException e) {
+                throw new ProductValidationException(ProductValidator.duplicateSkuMessage(ProductDTO.getSku()), e);
+            }
             
             log.info("Successfully created Product: {} (ID: {})", savedProduct.getTitle(), savedProduct.getId());
             return savedProduct;
@@ -111,22 +151,30 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
             BigDecimal newPrice = BigDecimal.valueOf(price);
             ProductValidator.validatePriceChange(bookId, newPrice);
             
-            Product existingProduct = ProductRepository.findById(bookId)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + bookId));
-            
-            BigDecimal oldPrice = existingProduct.getPricing().getSalePrice() != null ?
-                existingProduct.getPricing().getSalePrice() : existingProduct.getPricing().getListPrice();
-            
-            existingProduct.getPricing().setSalePrice(newPrice);
-            existingProduct.setUpdatedAt(LocalDateTime.now());
+            // Only the sale price is written; the returned document is the state it replaced
+            Product savedProduct = mongoTemplate.findAndModify(
+                ProductQueries.byId(bookId),
+                new Update().set("pricing.salePrice", newPrice).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(false),
+                Product.class);
+            if (savedProduct == null) {
+                throw new ProductNotFoundException("Product not found with ID: " + bookId);
+            }
             
-            Product savedProduct = ProductRepository.save(existingProduct);
+            BigDecimal oldPrice = savedProduct.getPricing() == null ? null
+                : savedProduct.getPricing().getSalePrice() != null
+                    ? savedProduct.getPricing().getSalePrice() : savedProduct.getPricing().getListPrice();
+            if (savedProduct.getPricing() == null) {
+                savedProduct.setPricing(new Pricing());
+            }
+            savedProduct.getPricing().setSalePrice(newPrice);
             
             eventPublisher.publishProductUpdatedEvent(savedProduct.getId(), "SYSTEM", LocalDateTime.now());
             
             cacheService.evictById(bookId);
             extractCategoryIds(savedProduct).forEach(cacheService::evictByCategory);
-            cacheService.evictSearchCaches();
+            cacheService.evictSearchResults(extractCategoryIds(savedProduct),
+                Stream.of(oldPrice, newPrice).filter(Objects::nonNull).toList());
             
             ProductDTO result = ProductMapper.toDTO(savedProduct);
             log.info("Successfully updated price for Product: {} from {} to {}", 
@@ -165,7 +213,11 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
     }
 
     /**
-     * Bulk create products with transaction management
+     * Bulk create products with a single unordered insert.
+     * Rows are validated together with at most one SKU lookup. Rows that fail to insert,
+     * such as unique index violations, do not stop the others; they are reported by index
+     * after the batch event and cache invalidation have run for the inserted ones, together
+     * with the IDs the inserted rows were given.
      */
     @Override
     public List<ProductDTO> createProducts(List<ProductDTO> bookDTOs) {
@@ -177,21 +229,48 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
                     ProductServiceConstants.MAX_BULK_CREATE_SIZE + " products");
             }
             
-            for (int i = 0; i < bookDTOs.size(); i++) {
-                try {
-                    ProductValidator.validateForCreate(bookDTOs.get(i));
-                } catch (ProductValidationException e) {
-                    throw new ProductValidationException("Validation failed for Product at index " + i + ": " + e.getMessage());
-                }
+            Map<Integer, String> errors = ProductValidator.validateBatchForCreate(bookDTOs,
+                skuUniquenessMode == SkuUniquenessMode.QUERY);
+            if (!errors.isEmpty()) {
+                throw new BatchValidationException("Validation failed for " + errors.size() + " products", errors);
             }
             
-            List<ProductDTO> results = bookDTOs.stream()
-                .map(this::saveProductTemplate)
-                .collect(Collectors.toList());
+            List<Product> products = new ArrayList<>(bookDTOs.size());
+            for (ProductDTO bookDTO : bookDTOs) {
+                Product product = convertToEntity(bookDTO);
+                beforeSave(product);
+                // IDs are assigned up front because bulk inserts do not write generated IDs back
+                product.setId(new ObjectId().toHexString());
+                products.add(product);
+            }
             
-            log.info("Successfully created {} products in bulk", results.size());
-            return results;
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+            bulk.insert(products);
+            Map<Integer, String> failures = executeBulk(bulk, index -> products.get(index).getSku());
+            
+            Map<Integer, String> insertedIds = new LinkedHashMap<>();
+            IntStream.range(0, products.size())
+                .filter(i -> !failures.containsKey(i))
+                .forEach(i -> insertedIds.put(i, products.get(i).getId()));
+            List<Product> inserted = insertedIds.keySet().stream()
+                .map(products::get)
+                .toList();
+            afterBulkChange(inserted, ProductsBulkChangedEvent.Operation.CREATED);
+            
+            if (!failures.isEmpty()) {
+                // The inserted rows stay, so callers must learn their IDs to avoid creating them twice
+                throw new BatchValidationException("Failed to insert " + failures.size() + " of " +
+                    products.size() + " products", failures, insertedIds);
+            }
+            
+            log.info("Successfully created {} products in bulk", inserted.size());
+            return inserted.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
             
+        } catch (ProductValidationException e) {
+            // Per-row errors must reach the caller as they are
+            throw e;
         } catch (Exception e) {
             log.error("Failed to create products in bulk", e);
             throw new ProductServiceException("Failed to create products in bulk: " + e.getMessage(), e);
@@ -199,34 +278,44 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
     }
 
     /**
-     * Bulk delete products
+     * Bulk soft delete products with a single multi-document update.
+     * Only the fields needed for the event and cache invalidation are read beforehand.
      */
     @Override
     public void deleteProductsByIds(List<String> bookIds) {
         log.debug("Deleting {} products in bulk", bookIds.size());
         
         try {
-            if (bookIds.size() > ProductServiceConstants.MAX_BULK_DELETE_SIZE) {
+            List<String> ids = new ArrayList<>(new LinkedHashSet<>(bookIds));
+            if (ids.size() > ProductServiceConstants.MAX_BULK_DELETE_SIZE) {
                 throw new ProductValidationException("Bulk delete size cannot exceed " + 
                     ProductServiceConstants.MAX_BULK_DELETE_SIZE + " products");
             }
             
-            List<Product> existingProducts = ProductRepository.findAllById(bookIds);
+            Query byIds = new Query(Criteria.where("_id").in(ids));
+            Query affected = Query.of(byIds);
+            affected.fields().include("categories.categoryId", "suppliers.name", "pricing.salePrice");
+            List<Product> existingProducts = mongoTemplate.find(affected, Product.class);
             
-            if (existingProducts.size() != bookIds.size()) {
-                List<String> foundIds = existingProducts.stream().map(Product::getId).collect(Collectors.toList());
-                List<String> missingIds = bookIds.stream()
+            if (existingProducts.size() != ids.size()) {
+                Set<String> foundIds = existingProducts.stream().map(Product::getId).collect(Collectors.toSet());
+                List<String> missingIds = ids.stream()
                     .filter(id -> !foundIds.contains(id))
                     .collect(Collectors.toList());
                 throw new ProductNotFoundException("Some products not found: " + missingIds);
             }
             
-            for (Product Product : existingProducts) {
-                deleteProductTemplate(Product);
-            }
+            mongoTemplate.updateMulti(byIds, new Update()
+                .set("status", ProductStatus.INACTIVE)
+                .set("updatedAt", LocalDateTime.now()), Product.class);
+            
+            cacheService.evictByIds(ids);
+            afterBulkChange(existingProducts, ProductsBulkChangedEvent.Operation.DELETED);
             
             log.info("Successfully deleted {} products in bulk", existingProducts.size());
             
+        } catch (ProductValidationException | ProductNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to delete products in bulk", e);
             throw new ProductServiceException("Failed to delete products in bulk: " + e.getMessage(), e);
@@ -249,7 +338,8 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
     }
 
     /**
-     * Adjust stock by delta (increase/decrease)
+     * Adjust stock by delta (increase/decrease) with one pipeline update that also derives the
+     * available units and availability; a decrease only matches while enough stock is left
      */
     @Override
     public void adjustStock(String bookId, Integer delta, String reason) {
@@ -264,39 +354,47 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
                 throw new ProductValidationException("Reason is required for stock adjustment");
             }
             
-            Product existingProduct = ProductRepository.findById(bookId)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + bookId));
-            
-            Integer currentStock = existingProduct.getStockQuantity() != null ? existingProduct.getStockQuantity() : 0;
-            Integer newStock;
-            
+            Criteria byId = Criteria.where("_id").is(bookId);
+            Map<String, Object> touched = Map.of("updatedAt", LocalDateTime.now());
+            Integer quantity = null;
+            Query query;
+            UpdateDefinition update;
             if (reason.startsWith("STOCK_UPDATE:")) {
-                String quantityStr = reason.substring("STOCK_UPDATE:".length());
-                newStock = Integer.valueOf(quantityStr);
+                quantity = Integer.valueOf(reason.substring("STOCK_UPDATE:".length()));
+                if (quantity < 0) {
+                    throw new ProductValidationException("Stock cannot be negative: " + quantity);
+                }
+                query = new Query(byId);
+                update = StockLevelUpdates.setStock(quantity, touched);
             } else {
                 if (delta == null) {
                     throw new ProductValidationException("Delta is required for stock adjustment");
                 }
-                newStock = currentStock + delta;
+                query = new Query(delta < 0 ? byId.and("stockQuantity").gte(-delta) : byId);
+                update = StockLevelUpdates.adjustStock(delta, touched);
             }
             
-            if (newStock < 0) {
-                throw new ProductValidationException("Stock cannot be negative. Current: " + currentStock + ", Delta: " + delta);
+            Product previous = mongoTemplate.findAndModify(ProductQueries.withoutInventoryFields(query), update,
+                FindAndModifyOptions.options().returnNew(false), Product.class);
+            if (previous == null) {
+                if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(bookId)), Product.class)) {
+                    throw new ProductNotFoundException("Product not found with ID: " + bookId);
+                }
+                throw new ProductValidationException("Stock cannot be negative. Delta: " + delta);
             }
             
-            existingProduct.setStockQuantity(newStock);
-            existingProduct.setUpdatedAt(LocalDateTime.now());
-            
-            Product savedProduct = ProductRepository.save(existingProduct);
+            Integer currentStock = previous.getStockQuantity() != null ? previous.getStockQuantity() : 0;
+            Integer newStock = quantity != null ? quantity : currentStock + delta;
             
             eventPublisher.publishStockChangedEvent(
                 bookId, currentStock, newStock, reason, LocalDateTime.now());
+            movementJournal.record(StockMovement.levelChange(bookId, currentStock, newStock, reason));
             
             cacheService.evictById(bookId);
-            cacheService.evictSearchCaches();
+            cacheService.evictSearchResults(previous);
             
             log.info("Successfully adjusted stock for Product: {} from {} to {} (reason: {})", 
-                savedProduct.getTitle(), currentStock, newStock, reason);
+                previous.getTitle(), currentStock, newStock, reason);
                 
         } catch (Exception e) {
             log.error("Failed to adjust stock for Product ID: {}", bookId, e);
@@ -341,6 +439,7 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
         cacheService.evictAll();
         extractCategoryIds(Product).forEach(cacheService::evictByCategory);
         extractSupplierNames(Product).forEach(cacheService::evictBySupplier);
+        cacheService.evictSearchResults(Product);
         
         log.debug("After save operations completed for Product: {}", Product.getTitle());
     }
@@ -359,9 +458,9 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
         extractCategoryIds(newProduct).forEach(cacheService::evictByCategory);
         extractSupplierNames(newProduct).forEach(cacheService::evictBySupplier);
         
-        if (!oldProduct.getPricing().equals(newProduct.getPricing())) {
-            cacheService.evictSearchCaches();
-        }
+        // Both states: the product may have moved between categories or price bands
+        cacheService.evictSearchResults(oldProduct);
+        cacheService.evictSearchResults(newProduct);
         
         log.debug("After update operations completed for Product: {}", newProduct.getTitle());
     }
@@ -370,16 +469,72 @@ public class ProductCrudServiceImpl extends AbstractProductService implements Pr
     protected void afterDelete(Product Product) {
         log.debug("After delete operations for Product: {}", Product.getTitle());
         
+        // Listeners re-read the product and drop it once it is gone
+        eventPublisher.publishProductUpdatedEvent(Product.getId(), "SYSTEM", LocalDateTime.now());
+        
         cacheService.evictById(Product.getId());
         cacheService.evictAll();
         extractCategoryIds(Product).forEach(cacheService::evictByCategory);
         extractSupplierNames(Product).forEach(cacheService::evictBySupplier);
+        cacheService.evictSearchResults(Product);
         
         log.debug("After delete operations completed for Product: {}", Product.getTitle());
     }
 
+    /**
+     * One event and one coalesced cache invalidation for a bulk create or delete
+     */
+    private void afterBulkChange(List<Product> products, ProductsBulkChangedEvent.Operation operation) {
+        if (products.isEmpty()) {
+            return;
+        }
+        
+        eventPublisher.publishProductsBulkChangedEvent(
+            products.stream().map(Product::getId).toList(),
+            operation,
+            LocalDateTime.now()
+        );
+        
+        Set<String> categoryIds = new LinkedHashSet<>();
+        Set<String> supplierNames = new LinkedHashSet<>();
+        Set<BigDecimal> salePrices = new LinkedHashSet<>();
+        for (Product product : products) {
+            categoryIds.addAll(extractCategoryIds(product));
+            supplierNames.addAll(extractSupplierNames(product));
+            if (product.getPricing() != null && product.getPricing().getSalePrice() != null) {
+                salePrices.add(product.getPricing().getSalePrice());
+            }
+        }
+        categoryIds.remove(null);
+        supplierNames.remove(null);
+        
+        cacheService.evictAll();
+        categoryIds.forEach(cacheService::evictByCategory);
+        supplierNames.forEach(cacheService::evictBySupplier);
+        cacheService.evictSearchResults(categoryIds, salePrices);
+    }
+
     // ===== UTILITY METHODS =====
 
+    /**
+     * Execute an unordered bulk write
+     * @param skuAt SKU written by the operation at an index, to report unique index violations
+     * @return error messages by operation index, empty when every operation succeeded
+     */
+    private Map<Integer, String> executeBulk(BulkOperations bulk, IntFunction<String> skuAt) {
+        try {
+            bulk.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new TreeMap<>();
+            e.getErrors().forEach(error -> failures.put(error.getIndex(),
+                error.getCode() == DUPLICATE_KEY_ERROR && skuAt.apply(error.getIndex()) != null
+                    ? ProductValidator.duplicateSkuMessage(skuAt.apply(error.getIndex()))
+                    : error.getMessage()));
+            return failures;
+        }
+    }
+
     /**
      * Generate unique SKU for Product
      */
@@ -1,21 +1,42 @@
 package com.nguyenvu.ecommercems.productservice.service.product.impl;
 
+import com.nguyenvu.ecommercems.productservice.dto.ProductCardDTO;
 import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.dto.ProductListResponse;
 import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.dto.SearchFacets;
+import com.nguyenvu.ecommercems.productservice.dto.SuggestionDTO;
 import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
 import com.nguyenvu.ecommercems.productservice.model.Product;
 import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
 import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
 import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.repository.support.NormalizedNames;
+import com.nguyenvu.ecommercems.productservice.service.feature.search.ProductSearchIndex;
+import com.nguyenvu.ecommercems.productservice.service.feature.search.ProductSuggester;
 import com.nguyenvu.ecommercems.productservice.service.product.api.ProductSearchService;
 import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.SearchCursor;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.SearchCursorCodec;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.CountedPage;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.TotalCount;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.CachedProductLoader;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.SearchCriteriaKey;
+import com.nguyenvu.ecommercems.productservice.service.product.projection.ProductFieldProjection;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.SearchResultCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -24,7 +45,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @Slf4j
@@ -34,11 +57,29 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
     private final ProductRepository ProductRepository;
     private final ProductMapper ProductMapper;
     private final MongoTemplate mongoTemplate;
+    private final SearchCursorCodec cursorCodec;
+    private final ProductFieldProjection fieldProjection;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggester suggester;
+    private final SearchResultCache searchResultCache;
+    private final CachedProductLoader productLoader;
+
+    private static final int MAX_TEXT_SEARCH_RESULTS = 100;
+    private static final int MAX_FACET_VALUES = 50;
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final String OPEN_ENDED_PRICE_BUCKET = "open";
+    private static final Document MANUFACTURER_KEY = new Document("$ifNull",
+            List.of("$manufacturer._id", "$manufacturer.manufacturerId"));
+    private static final List<BigDecimal> DEFAULT_PRICE_FACET_BOUNDARIES = List.of(
+            BigDecimal.ZERO, BigDecimal.valueOf(10), BigDecimal.valueOf(25),
+            BigDecimal.valueOf(50), BigDecimal.valueOf(100), BigDecimal.valueOf(200));
 
     // ===== SEARCH OPERATIONS =====
 
     /**
-     * Search products by text
+     * Search products by text.
+     * Ranked by the in-memory index once it is built and hydrated through the product cache;
+     * falls back to Mongo during warm-up.
      */
     @Override
     public List<ProductDTO> searchProducts(String searchText) {
@@ -48,7 +89,13 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
             return List.of();
         }
 
-        List<Product> products = ProductRepository.searchByTitleAndAuthor(searchText);
+        if (searchIndex.isReady()) {
+            ProductSearchIndex.SearchHits hits = searchIndex.search(searchText, 0, MAX_TEXT_SEARCH_RESULTS);
+            return productLoader.getAll(hits.getProductIds());
+        }
+
+        List<Product> products = ProductRepository.searchByTitleAndAuthor(
+                searchText, PageRequest.of(0, MAX_TEXT_SEARCH_RESULTS));
         return products.stream()
                 .map(this::convertToDTO)
                 .toList();
@@ -60,16 +107,36 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
             return Page.empty(pageable);
         }
 
-        List<Product> products = ProductRepository.searchByTitleAndAuthor(searchText);
-        List<ProductDTO> bookDTOs = products.stream()
-                .map(ProductMapper::toDTO)
-                .toList();
+        if (searchIndex.isReady()) {
+            ProductSearchIndex.SearchHits hits = searchIndex.search(
+                    searchText, (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(productLoader.getAll(hits.getProductIds()), pageable, hits.getTotalHits());
+        }
+
+        return ProductRepository.searchByText(searchText, pageable)
+                .map(ProductMapper::toDTO);
+    }
+
+    /**
+     * Typeahead completions for a prefix, served from memory only.
+     * Returns nothing while the suggester is still warming up rather than hitting Mongo per keystroke.
+     */
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
 
-        return new PageImpl<>(bookDTOs, pageable, products.size());
+        return suggester.suggest(prefix, limit);
     }
 
     /**
-     * Advanced search with criteria
+     * Advanced search with criteria.
+     * Full-document pages are served from the search result cache; projected pages always hit Mongo.
      */
     @Override
     public Page<ProductDTO> advancedSearch(ProductSearchCriteria criteria, Pageable pageable) {
@@ -84,7 +151,187 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
             throw new IllegalArgumentException("Page size cannot exceed 100");
         }
 
-        // Build MongoDB query using criteria API
+        Sort.Order order = resolveSortOrder(criteria);
+        if (fieldProjection.isRequested(criteria)) {
+            return searchPage(criteria, order, pageable);
+        }
+        return searchResultCache.getOrSearch(criteria, order, pageable,
+                () -> searchPage(criteria, order, pageable));
+    }
+
+    private Page<ProductDTO> searchPage(ProductSearchCriteria criteria, Sort.Order order, Pageable pageable) {
+        Query query = buildSearchQuery(criteria);
+        query.with(Sort.by(order));
+        fieldProjection.apply(query, criteria, order.getProperty());
+
+        // Pagination
+        query.with(pageable);
+
+        Page<ProductDTO> page = findPage(query, pageable, criteria.getIncludeTotalCount(),
+                SearchCriteriaKey.forCount(criteria), this::convertToDTO);
+        log.debug("Optimized search returned {} results", page.getNumberOfElements());
+        return page;
+    }
+
+    /**
+     * Advanced search returning slim product cards.
+     * Only the card fields are read from Mongo.
+     */
+    @Override
+    public Page<ProductCardDTO> searchProductCards(ProductSearchCriteria criteria, Pageable pageable) {
+        log.debug("Card search with criteria: {}", criteria);
+
+        if (pageable.getPageSize() > 100) {
+            throw new IllegalArgumentException("Page size cannot exceed 100");
+        }
+
+        ProductSearchCriteria effectiveCriteria = criteria != null ? criteria : new ProductSearchCriteria();
+        Sort.Order order = resolveSortOrder(effectiveCriteria);
+        Query query = buildSearchQuery(effectiveCriteria);
+        query.with(Sort.by(order));
+        fieldProjection.applyCard(query, order.getProperty());
+        query.with(pageable);
+
+        return findPage(query, pageable, effectiveCriteria.getIncludeTotalCount(),
+                SearchCriteriaKey.forCount(effectiveCriteria), ProductMapper::toCardDTO);
+    }
+
+    /**
+     * Advanced search using keyset (seek) pagination.
+     * Each page seeks past the (sort value, _id) of the previous page instead of skipping,
+     * so deep pages cost the same as the first one.
+     */
+    @Override
+    public ProductListResponse searchWithCursor(ProductSearchCriteria criteria, int size) {
+        log.debug("Keyset search with criteria: {}, size: {}", criteria, size);
+
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+
+        ProductSearchCriteria effectiveCriteria = criteria != null ? criteria : new ProductSearchCriteria();
+        Sort.Order order = resolveSortOrder(effectiveCriteria);
+        Query query = buildSearchQuery(effectiveCriteria);
+        fieldProjection.apply(query, effectiveCriteria, order.getProperty(), "id");
+
+        // Total count is opt-in in cursor mode
+        TotalCount total = Boolean.TRUE.equals(effectiveCriteria.getIncludeTotalCount())
+                ? totalCountResolver.count(query, SearchCriteriaKey.forCount(effectiveCriteria))
+                : null;
+
+        if (StringUtils.hasText(effectiveCriteria.getCursor())) {
+            SearchCursor cursor = cursorCodec.decode(effectiveCriteria.getCursor());
+            if (!cursor.matches(order)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+            query.addCriteria(buildKeysetCriteria(cursor));
+        }
+
+        // _id breaks ties so every document has a unique position in the order
+        query.with(Sort.by(order, new Sort.Order(order.getDirection(), "_id")));
+        query.limit(size + 1);
+
+        List<Product> products = mongoTemplate.find(query, Product.class);
+        boolean hasNext = products.size() > size;
+        List<Product> pageContent = hasNext ? products.subList(0, size) : products;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Document lastDocument = new Document();
+            mongoTemplate.getConverter().write(pageContent.get(pageContent.size() - 1), lastDocument);
+            nextCursor = cursorCodec.encode(order, lastDocument);
+        }
+
+        List<ProductDTO> productDTOs = pageContent.stream()
+                .map(this::convertToDTO)
+                .toList();
+
+        log.debug("Keyset search returned {} results, hasNext: {}", productDTOs.size(), hasNext);
+
+        return ProductListResponse.success(productDTOs,
+                ProductListResponse.createCursorPagination(size, productDTOs.size(), nextCursor,
+                        total != null ? total.getValue() : null,
+                        total != null ? total.isExact() : null));
+    }
+
+    /**
+     * Advanced search returning the page, the total and facet counts from a single
+     * $facet aggregation over the filtered set (one database round trip).
+     */
+    @Override
+    public ProductListResponse advancedSearchWithFacets(ProductSearchCriteria criteria, Pageable pageable) {
+        log.debug("Faceted search with criteria: {}", criteria);
+
+        if (pageable.getPageSize() > 100) {
+            throw new IllegalArgumentException("Page size cannot exceed 100");
+        }
+
+        ProductSearchCriteria effectiveCriteria = criteria != null ? criteria : new ProductSearchCriteria();
+        List<BigDecimal> boundaries = resolvePriceBoundaries(effectiveCriteria.getPriceFacetBoundaries());
+        Sort.Order order = resolveSortOrder(effectiveCriteria);
+        Query query = buildSearchQuery(effectiveCriteria);
+        fieldProjection.apply(query, effectiveCriteria, order.getProperty());
+
+        List<AggregationOperation> resultStages = new ArrayList<>(List.of(
+                Aggregation.sort(Sort.by(order, new Sort.Order(order.getDirection(), "_id"))),
+                Aggregation.skip(pageable.getOffset()),
+                Aggregation.limit(pageable.getPageSize())));
+        if (!query.getFieldsObject().isEmpty()) {
+            resultStages.add(context -> new Document("$project", context.getMappedObject(query.getFieldsObject())));
+        }
+
+        TypedAggregation<Product> aggregation = Aggregation.newAggregation(Product.class,
+                context -> new Document("$match", context.getMappedObject(query.getQueryObject())),
+                Aggregation.facet(resultStages.toArray(AggregationOperation[]::new)).as("results")
+                        .and(Aggregation.count().as("count")).as("total")
+                        .and(Aggregation.unwind("categories"),
+                                Aggregation.group("categories.categoryId")
+                                        .first("categories.name").as("label")
+                                        .count().as("count"),
+                                Aggregation.sort(Sort.Direction.DESC, "count"),
+                                Aggregation.limit(MAX_FACET_VALUES)).as("categories")
+                        .and(Aggregation.group("availability").count().as("count"),
+                                Aggregation.sort(Sort.Direction.DESC, "count")).as("availability")
+                        .and(Aggregation.group("type").count().as("count"),
+                                Aggregation.sort(Sort.Direction.DESC, "count")).as("types")
+                        .and(manufacturerGroupStage(),
+                                Aggregation.match(Criteria.where("_id").ne(null)),
+                                Aggregation.sort(Sort.Direction.DESC, "count"),
+                                Aggregation.limit(MAX_FACET_VALUES)).as("manufacturers")
+                        .and(Aggregation.match(Criteria.where("pricing.salePrice").ne(null)),
+                                priceBucketStage(boundaries)).as("priceRanges"));
+
+        Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return ProductListResponse.empty(null);
+        }
+
+        List<ProductDTO> products = result.getList("results", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(Product.class, document))
+                .map(this::convertToDTO)
+                .toList();
+
+        List<Document> totalDocuments = result.getList("total", Document.class);
+        long total = totalDocuments.isEmpty() ? 0 : totalDocuments.get(0).get("count", Number.class).longValue();
+
+        SearchFacets facets = SearchFacets.builder()
+                .categories(toFacetCounts(result.getList("categories", Document.class)))
+                .availability(toFacetCounts(result.getList("availability", Document.class)))
+                .types(toFacetCounts(result.getList("types", Document.class)))
+                .manufacturers(toFacetCounts(result.getList("manufacturers", Document.class)))
+                .priceRanges(toPriceBuckets(result.getList("priceRanges", Document.class), boundaries))
+                .build();
+
+        ProductListResponse response = ProductListResponse.success(products,
+                ProductListResponse.createPagination(pageable.getPageNumber(), pageable.getPageSize(), total));
+        response.setFacets(facets);
+        return response;
+    }
+
+    /**
+     * Build the filter query for the given criteria (no sort, no pagination)
+     */
+    private Query buildSearchQuery(ProductSearchCriteria criteria) {
         Query query = new Query();
         query.addCriteria(Criteria.where("status").is(ProductStatus.ACTIVE));
 
@@ -117,7 +364,8 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
 
         // Supplier filter
         if (StringUtils.hasText(criteria.getSupplierName())) {
-            query.addCriteria(Criteria.where("Suppliers.name").regex(criteria.getSupplierName(), "i"));
+            query.addCriteria(Criteria.where("suppliers.normalizedName")
+                    .regex(NormalizedNames.prefixPattern(criteria.getSupplierName())));
         }
 
         // Multiple Suppliers filter
@@ -127,12 +375,16 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
 
         // Manufacturer filter
         if (StringUtils.hasText(criteria.getManufacturerId())) {
-            query.addCriteria(Criteria.where("Manufacturer.manufacturerId").is(criteria.getManufacturerId()));
+            // Wrapped in $and so the keyset $or of cursor searches can still be added
+            query.addCriteria(new Criteria().andOperator(new Criteria().orOperator(
+                    Criteria.where("manufacturer._id").is(criteria.getManufacturerId()),
+                    Criteria.where("manufacturer.manufacturerId").is(criteria.getManufacturerId()))));
         }
 
         // Manufacturer name filter
         if (StringUtils.hasText(criteria.getManufacturerName())) {
-            query.addCriteria(Criteria.where("Manufacturer.name").regex(criteria.getManufacturerName(), "i"));
+            query.addCriteria(Criteria.where("manufacturer.normalizedName")
+                    .regex(NormalizedNames.prefixPattern(criteria.getManufacturerName())));
         }
 
         // Availability filter
@@ -214,30 +466,151 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
         */
 
-        if (StringUtils.hasText(criteria.getSortBy())) {
-            Sort.Direction direction = "desc".equalsIgnoreCase(criteria.getSortDirection()) ?
-                    Sort.Direction.DESC : Sort.Direction.ASC;
+        return query;
+    }
 
-            String sortField = mapSortField(criteria.getSortBy());
-            query.with(Sort.by(direction, sortField));
-        } else {
-            query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
+    private Sort.Order resolveSortOrder(ProductSearchCriteria criteria) {
+        if (!StringUtils.hasText(criteria.getSortBy())) {
+            return Sort.Order.desc("createdAt");
         }
 
-        // Pagination
-        query.with(pageable);
-        List<Product> products = mongoTemplate.find(query, Product.class);
-        Long total = mongoTemplate.count(query.skip(0).limit(0), Product.class);
+        Sort.Direction direction = "desc".equalsIgnoreCase(criteria.getSortDirection()) ?
+                Sort.Direction.DESC : Sort.Direction.ASC;
+        return new Sort.Order(direction, mapSortField(criteria.getSortBy()));
+    }
 
-        // Convert to DTOs using mapstruct
-        List<ProductDTO> bookDTOs = products.stream()
-                .map(this::convertToDTO)
+    /**
+     * Run a paged find, counting only when the page itself cannot tell the total
+     * (e.g. not a partial last page) and then per the configured count strategy.
+     * With includeTotalCount=false the count is skipped and one extra row is fetched
+     * to detect a next page.
+     */
+    private <T> Page<T> findPage(Query query, Pageable pageable, Boolean includeTotalCount, String countKey,
+                                 Function<Product, T> mapper) {
+        if (Boolean.FALSE.equals(includeTotalCount)) {
+            query.limit(pageable.getPageSize() + 1);
+
+            List<Product> products = mongoTemplate.find(query, Product.class);
+            boolean hasNext = products.size() > pageable.getPageSize();
+
+            List<T> content = products.stream()
+                    .limit(pageable.getPageSize())
+                    .map(mapper)
+                    .toList();
+
+            long knownTotal = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+            return new CountedPage<>(content, pageable, knownTotal, !hasNext);
+        }
+
+        List<T> content = mongoTemplate.find(query, Product.class).stream()
+                .map(mapper)
                 .toList();
 
-        log.debug("Optimized search returned {} results out of {} total", bookDTOs.size(), total);
+        return totalCountResolver.page(content, pageable, query, countKey);
+    }
+
+    private List<BigDecimal> resolvePriceBoundaries(List<BigDecimal> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return DEFAULT_PRICE_FACET_BOUNDARIES;
+        }
+
+        if (requested.size() < 2 || requested.size() > MAX_FACET_VALUES) {
+            throw new IllegalArgumentException("Price facet boundaries must have between 2 and " + MAX_FACET_VALUES + " values");
+        }
+        for (int i = 0; i < requested.size(); i++) {
+            BigDecimal boundary = requested.get(i);
+            if (boundary == null || boundary.signum() < 0
+                    || (i > 0 && boundary.compareTo(requested.get(i - 1)) <= 0)) {
+                throw new IllegalArgumentException("Price facet boundaries must be non-negative and strictly ascending");
+            }
+        }
+        return requested;
+    }
+
+    /**
+     * Group by manufacturer reference. Documents store it as {@code manufacturer._id}; older
+     * writes of the embedded entity used {@code manufacturer.manufacturerId}, so both are read.
+     */
+    private AggregationOperation manufacturerGroupStage() {
+        return context -> new Document("$group", new Document("_id", MANUFACTURER_KEY)
+                .append("label", new Document("$first", "$manufacturer.name"))
+                .append("count", new Document("$sum", 1)));
+    }
+
+    /**
+     * $bucket on sale price; prices are converted to decimal so string-stored values bucket correctly.
+     * Prices above the last boundary fall into the open-ended default bucket.
+     */
+    private AggregationOperation priceBucketStage(List<BigDecimal> boundaries) {
+        Document bucket = new Document("groupBy", new Document("$toDecimal", "$pricing.salePrice"))
+                .append("boundaries", boundaries.stream().map(Decimal128::new).toList())
+                .append("default", OPEN_ENDED_PRICE_BUCKET)
+                .append("output", new Document("count", new Document("$sum", 1)));
+        return context -> new Document("$bucket", bucket);
+    }
+
+    private List<SearchFacets.FacetCount> toFacetCounts(List<Document> documents) {
+        return documents.stream()
+                .filter(document -> document.get("_id") != null)
+                .map(document -> SearchFacets.FacetCount.builder()
+                        .value(document.get("_id").toString())
+                        .label(document.getString("label"))
+                        .count(document.get("count", Number.class).longValue())
+                        .build())
+                .toList();
+    }
+
+    private List<SearchFacets.PriceBucket> toPriceBuckets(List<Document> documents, List<BigDecimal> boundaries) {
+        List<SearchFacets.PriceBucket> buckets = new ArrayList<>();
+        for (Document document : documents) {
+            long count = document.get("count", Number.class).longValue();
+
+            // Bucket _id is the lower boundary, or the default bucket name for the open-ended top range
+            if (!(document.get("_id") instanceof Decimal128 lowerBound)) {
+                buckets.add(new SearchFacets.PriceBucket(boundaries.get(boundaries.size() - 1), null, count));
+                continue;
+            }
+
+            BigDecimal min = lowerBound.bigDecimalValue();
+            BigDecimal max = null;
+            for (int i = 0; i < boundaries.size() - 1; i++) {
+                if (boundaries.get(i).compareTo(min) == 0) {
+                    max = boundaries.get(i + 1);
+                    break;
+                }
+            }
+            buckets.add(new SearchFacets.PriceBucket(min, max, count));
+        }
+        return buckets;
+    }
+
+    /**
+     * Seek condition for documents positioned after the cursor.
+     * Nulls sort first ascending and last descending, matching MongoDB ordering.
+     */
+    private Criteria buildKeysetCriteria(SearchCursor cursor) {
+        String field = cursor.getSortField();
+        Object lastValue = cursor.getLastValue();
+        boolean descending = cursor.getDirection() == Sort.Direction.DESC;
+
+        Criteria sameValueNextId = descending
+                ? Criteria.where(field).is(lastValue).and("_id").lt(cursor.getLastId())
+                : Criteria.where(field).is(lastValue).and("_id").gt(cursor.getLastId());
+
+        if (lastValue == null) {
+            return descending
+                    ? sameValueNextId
+                    : new Criteria().orOperator(Criteria.where(field).ne(null), sameValueNextId);
+        }
 
-        // Create and return Page object for response
-        return new PageImpl<>(bookDTOs, pageable, total);
+        if (descending) {
+            return new Criteria().orOperator(
+                    Criteria.where(field).lt(lastValue),
+                    sameValueNextId,
+                    Criteria.where(field).is(null));
+        }
+
+        return new Criteria().orOperator(Criteria.where(field).gt(lastValue), sameValueNextId);
     }
 
     private String mapSortField(String sortBy) {
@@ -277,11 +650,10 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByAuthorId(authorId);
+        List<Product> products = ProductRepository.findByAuthorId(authorId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -304,11 +676,11 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByAuthorName(authorName);
+        List<Product> products = ProductRepository.findByAuthorName(
+                NormalizedNames.prefixPattern(authorName), PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -335,11 +707,10 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByPublisherId(publisherId);
+        List<Product> products = ProductRepository.findByPublisherId(publisherId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -362,11 +733,11 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByPublisherName(publisherName);
+        List<Product> products = ProductRepository.findByPublisherName(
+                NormalizedNames.prefixPattern(publisherName), PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -393,11 +764,10 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findBySeriesId(seriesId);
+        List<Product> products = ProductRepository.findBySeriesId(seriesId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -420,11 +790,10 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findBySeriesName(seriesName);
+        List<Product> products = ProductRepository.findBySeriesName(seriesName, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -452,27 +821,51 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
         }
 
         // Call repository method
-        List<Product> products = ProductRepository.findByCategoryId(categoryId);
+        List<Product> products = ProductRepository.findByCategoryId(categoryId, PageRequest.of(0, limit));
 
         // Convert to DTO list
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
 
+    /**
+     * Get a page of product cards in a category
+     */
+    @Override
+    public Page<ProductCardDTO> getProductCardsByCategory(String categoryId, Pageable pageable) {
+        log.debug("Getting product cards by category: {}, pageable: {}", categoryId, pageable);
+
+        if (!StringUtils.hasText(categoryId)) {
+            throw new IllegalArgumentException("Category ID is required");
+        }
+
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setCategoryIds(List.of(categoryId));
+        return searchProductCards(criteria, pageable);
+    }
+
     /**
      * Get products by multiple categories
      */
     @Override
     public List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds) {
-        log.debug("Getting products in categories: {}", categoryIds);
+        return getProductsInMultipleCategories(categoryIds, 50); // Default limit of 50
+    }
+
+    @Override
+    public List<ProductDTO> getProductsInMultipleCategories(List<String> categoryIds, int limit) {
+        log.debug("Getting {} products in categories: {}", limit, categoryIds);
 
         if (categoryIds == null || categoryIds.isEmpty()) {
             throw new IllegalArgumentException("Category IDs cannot be null or empty");
         }
 
-        List<Product> products = ProductRepository.findByMultipleCategories(categoryIds);
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+
+        List<Product> products = ProductRepository.findByMultipleCategories(categoryIds, PageRequest.of(0, limit));
 
         return products.stream()
                 .map(this::convertToDTO)
@@ -503,11 +896,11 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
 
         List<Product> products = ProductRepository.findByPriceRange(
                 minPrice != null ? minPrice : BigDecimal.ZERO,
-                maxPrice != null ? maxPrice : new BigDecimal("9999999")
+                maxPrice != null ? maxPrice : new BigDecimal("9999999"),
+                PageRequest.of(0, limit)
         );
 
         return products.stream()
-                .limit(limit)
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -517,9 +910,18 @@ public class ProductSearchServiceImpl extends AbstractProductService implements
      */
     @Override
     public List<ProductDTO> getDiscountedProducts() {
-        log.debug("Getting discounted products");
+        return getDiscountedProducts(50); // Default limit of 50
+    }
+
+    @Override
+    public List<ProductDTO> getDiscountedProducts(int limit) {
+        log.debug("Getting {} discounted products", limit);
+
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
 
-        List<Product> products = ProductRepository.findDiscountedProducts();
+        List<Product> products = ProductRepository.findDiscountedProducts(PageRequest.of(0, limit));
 
         return products.stream()
                 .map(this::convertToDTO)
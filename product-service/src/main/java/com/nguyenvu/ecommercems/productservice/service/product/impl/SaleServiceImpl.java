@@ -4,33 +4,77 @@ import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
 import com.nguyenvu.ecommercems.productservice.dto.ProductSalesStatsDTO;
 import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
 import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.SalesBucket;
+import com.nguyenvu.ecommercems.productservice.model.enums.SalesWindow;
 import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounter;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounters;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
 import com.nguyenvu.ecommercems.productservice.service.shared.exception.ProductServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @Transactional
 @Slf4j
 @RequiredArgsConstructor
 public class SaleServiceImpl extends AbstractProductService {
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final int MAX_SALE_ATTEMPTS = 3;
+
+    /**
+     * Sale operations remembered per bucket; enough to cover retries of recent sales
+     */
+    private static final int SALE_IDS_KEPT = 100;
+
     private final ProductMapper ProductMapper;
+    private final ProductDomainEventPublisher eventPublisher;
+    private final ShardedCounters counters;
+
+    // ===== SALES RECORDING =====
 
     public void recordSale(String bookId, Integer quantity) {
+        recordSales(Collections.singletonMap(bookId, quantity));
     }
 
     public void recordSale(String bookId, Integer quantity, String orderId, BigDecimal unitPrice) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        applySales(Collections.singletonMap(bookId, quantity), now);
 
+        BigDecimal totalAmount = unitPrice != null ? unitPrice.multiply(BigDecimal.valueOf(quantity)) : null;
+        eventPublisher.publishSalesRecordedEvent(bookId, orderId, quantity, unitPrice, totalAmount, null, now);
     }
 
-    public void recordSales(Map<String,Integer> saleDate) {
-
+    /**
+     * Record units sold for many products with one bulk write to the products and one to the day buckets,
+     * announced with a single batch event
+     * @param quantities units sold by product ID
+     */
+    public void recordSales(Map<String, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        applySales(quantities, now);
+        eventPublisher.publishSalesBatchRecordedEvent(quantities, now);
     }
 
     public List<ProductDTO> getBestsellers(int limit) {
@@ -41,7 +85,7 @@ public class SaleServiceImpl extends AbstractProductService {
                 throw new ProductServiceException("Limit must be greater than zero");
             }
 
-            List<Product> products = ProductRepository.findBestsellers();
+            List<Product> products = ProductRepository.findBestsellers(PageRequest.of(0, limit));
             return products.stream()
                     .map(ProductMapper::toDTO)
                     .toList();
@@ -59,7 +103,7 @@ public class SaleServiceImpl extends AbstractProductService {
                 throw new ProductServiceException("Limit must be greater than zero");
             }
 
-            List<Product> products = ProductRepository.findDailyBestsellers();
+            List<Product> products = ProductRepository.findDailyBestsellers(PageRequest.of(0, limit));
             return products.stream()
                     .map(ProductMapper::toDTO)
                     .toList();
@@ -78,7 +122,7 @@ public class SaleServiceImpl extends AbstractProductService {
                 throw new ProductServiceException("Limit must be greater than zero");
             }
 
-            List<Product> products = ProductRepository.findWeeklyBestsellers();
+            List<Product> products = ProductRepository.findWeeklyBestsellers(PageRequest.of(0, limit));
             return products.stream()
                     .map(ProductMapper::toDTO)
                     .toList();
@@ -97,7 +141,7 @@ public class SaleServiceImpl extends AbstractProductService {
                 throw new ProductServiceException("Limit must be greater than zero");
             }
 
-            List<Product> products = ProductRepository.findMonthlyBestsellers();
+            List<Product> products = ProductRepository.findMonthlyBestsellers(PageRequest.of(0, limit));
             return products.stream()
                     .map(ProductMapper::toDTO)
                     .toList();
@@ -116,7 +160,7 @@ public class SaleServiceImpl extends AbstractProductService {
                 throw new ProductServiceException("Limit must be greater than zero");
             }
 
-            List<Product> products = ProductRepository.findYearlyBestsellers();
+            List<Product> products = ProductRepository.findYearlyBestsellers(PageRequest.of(0, limit));
             return products.stream()
                     .map(ProductMapper::toDTO)
                     .toList();
@@ -127,6 +171,89 @@ public class SaleServiceImpl extends AbstractProductService {
         }
     }
 
+    // ===== HELPER METHODS =====
+
+    /**
+     * Increment the lifetime and rolling counters of every product and its bucket for today.
+     * Rolling counters are only ever incremented here; {@link SalesWindowRollover} subtracts
+     * buckets once their day leaves a window.
+     *
+     * Buckets are written first and both writes apply a sale operation at most once, so the
+     * pair is retried as a whole until the counters match the buckets.
+     */
+    private void applySales(Map<String, Integer> quantities, LocalDateTime soldAt) {
+        validateSales(quantities);
+        LocalDate day = soldAt.toLocalDate();
+        String saleId = UUID.randomUUID().toString();
+
+        Map<String, Map<String, Number>> deltas = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            Map<String, Number> counters = new HashMap<>();
+            counters.put("sales.totalSold", quantity.longValue());
+            for (SalesWindow window : SalesWindow.values()) {
+                counters.put(window.getField(), quantity);
+            }
+            deltas.put(productId, counters);
+        });
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeBuckets(quantities, day, saleId);
+                // Hot products take their increments on counter shards rather than on the product document
+                counters.incrementAllOnce(ShardedCounter.PRODUCT_SALES, deltas, saleId);
+                break;
+            } catch (DataAccessException e) {
+                if (attempt == MAX_SALE_ATTEMPTS) {
+                    log.error("Failed to record sale {} for {} products", saleId, quantities.size(), e);
+                    throw new ProductServiceException("Failed to record sales: " + e.getMessage(), e);
+                }
+                log.warn("Retrying sale {} after attempt {} failed: {}", saleId, attempt, e.getMessage());
+            }
+        }
+        log.debug("Recorded sales for {} products", quantities.size());
+    }
+
+    /**
+     * Add the sale to today's bucket of every product, skipping buckets that already hold it
+     */
+    private void writeBuckets(Map<String, Integer> quantities, LocalDate day, String saleId) {
+        BulkOperations buckets = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesBucket.class);
+        quantities.forEach((productId, quantity) -> buckets.upsert(
+                new Query(Criteria.where("_id").is(SalesBucket.idOf(productId, day)).and("saleIds").ne(saleId)),
+                new Update()
+                        .inc("quantity", quantity.longValue())
+                        .push("saleIds").slice(-SALE_IDS_KEPT).each(saleId)
+                        .setOnInsert("productId", productId)
+                        .setOnInsert("dayStart", SalesBucket.dayStartOf(day))));
+        try {
+            buckets.execute();
+        } catch (BulkOperationException e) {
+            // A bucket holding the sale does not match, so its upsert collides with it on _id
+            boolean onlyApplied = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_ERROR);
+            if (!onlyApplied) {
+                throw e;
+            }
+        }
+    }
+
+    private void validateSales(Map<String, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException("At least one sale is required");
+        }
+        if (quantities.size() > ProductServiceConstants.MAX_BULK_SALES_SIZE) {
+            throw new IllegalArgumentException("Cannot record sales for more than "
+                    + ProductServiceConstants.MAX_BULK_SALES_SIZE + " products at once");
+        }
+        quantities.forEach((productId, quantity) -> {
+            if (!StringUtils.hasText(productId)) {
+                throw new IllegalArgumentException("Product ID is required");
+            }
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity sold must be positive for product " + productId);
+            }
+        });
+    }
+
     public ProductSalesStatsDTO getSalesStats(String bookId) {
         log.info("getSalesStats for bookId: {}", bookId);
 
@@ -0,0 +1,182 @@
+package com.nguyenvu.ecommercems.productservice.service.product.impl;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.SalesBucket;
+import com.nguyenvu.ecommercems.productservice.model.enums.SalesWindow;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the rolling sales counters of products in step with the calendar.
+ *
+ * Recording a sale increments every window counter. Once a day, each day bucket that has
+ * left a window is subtracted from that window's counter and marked as such, so the job
+ * touches only products that sold on the expiring days and never rescans sales history.
+ * Buckets missed while the service was down are picked up by the next run. A lease
+ * document keeps concurrent instances from rolling the same buckets and records, per
+ * window, the day up to which every bucket is rolled out, so each run only scans the
+ * days that left the window since.
+ */
+@Component
+@Slf4j
+public class SalesWindowRollover {
+
+    static final String LOCK_COLLECTION = "scheduler_locks";
+
+    private static final String LOCK_ID = "sales-window-rollover";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(30);
+
+    /**
+     * Lease document field holding, per window, the start of the first day not yet fully rolled out
+     */
+    private static final String WATERMARKS_FIELD = "watermarks";
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductCacheService cacheService;
+    private final int batchSize;
+    private final Clock clock;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    public SalesWindowRollover(MongoTemplate mongoTemplate, ProductCacheService cacheService,
+                               @Value("${product.sales.rollover-batch-size:1000}") int batchSize) {
+        this(mongoTemplate, cacheService, batchSize, Clock.systemUTC());
+    }
+
+    SalesWindowRollover(MongoTemplate mongoTemplate, ProductCacheService cacheService, int batchSize, Clock clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Rollover batch size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.cacheService = cacheService;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${product.sales.rollover-cron:0 5 0 * * *}", zone = "UTC")
+    public void rollover() {
+        Document lease = acquireLease();
+        if (lease == null) {
+            log.debug("Sales window rollover is running on another instance");
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now(clock);
+            Document watermarks = lease.get(WATERMARKS_FIELD, Document.class);
+            for (SalesWindow window : SalesWindow.values()) {
+                Date watermark = watermarks != null ? watermarks.getDate(window.name()) : null;
+                long expired = expire(window, today, watermark != null ? watermark.toInstant() : null);
+                advanceWatermark(window, today);
+                if (expired > 0) {
+                    log.info("Rolled {} sales buckets out of the {} window", expired, window);
+                }
+            }
+        } catch (Exception e) {
+            // Unmarked buckets are retried on the next run; watermarks only move past finished windows
+            log.error("Sales window rollover failed", e);
+        } finally {
+            releaseLease();
+        }
+    }
+
+    /**
+     * Subtract every bucket that has left the window and was not yet subtracted from it
+     * @param watermark start of the first day that may still hold such buckets; null scans from the oldest
+     * @return number of buckets rolled out
+     */
+    long expire(SalesWindow window, LocalDate today, Instant watermark) {
+        Criteria dayStart = Criteria.where("dayStart").lt(windowStart(window, today));
+        if (watermark != null) {
+            dayStart.gte(watermark);
+        }
+        Query due = new Query(dayStart.and("expiredWindows").ne(window)).limit(batchSize);
+        due.fields().include("productId", "quantity");
+
+        long expired = 0;
+        List<SalesBucket> batch;
+        do {
+            batch = mongoTemplate.find(due, SalesBucket.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            // Marked before the products are decremented, so an interrupted run leaves counters high, never negative
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(batch.stream().map(SalesBucket::getId).toList())),
+                    new Update().addToSet("expiredWindows", window),
+                    SalesBucket.class);
+
+            BulkOperations products = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+            batch.forEach(bucket -> products.updateOne(
+                    new Query(Criteria.where("_id").is(bucket.getProductId())),
+                    new Update().inc(window.getField(), -bucket.getQuantity().intValue())));
+            products.execute();
+            cacheService.evictByIds(batch.stream().map(SalesBucket::getProductId).distinct().toList());
+
+            expired += batch.size();
+        } while (batch.size() == batchSize);
+        return expired;
+    }
+
+    private static Instant windowStart(SalesWindow window, LocalDate today) {
+        return SalesBucket.dayStartOf(today.minusDays(window.getDays() - 1L));
+    }
+
+    // ===== LEASE =====
+
+    /**
+     * The lease document once taken, or null while another instance holds it
+     */
+    private Document acquireLease() {
+        Instant now = clock.instant();
+        Query free = new Query(Criteria.where("_id").is(LOCK_ID).and("lockedUntil").lt(Date.from(now)));
+        Update take = new Update()
+                .set("lockedUntil", Date.from(now.plus(LOCK_LEASE)))
+                .set("owner", owner);
+        try {
+            return mongoTemplate.findAndModify(free, take, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class, LOCK_COLLECTION);
+        } catch (DuplicateKeyException e) {
+            // The lease document exists and is still held
+            return null;
+        }
+    }
+
+    /**
+     * Record that every bucket before the window's current start is rolled out of it
+     */
+    private void advanceWatermark(SalesWindow window, LocalDate today) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(LOCK_ID).and("owner").is(owner)),
+                new Update().max(WATERMARKS_FIELD + "." + window.name(), Date.from(windowStart(window, today))),
+                LOCK_COLLECTION);
+    }
+
+    private void releaseLease() {
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(LOCK_ID).and("owner").is(owner)),
+                    new Update().set("lockedUntil", Date.from(clock.instant())), LOCK_COLLECTION);
+        } catch (Exception e) {
+            log.warn("Failed to release sales rollover lease: {}", e.getMessage());
+        }
+    }
+}
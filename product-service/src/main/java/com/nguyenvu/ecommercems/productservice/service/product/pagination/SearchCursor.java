@@ -0,0 +1,28 @@
+package com.nguyenvu.ecommercems.productservice.service.product.pagination;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last document returned by a keyset (seek) search page.
+ *
+ * Values are kept in their stored Mongo representation so they can be
+ * compared against the sort field without another conversion.
+ */
+@Value
+@Builder
+public class SearchCursor {
+
+    String sortField;
+    Sort.Direction direction;
+    Object lastValue;
+    Object lastId;
+
+    /**
+     * Check whether this cursor was issued for the given sort order
+     */
+    public boolean matches(Sort.Order order) {
+        return sortField.equals(order.getProperty()) && direction == order.getDirection();
+    }
+}
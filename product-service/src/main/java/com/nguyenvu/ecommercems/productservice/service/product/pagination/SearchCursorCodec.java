@@ -0,0 +1,86 @@
+package com.nguyenvu.ecommercems.productservice.service.product.pagination;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes opaque cursor tokens for keyset pagination.
+ *
+ * A token is the Base64 (URL-safe) form of an extended JSON document holding
+ * the sort field, direction, last sort value and last {@code _id}, so BSON types
+ * such as dates and ObjectIds survive the round trip.
+ */
+@Component
+@Slf4j
+public class SearchCursorCodec {
+
+    private static final String FIELD = "f";
+    private static final String DIRECTION = "d";
+    private static final String VALUE = "v";
+    private static final String ID = "id";
+
+    /**
+     * Build a cursor token pointing after the given document
+     * @param order sort order of the page
+     * @param lastDocument last document of the page, in stored Mongo form
+     */
+    public String encode(Sort.Order order, Document lastDocument) {
+        Document token = new Document(FIELD, order.getProperty())
+                .append(DIRECTION, order.getDirection().name())
+                .append(VALUE, extractValue(lastDocument, order.getProperty()))
+                .append(ID, lastDocument.get("_id"));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public SearchCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("Cursor is required");
+        }
+
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            Document document = Document.parse(json);
+
+            if (!document.containsKey(FIELD) || !document.containsKey(DIRECTION) || document.get(ID) == null) {
+                throw new IllegalStateException("Cursor is missing required keys");
+            }
+
+            return SearchCursor.builder()
+                    .sortField(document.getString(FIELD))
+                    .direction(Sort.Direction.valueOf(document.getString(DIRECTION)))
+                    .lastValue(document.get(VALUE))
+                    .lastId(document.get(ID))
+                    .build();
+
+        } catch (Exception e) {
+            log.debug("Failed to decode cursor: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Resolve a dotted path (e.g. "pricing.salePrice") inside a document
+     */
+    private Object extractValue(Document document, String path) {
+        Object current = document;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Document nested)) {
+                return null;
+            }
+            current = nested.get(part);
+        }
+        return current;
+    }
+}
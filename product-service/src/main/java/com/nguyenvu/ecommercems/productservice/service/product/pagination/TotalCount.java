@@ -0,0 +1,22 @@
+package com.nguyenvu.ecommercems.productservice.service.product.pagination;
+
+import lombok.Value;
+
+/**
+ * Total number of matching products and whether it is exact.
+ * Inexact totals are estimates, lower bounds or cached values that may be stale.
+ */
+@Value
+public class TotalCount {
+
+    long value;
+    boolean exact;
+
+    public static TotalCount exact(long value) {
+        return new TotalCount(value, true);
+    }
+
+    public static TotalCount approximate(long value) {
+        return new TotalCount(value, false);
+    }
+}
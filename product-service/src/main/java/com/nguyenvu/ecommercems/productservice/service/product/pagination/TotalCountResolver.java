@@ -0,0 +1,115 @@
+package com.nguyenvu.ecommercems.productservice.service.product.pagination;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.CountStrategy;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Computes listing totals according to the configured {@link CountStrategy}.
+ *
+ * Counting is skipped whenever the page itself reveals the total (a partial page).
+ * Under {@link CountStrategy#ESTIMATED} only an unfiltered listing is answered from collection
+ * metadata. A filtered listing, the active-product listing included, is counted up to
+ * {@link ProductServiceConstants#ESTIMATED_COUNT_LIMIT} and reported as a lower bound past it.
+ */
+@Component
+@Slf4j
+public class TotalCountResolver {
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final CountStrategy strategy;
+
+    public TotalCountResolver(MongoTemplate mongoTemplate, CacheManager cacheManager,
+                              @Value("${product.pagination.count-strategy:EXACT}") CountStrategy strategy) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Wrap a fetched page with its total
+     * @param filter count query without paging, or null for the whole collection
+     * @param countKey stable key of the filter, used by the cached strategy
+     */
+    public <T> CountedPage<T> page(List<T> content, Pageable pageable, Query filter, String countKey) {
+        if (pageable.isUnpaged() || isPartialPage(content, pageable)) {
+            return new CountedPage<>(content, pageable, pageable.getOffset() + content.size(), true);
+        }
+
+        TotalCount total = count(filter, countKey);
+        return new CountedPage<>(content, pageable, total.getValue(), total.isExact());
+    }
+
+    /**
+     * Count products matching the filter
+     * @param filter count query without paging, or null for the whole collection
+     * @param countKey stable key of the filter, used by the cached strategy
+     */
+    public TotalCount count(Query filter, String countKey) {
+        return switch (strategy) {
+            case EXACT -> TotalCount.exact(exactCount(filter));
+            case ESTIMATED -> estimatedCount(filter);
+            case CACHED -> cachedCount(filter, countKey);
+        };
+    }
+
+    // ===== HELPER METHODS =====
+
+    private boolean isPartialPage(List<?> content, Pageable pageable) {
+        return content.size() < pageable.getPageSize() && (!content.isEmpty() || pageable.getOffset() == 0);
+    }
+
+    private long exactCount(Query filter) {
+        return filter == null
+                ? mongoTemplate.count(new Query(), Product.class)
+                : mongoTemplate.count(Query.of(filter).skip(0).limit(0), Product.class);
+    }
+
+    /**
+     * Collection metadata when unfiltered; otherwise stop counting at the limit and report a lower bound
+     */
+    private TotalCount estimatedCount(Query filter) {
+        if (filter == null) {
+            return TotalCount.approximate(mongoTemplate.estimatedCount(Product.class));
+        }
+
+        int limit = ProductServiceConstants.ESTIMATED_COUNT_LIMIT;
+        long counted = mongoTemplate.count(Query.of(filter).skip(0).limit(limit), Product.class);
+        return counted < limit ? TotalCount.exact(counted) : TotalCount.approximate(counted);
+    }
+
+    private TotalCount cachedCount(Query filter, String countKey) {
+        Cache cache = cacheManager.getCache(ProductServiceConstants.CACHE_SEARCH_COUNTS);
+        if (cache == null || countKey == null) {
+            return TotalCount.exact(exactCount(filter));
+        }
+
+        try {
+            Cache.ValueWrapper cached = cache.get(countKey);
+            if (cached != null && cached.get() instanceof Number total) {
+                return TotalCount.approximate(total.longValue());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read cached count {}: {}", countKey, e.getMessage());
+        }
+
+        long total = exactCount(filter);
+        try {
+            cache.put(countKey, total);
+        } catch (Exception e) {
+            log.warn("Failed to cache count {}: {}", countKey, e.getMessage());
+        }
+        return TotalCount.exact(total);
+    }
+}
@@ -0,0 +1,120 @@
+package com.nguyenvu.ecommercems.productservice.service.product.projection;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds Mongo field projections for product listings.
+ *
+ * Client supplied paths are validated against the {@link Product} document so
+ * arbitrary keys cannot be injected into the projection.
+ */
+@Component
+public class ProductFieldProjection {
+
+    /**
+     * Fields needed to render a product card
+     */
+    public static final List<String> CARD_FIELDS = List.of(
+            "sku", "type", "title", "subtitle", "seo.slug", "images.thumbnail",
+            "pricing", "rating.average", "rating.count", "availability");
+
+    private static final Set<String> PROJECTABLE_ROOTS = Arrays.stream(Product.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Check whether the criteria asks for a projection
+     */
+    public boolean isRequested(ProductSearchCriteria criteria) {
+        return criteria != null
+                && (!isEmpty(criteria.getIncludeFields()) || !isEmpty(criteria.getExcludeFields()));
+    }
+
+    /**
+     * Apply includeFields/excludeFields from the criteria to the query.
+     * Mongo cannot mix inclusion and exclusion, so includeFields wins and
+     * excludeFields only removes entries from it.
+     *
+     * @param requiredFields paths that must survive the projection (e.g. the sort key of a cursor)
+     * @throws IllegalArgumentException if a path is not a Product field
+     */
+    public void apply(Query query, ProductSearchCriteria criteria, String... requiredFields) {
+        if (!isRequested(criteria)) {
+            return;
+        }
+
+        Set<String> include = normalize(criteria.getIncludeFields());
+        Set<String> exclude = normalize(criteria.getExcludeFields());
+
+        if (!include.isEmpty()) {
+            include.removeAll(exclude);
+            include.addAll(Arrays.asList(requiredFields));
+            query.fields().include(collapse(include));
+            return;
+        }
+
+        exclude.removeIf(path -> Arrays.stream(requiredFields).anyMatch(required -> covers(path, required)));
+        if (!exclude.isEmpty()) {
+            query.fields().exclude(collapse(exclude));
+        }
+    }
+
+    /**
+     * Restrict the query to the card fields
+     * @param requiredFields extra paths to keep (e.g. the sort key of a cursor)
+     */
+    public void applyCard(Query query, String... requiredFields) {
+        Set<String> include = new LinkedHashSet<>(CARD_FIELDS);
+        include.addAll(Arrays.asList(requiredFields));
+        query.fields().include(collapse(include));
+    }
+
+    // ===== HELPER METHODS =====
+
+    private Set<String> normalize(List<String> paths) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (paths == null) {
+            return normalized;
+        }
+
+        for (String path : paths) {
+            if (!StringUtils.hasText(path)) {
+                continue;
+            }
+            String trimmed = path.trim();
+            String root = trimmed.split("\\.", 2)[0];
+            if (!PROJECTABLE_ROOTS.contains(root)) {
+                throw new IllegalArgumentException("Unknown projection field: " + trimmed);
+            }
+            normalized.add(trimmed);
+        }
+        return normalized;
+    }
+
+    /**
+     * Drop paths already covered by a parent path; Mongo rejects such collisions
+     */
+    private String[] collapse(Set<String> paths) {
+        return paths.stream()
+                .filter(path -> paths.stream().noneMatch(other -> !other.equals(path) && covers(other, path)))
+                .toArray(String[]::new);
+    }
+
+    private boolean covers(String parent, String path) {
+        return path.equals(parent) || path.startsWith(parent + ".");
+    }
+
+    private boolean isEmpty(List<String> list) {
+        return list == null || list.stream().noneMatch(StringUtils::hasText);
+    }
+}
@@ -17,8 +17,11 @@ import org.springframework.util.StringUtils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 @Component
 @Slf4j
@@ -33,11 +36,65 @@ public class ProductValidator {
      * Validate Product for creation
      */
     public void validateForCreate(ProductDTO Product) {
+        validateForCreate(Product, true);
+    }
+
+    /**
+     * Validate Product for creation
+     * @param checkExistingSku Look up the SKU; false when the unique index is trusted instead
+     */
+    public void validateForCreate(ProductDTO Product, boolean checkExistingSku) {
         log.debug("Validating Product for creation: {}", Product.getTitle());
         
         validateRequired(Product);
         validateBusinessRules(Product);
-        validateUniqueness(Product);
+        if (checkExistingSku) {
+            validateUniqueness(Product);
+        }
+    }
+
+    /**
+     * Validate a batch of products for creation.
+     * Duplicates inside the batch are found in memory and existing SKUs with one $in query,
+     * so the cost does not grow with round trips per row.
+     * @param checkExistingSkus Look up existing SKUs; false when the unique index is trusted instead
+     * @return error message by index in the batch, empty when every row is valid
+     */
+    public Map<Integer, String> validateBatchForCreate(List<ProductDTO> products, boolean checkExistingSkus) {
+        log.debug("Validating batch of {} products for creation", products.size());
+        
+        Map<Integer, String> errors = new TreeMap<>();
+        Map<String, Integer> firstIndexBySku = new HashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            ProductDTO Product = products.get(i);
+            try {
+                validateRequired(Product);
+                validateBusinessRules(Product);
+            } catch (ProductValidationException e) {
+                errors.put(i, e.getMessage());
+                continue;
+            }
+            
+            if (StringUtils.hasText(Product.getSku())) {
+                Integer first = firstIndexBySku.putIfAbsent(Product.getSku(), i);
+                if (first != null) {
+                    errors.put(i, "SKU '" + Product.getSku() + "' is duplicated in the batch (first at index " + first + ")");
+                }
+            }
+        }
+        
+        if (checkExistingSkus && !firstIndexBySku.isEmpty()) {
+            ProductRepository.findSkusIn(firstIndexBySku.keySet()).forEach(existing ->
+                errors.putIfAbsent(firstIndexBySku.get(existing.getSku()), duplicateSkuMessage(existing.getSku())));
+        }
+        return errors;
+    }
+
+    /**
+     * Message for a SKU that is already taken
+     */
+    public static String duplicateSkuMessage(String sku) {
+        return "Product with SKU '" + sku + "' already exists";
     }
 
     /**
@@ -266,18 +323,8 @@ public class ProductValidator {
      * Validate uniqueness for new products
      */
     private void validateUniqueness(ProductDTO Product) {
-        // Check SKU uniqueness
-        if (StringUtils.hasText(Product.getSku())) {
-            if (ProductRepository.existsBySku(Product.getSku())) {
-                throw new ProductValidationException("Product with SKU '" + Product.getSku() + "' already exists");
-            }
-        }
-        
-        // Check SKU uniqueness if provided
-        if (StringUtils.hasText(Product.getSku())) {
-            if (ProductRepository.existsBySku(Product.getSku())) {
-                throw new ProductValidationException("Product with SKU '" + Product.getSku() + "' already exists");
-            }
+        if (StringUtils.hasText(Product.getSku()) && ProductRepository.existsBySku(Product.getSku())) {
+            throw new ProductValidationException(duplicateSkuMessage(Product.getSku()));
         }
     }
 
@@ -285,18 +332,9 @@ public class ProductValidator {
      * Validate uniqueness for updates (excluding current Product)
      */
     private void validateUniquenessForUpdate(String currentBookId, ProductDTO Product) {
-        // Check SKU uniqueness (excluding current Product)
-        if (StringUtils.hasText(Product.getSku())) {
-            if (ProductRepository.existsBySkuAndIdNot(Product.getSku(), currentBookId)) {
-                throw new ProductValidationException("Product with SKU '" + Product.getSku() + "' already exists");
-            }
-        }
-        
-        // SKU typically shouldn't change in updates
-        if (StringUtils.hasText(Product.getSku())) {
-            if (ProductRepository.existsBySkuAndIdNot(Product.getSku(), currentBookId)) {
-                throw new ProductValidationException("Product with SKU '" + Product.getSku() + "' already exists");
-            }
+        if (StringUtils.hasText(Product.getSku())
+                && ProductRepository.existsBySkuAndIdNot(Product.getSku(), currentBookId)) {
+            throw new ProductValidationException(duplicateSkuMessage(Product.getSku()));
         }
     }
 
@@ -6,15 +6,16 @@ import com.nguyenvu.ecommercems.productservice.dto.RatingStatsDTO;
 import com.nguyenvu.ecommercems.productservice.exception.ProductNotFoundException;
 import com.nguyenvu.ecommercems.productservice.model.Product;
 import com.nguyenvu.ecommercems.productservice.model.embedded.Rating;
-import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
 import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
-import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounter;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Service for handling Product ratings
@@ -24,26 +25,31 @@ import java.math.BigDecimal;
 @RequiredArgsConstructor
 @Transactional
 public class RatingService {
+    private static final String DISTRIBUTION_PREFIX = "rating.distribution.";
+
     private final ProductRepository productRepository;
-    private final ProductCacheService cacheService;
+    private final ShardedCounters counters;
 
     public ApiResponse addRating(String productId, ProductRatingRequest request) {
         log.info("Add rating for product: {}", productId);
 
         try {
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ProductNotFoundException(productId));
-
-            if (product.getStatus() != ProductStatus.ACTIVE) {
-                return ApiResponse.error("Product is not active", "Cannot add rating to inactive product");
+            Double value = request.getRating();
+            if (value == null || value < 1 || value > 5) {
+                return ApiResponse.error("Invalid rating", "Rating must be between 1 and 5");
             }
 
-            updateProductRating(product, request.getRating());
+            // An indexed existence check, not a load of the whole product
+            if (!productRepository.existsActiveById(productId)) {
+                return ApiResponse.error("Product is not active", "Cannot add rating to missing or inactive product");
+            }
 
-            productRepository.save(product);
-            cacheService.evictById(productId);
+            // No read-modify-write. In DIRECT mode one pipeline update increments the product's aggregate and
+            // recomputes its average; in SHARDED mode the rating lands in a counter shard and reaches the
+            // product, average included, when the shard is folded. Stats add unfolded shards on read.
+            counters.increment(ShardedCounter.PRODUCT_RATINGS, productId, ratingDeltas(value));
 
-            return ApiResponse.success("Rating added successfully", product.getRating());
+            return ApiResponse.success("Rating added successfully", Map.of("userRating", value));
 
         } catch (Exception e) {
             log.error("Error adding rating for product {}: {}", productId, e.getMessage());
@@ -55,43 +61,68 @@ public class RatingService {
         log.info("Get rating stats for product: {}", productId);
 
         try {
-            Product product = productRepository.findById(productId)
+            Product product = productRepository.findRatingById(productId)
                     .orElseThrow(() -> new ProductNotFoundException(productId));
 
-            Rating rating = product.getRating();
+            Rating rating = product.getRating() != null ? product.getRating() : new Rating();
+            Map<String, Number> pending = counters.pending(ShardedCounter.PRODUCT_RATINGS, productId);
+
+            // Ratings not folded into the product yet are added on read
+            int count = (rating.getCount() != null ? rating.getCount() : 0)
+                    + pending.getOrDefault("rating.count", 0).intValue();
+            Map<String, Integer> distribution = new HashMap<>(rating.getDistribution());
+            pending.forEach((field, delta) -> {
+                if (field.startsWith(DISTRIBUTION_PREFIX)) {
+                    distribution.merge(field.substring(DISTRIBUTION_PREFIX.length()), delta.intValue(), Integer::sum);
+                }
+            });
+            Rating current = Rating.builder()
+                    .count(count)
+                    .sum(ratingSum(rating) + pending.getOrDefault("rating.sum", 0).doubleValue())
+                    .distribution(distribution)
+                    .build();
+            Map<String, Double> percentages = current.getPercentages();
 
             return RatingStatsDTO.builder()
-                    .averageRating(rating.getAverage())
-                    .totalRatings(rating.getCount())
+                    .averageRating(count > 0 ? current.getSum() / count : 0.0)
+                    .totalRatings(count)
+                    .fiveStar(distribution.getOrDefault("5", 0))
+                    .fourStar(distribution.getOrDefault("4", 0))
+                    .threeStar(distribution.getOrDefault("3", 0))
+                    .twoStar(distribution.getOrDefault("2", 0))
+                    .oneStar(distribution.getOrDefault("1", 0))
+                    .percentageFiveStar(percentages.get("5"))
+                    .percentageFourStar(percentages.get("4"))
+                    .percentageThreeStar(percentages.get("3"))
+                    .percentageTwoStar(percentages.get("2"))
+                    .percentageOneStar(percentages.get("1"))
                     .build();
 
         } catch (Exception e) {
             log.error("Error getting rating stats for product {}: {}", productId, e.getMessage());
             return RatingStatsDTO.builder()
-                    .averageRating(0)
+                    .averageRating(0.0)
                     .totalRatings(0)
                     .build();
         }
     }
 
-    private void updateProductRating(Product product, Double newRating) {
-        Rating currentRating = product.getRating();
-
-        if (currentRating == null) {
-            // First rating
-            currentRating = Rating.builder()
-                    .average(newRating)
-                    .count(1)
-                    .build();
-        } else {
-            // Calculate new average
-            int newCount = currentRating.getCount() + 1;
-            double newAverage = ((currentRating.getAverage() * currentRating.getCount()) + newRating) / newCount;
+    /**
+     * Increments one rating makes to the product's aggregate
+     */
+    static Map<String, Number> ratingDeltas(double value) {
+        Map<String, Number> deltas = new HashMap<>();
+        deltas.put("rating.count", 1);
+        deltas.put("rating.sum", value);
+        deltas.put(DISTRIBUTION_PREFIX + Math.round(value), 1);
+        return deltas;
+    }
 
-            currentRating.setCount(newCount);
-            currentRating.setAverage(newAverage);
+    private static double ratingSum(Rating rating) {
+        if (rating.getSum() != null) {
+            return rating.getSum();
         }
-
-        product.setRating(currentRating);
+        // Products rated before the sum was stored
+        return rating.getAverage() != null && rating.getCount() != null ? rating.getAverage() * rating.getCount() : 0.0;
     }
 }
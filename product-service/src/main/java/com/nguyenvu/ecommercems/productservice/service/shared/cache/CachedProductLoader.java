@@ -0,0 +1,320 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through access to the product by-id cache.
+ *
+ * Hits are served from the cache; all misses are loaded with a single
+ * {@code $in} query and written back. Near-cached entries of a {@link TwoTierCache}
+ * are checked first. Against Redis, lookups are one MGET and the
+ * backfill one pipelined round trip, using the cache's own key prefix, serializer
+ * and TTL so entries stay interchangeable with {@code @Cacheable} ones. Cache
+ * failures degrade to Mongo reads. Backfills are dropped when the near cache saw an
+ * eviction, local or broadcast, after the load started.
+ *
+ * Concurrent misses for the same product share one in-flight Mongo load, so an
+ * eviction of a hot key costs one read per node rather than one per request.
+ * Redis entries close to expiry are refreshed early with probability growing as
+ * the expiry approaches (XFetch), so hot entries are rebuilt before they lapse.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CachedProductLoader {
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    /**
+     * Loads in progress on this node; concurrent misses for the same ID wait for the same load
+     */
+    private final Map<String, CompletableFuture<ProductDTO>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Smoothed duration of a Mongo load, the recompute cost in the early refresh decision
+     */
+    private volatile long loadMillisEstimate;
+
+    /**
+     * Larger values refresh earlier; 0 disables early refresh
+     */
+    @Value("${product.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta = 1.0;
+
+    /**
+     * Product by ID through the cache
+     */
+    public Optional<ProductDTO> get(String id) {
+        List<ProductDTO> products = getAll(List.of(id));
+        return products.isEmpty() ? Optional.empty() : Optional.of(products.get(0));
+    }
+
+    /**
+     * Products for the given IDs in request order; unknown IDs are skipped
+     */
+    public List<ProductDTO> getAll(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, ProductDTO> found = readAll(distinctIds);
+        List<String> misses = distinctIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+
+        if (!misses.isEmpty()) {
+            found.putAll(loadShared(misses));
+        }
+
+        log.debug("Loaded {} products, {} from cache", found.size(), distinctIds.size() - misses.size());
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Invalidation counter of this node's by-id near cache; read it before loading products
+     * that are later passed to {@link #putAll}. Always 0 without a near cache.
+     */
+    public long generation() {
+        return byIdCache() instanceof TwoTierCache twoTier ? twoTier.getNear().generation() : 0;
+    }
+
+    /**
+     * Backfill the by-id cache with products loaded after {@code observedGeneration} was read.
+     * Nothing is written when an eviction was seen since, so a load that raced a write
+     * cannot put the old state back into either tier.
+     */
+    public void putAll(Collection<ProductDTO> products, long observedGeneration) {
+        Cache cache = byIdCache();
+        if (cache == null || products.isEmpty()) {
+            return;
+        }
+
+        if (cache instanceof TwoTierCache twoTier) {
+            NearCache near = twoTier.getNear();
+            if (near.generation() != observedGeneration) {
+                log.debug("Skipping backfill of {} products loaded before an eviction", products.size());
+                return;
+            }
+            products.forEach(product -> near.putIfUnchanged(product.getId(), product, observedGeneration));
+            cache = twoTier.getRemote();
+        }
+
+        try {
+            if (cache instanceof RedisCache redisCache) {
+                RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (ProductDTO product : products) {
+                        byte[] key = RedisCacheKeys.of(redisCache, product.getId());
+                        Duration ttl = config.getTtlFunction().getTimeToLive(product.getId(), product);
+                        Expiration expiration = ttl.isZero() || ttl.isNegative()
+                                ? Expiration.persistent()
+                                : Expiration.from(ttl);
+                        byte[] value = ByteUtils.getBytes(config.getValueSerializationPair().write(product));
+                        connection.stringCommands().set(key, value, expiration, RedisStringCommands.SetOption.upsert());
+                    }
+                    return null;
+                });
+            } else {
+                Cache target = cache;
+                products.forEach(product -> target.put(product.getId(), product));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill product cache: {}", e.getMessage());
+        }
+    }
+
+    // ===== HELPER METHODS =====
+
+    /**
+     * Load products from Mongo, sharing loads already in progress for the same IDs
+     */
+    private Map<String, ProductDTO> loadShared(List<String> ids) {
+        Map<String, CompletableFuture<ProductDTO>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<ProductDTO>> joined = new LinkedHashMap<>();
+        for (String id : ids) {
+            CompletableFuture<ProductDTO> load = new CompletableFuture<>();
+            CompletableFuture<ProductDTO> inProgress = inFlight.putIfAbsent(id, load);
+            if (inProgress == null) {
+                owned.put(id, load);
+            } else {
+                joined.put(id, inProgress);
+            }
+        }
+
+        Map<String, ProductDTO> loaded = new HashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                long generation = generation();
+                long started = System.nanoTime();
+                productRepository.findByIdIn(new ArrayList<>(owned.keySet())).stream()
+                        .map(productMapper::toDTO)
+                        .forEach(product -> loaded.put(product.getId(), product));
+                recordLoadTime(System.nanoTime() - started);
+
+                // Cache before releasing waiters so later requests hit instead of loading again
+                putAll(loaded.values(), generation);
+                owned.forEach((id, load) -> load.complete(loaded.get(id)));
+            } catch (RuntimeException e) {
+                owned.values().forEach(load -> load.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        // Owned loads complete before waiting on others, so two callers never wait on each other
+        joined.forEach((id, load) -> {
+            ProductDTO product = load.join();
+            if (product != null) {
+                loaded.put(id, product);
+            }
+        });
+        return loaded;
+    }
+
+    private void recordLoadTime(long nanos) {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos));
+        long previous = loadMillisEstimate;
+        loadMillisEstimate = previous == 0 ? millis : (previous * 7 + millis) / 8;
+    }
+
+    /**
+     * XFetch: refresh when the load cost, scaled by an exponential random factor, reaches past the expiry
+     */
+    boolean shouldRefreshEarly(long remainingTtlMillis) {
+        if (remainingTtlMillis < 0 || earlyRefreshBeta <= 0 || loadMillisEstimate == 0) {
+            return false;
+        }
+        double gap = loadMillisEstimate * earlyRefreshBeta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= remainingTtlMillis;
+    }
+
+    private Cache byIdCache() {
+        return cacheManager.getCache(ProductServiceConstants.CACHE_PRODUCT_BY_ID);
+    }
+
+    /**
+     * Cached products by ID, from the near cache first and then the remote one in one round trip
+     */
+    private Map<String, ProductDTO> readAll(List<String> ids) {
+        Map<String, ProductDTO> found = new HashMap<>();
+        Cache cache = byIdCache();
+        if (cache == null) {
+            return found;
+        }
+
+        NearCache near = null;
+        long generation = 0;
+        if (cache instanceof TwoTierCache twoTier) {
+            near = twoTier.getNear();
+            generation = near.generation();
+            for (String id : ids) {
+                if (near.get(id) instanceof ProductDTO product) {
+                    found.put(id, product);
+                }
+            }
+            cache = twoTier.getRemote();
+        }
+
+        List<String> remaining = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (remaining.isEmpty()) {
+            return found;
+        }
+
+        Map<String, ProductDTO> remoteHits = readRemote(cache, remaining);
+        if (near != null) {
+            NearCache nearCache = near;
+            long observed = generation;
+            remoteHits.forEach((id, product) -> nearCache.putIfUnchanged(id, product, observed));
+        }
+        found.putAll(remoteHits);
+        return found;
+    }
+
+    /**
+     * Products found in a shared cache; empty when it is unavailable
+     */
+    private Map<String, ProductDTO> readRemote(Cache cache, List<String> ids) {
+        Map<String, ProductDTO> found = new HashMap<>();
+        try {
+            if (cache instanceof RedisCache redisCache) {
+                byte[][] keys = ids.stream()
+                        .map(id -> RedisCacheKeys.of(redisCache, id))
+                        .toArray(byte[][]::new);
+                // One round trip: the values and their remaining TTLs
+                List<Object> replies = stringRedisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+                    connection.openPipeline();
+                    connection.stringCommands().mGet(keys);
+                    for (byte[] key : keys) {
+                        connection.keyCommands().pTtl(key);
+                    }
+                    return connection.closePipeline();
+                });
+                if (replies == null || replies.size() != ids.size() + 1) {
+                    return found;
+                }
+
+                @SuppressWarnings("unchecked")
+                List<byte[]> values = (List<byte[]>) replies.get(0);
+                RedisSerializationContext.SerializationPair<Object> valuePair =
+                        redisCache.getCacheConfiguration().getValueSerializationPair();
+                for (int i = 0; values != null && i < ids.size(); i++) {
+                    byte[] value = values.get(i);
+                    if (value == null || !(valuePair.read(ByteBuffer.wrap(value)) instanceof ProductDTO product)) {
+                        continue;
+                    }
+                    if (replies.get(i + 1) instanceof Long ttl && shouldRefreshEarly(ttl)) {
+                        log.debug("Refreshing product {} early, {} ms before expiry", ids.get(i), ttl);
+                        continue;
+                    }
+                    found.put(ids.get(i), product);
+                }
+            } else {
+                ids.forEach(id -> {
+                    ProductDTO cached = cache.get(id, ProductDTO.class);
+                    if (cached != null) {
+                        found.put(id, cached);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read products from cache: {}", e.getMessage());
+            found.clear();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One cached page of search results: product IDs in result order plus the total.
+ * Items are hydrated from the by-id cache; the generations it was computed under
+ * decide whether it is still valid.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedSearchPage {
+    private List<String> productIds;
+    private long totalElements;
+    private boolean totalExact;
+    private Map<String, Long> generations;
+}
@@ -0,0 +1,154 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process LRU cache with a per-entry time to live.
+ *
+ * The TTL bounds how long a node can serve a value after an invalidation message
+ * was lost. Loads from the remote tier are stored with {@link #putIfUnchanged} so a
+ * value read before a concurrent invalidation is not cached after it.
+ *
+ * Keys are spread over independently locked segments so concurrent readers do not
+ * contend on one lock. Each segment evicts its own least recently used entry, which
+ * makes the LRU order approximate across segments; small caches use a single segment.
+ */
+public class NearCache {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final AtomicLong generation = new AtomicLong();
+
+    public NearCache(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Near cache size must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS,
+                Integer.highestOneBit(maxEntries / MIN_ENTRIES_PER_SEGMENT)));
+        int perSegment = (maxEntries + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Cached value, or null when absent or expired
+     */
+    public Object get(String key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() >= 0) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    public void put(String key, Object value) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * Store a value loaded elsewhere unless an invalidation happened since {@code observedGeneration}
+     */
+    public void putIfUnchanged(String key, Object value, long observedGeneration) {
+        Segment segment = segmentFor(key);
+        // Evictions of this key bump the generation under the same lock, so they cannot slip in between
+        synchronized (segment) {
+            if (generation.get() == observedGeneration) {
+                segment.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    /**
+     * Invalidation counter to read before loading from the remote tier
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void evict(String key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            generation.incrementAndGet();
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * Evict several keys as one invalidation
+     */
+    public void evictAll(Collection<String> keys) {
+        generation.incrementAndGet();
+        for (String key : keys) {
+            Segment segment = segmentFor(key);
+            synchronized (segment) {
+                segment.remove(key);
+            }
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * Access-ordered map dropping its eldest entry past capacity; guarded by its own monitor
+     */
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int maxEntries;
+
+        Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.nguyenvu.ecommercems.productservice.service.shared.cache;
 
+import com.nguyenvu.ecommercems.productservice.model.Product;
+
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,6 +19,12 @@ public interface ProductCacheService {
      */
     void evictById(String productId);
     
+    /**
+     * Evict the cache entries of several products as one batch
+     * @param productIds Product IDs to evict from cache
+     */
+    void evictByIds(Collection<String> productIds);
+    
     /**
      * Evict cache entry by SKU
      * @param sku SKU to evict from cache
@@ -33,6 +43,28 @@ public interface ProductCacheService {
      */
     void evictSearchCaches();
     
+    /**
+     * Evict only the cached search pages that could contain a product
+     * in one of the given categories or at one of the given sale prices
+     * @param categoryIds Category IDs before and after the change
+     * @param salePrices Sale prices before and after the change
+     */
+    void evictSearchResults(Collection<String> categoryIds, Collection<BigDecimal> salePrices);
+    
+    /**
+     * Evict the cached search pages that could contain the given product state
+     * @param product Product as stored before or after the change
+     */
+    default void evictSearchResults(Product product) {
+        List<String> categoryIds = product.getCategories() != null
+                ? product.getCategories().stream().map(category -> category.getCategoryId()).toList()
+                : List.of();
+        List<BigDecimal> salePrices = product.getPricing() != null && product.getPricing().getSalePrice() != null
+                ? List.of(product.getPricing().getSalePrice())
+                : List.of();
+        evictSearchResults(categoryIds, salePrices);
+    }
+    
     /**
      * Evict all Product-related caches
      * Use sparingly as this can impact performance
@@ -0,0 +1,24 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.util.ByteUtils;
+
+/**
+ * Keys under which a {@link RedisCache} stores its entries, for batched reads and
+ * deletes issued directly against Redis
+ */
+public final class RedisCacheKeys {
+
+    private RedisCacheKeys() {
+    }
+
+    /**
+     * Key of an entry, matching {@link RedisCache}'s own prefix and key serializer
+     */
+    public static byte[] of(RedisCache cache, String key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String prefixed = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(prefixed));
+    }
+}
@@ -0,0 +1,153 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Canonical cache key for a search request.
+ *
+ * Equivalent requests hash to the same key: blank values and empty lists are
+ * dropped, list filters are de-duplicated and sorted, case-insensitive text is
+ * lower-cased, and the resolved sort replaces the raw sortBy/sortDirection.
+ */
+public final class SearchCriteriaKey {
+
+    private static final ObjectMapper CANONICAL_JSON = new ObjectMapper();
+
+    /**
+     * Text matched case-insensitively ($text or regex with the "i" option)
+     */
+    private static final Set<String> CASE_INSENSITIVE_FIELDS = Set.of(
+            "searchText", "nameContains", "descriptionContains", "categoryName",
+            "manufacturerName", "supplierName", "seriesName");
+
+    /**
+     * Lists whose element order changes the result
+     */
+    private static final Set<String> ORDERED_LIST_FIELDS = Set.of("multiSort");
+
+    /**
+     * Replaced by the resolved sort, or irrelevant to a page of results
+     */
+    private static final Set<String> IGNORED_FIELDS = Set.of(
+            "sortBy", "sortDirection", "cursor", "priceFacetBoundaries");
+
+    private static final List<Field> CRITERIA_FIELDS = Arrays.stream(ProductSearchCriteria.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .filter(field -> !IGNORED_FIELDS.contains(field.getName()))
+            .peek(field -> field.setAccessible(true))
+            .toList();
+
+    private SearchCriteriaKey() {
+        // Utility class
+    }
+
+    /**
+     * SHA-256 of the canonical criteria, sort and page
+     */
+    public static String of(ProductSearchCriteria criteria, Sort.Order order, Pageable pageable) {
+        return sha256(canonicalForm(criteria, order, pageable));
+    }
+
+    /**
+     * SHA-256 of the canonical filter only, shared by every page and sort of a search
+     */
+    public static String forCount(ProductSearchCriteria criteria) {
+        Map<String, Object> canonical = canonicalCriteria(criteria);
+        canonical.remove("includeTotalCount");
+        canonical.remove("includeFields");
+        canonical.remove("excludeFields");
+        canonical.remove("multiSort");
+        canonical.put("~count", true);
+        return sha256(toJson(canonical));
+    }
+
+    static String canonicalForm(ProductSearchCriteria criteria, Sort.Order order, Pageable pageable) {
+        Map<String, Object> canonical = canonicalCriteria(criteria);
+        canonical.put("~sort", order.getProperty() + ":" + order.getDirection().name().toLowerCase());
+        canonical.put("~page", pageable.getPageNumber());
+        canonical.put("~size", pageable.getPageSize());
+        if (pageable.getSort().isSorted()) {
+            canonical.put("~pageSort", pageable.getSort().toString());
+        }
+        return toJson(canonical);
+    }
+
+    // ===== HELPER METHODS =====
+
+    private static Map<String, Object> canonicalCriteria(ProductSearchCriteria criteria) {
+        Map<String, Object> canonical = new TreeMap<>();
+        for (Field field : CRITERIA_FIELDS) {
+            Object value = normalize(field.getName(), readField(field, criteria));
+            if (value != null) {
+                canonical.put(field.getName(), value);
+            }
+        }
+        return canonical;
+    }
+
+    private static String toJson(Map<String, Object> canonical) {
+        try {
+            return CANONICAL_JSON.writeValueAsString(canonical);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize search criteria", e);
+        }
+    }
+
+    private static Object normalize(String fieldName, Object value) {
+        if (value instanceof Collection<?> values) {
+            List<String> items = values.stream()
+                    .map(item -> normalize(fieldName, item))
+                    .filter(Objects::nonNull)
+                    .map(Object::toString)
+                    .distinct()
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+            if (!ORDERED_LIST_FIELDS.contains(fieldName)) {
+                Collections.sort(items);
+            }
+            return items.isEmpty() ? null : items;
+        }
+        if (value instanceof String text) {
+            String trimmed = text.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            return CASE_INSENSITIVE_FIELDS.contains(fieldName) ? trimmed.toLowerCase(Locale.ROOT) : trimmed;
+        }
+        if (value instanceof BigDecimal number) {
+            return number.stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private static Object readField(Field field, ProductSearchCriteria criteria) {
+        try {
+            return field.get(criteria);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read search criteria field " + field.getName(), e);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.CountedPage;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Cache of advanced-search pages keyed by {@link SearchCriteriaKey}.
+ *
+ * Entries hold product IDs and the total only; items are hydrated through
+ * {@link CachedProductLoader}. Invalidation is selective via generation counters:
+ * a page filtered by category depends on those categories' counters, a page
+ * filtered by price on the counters of the price bands it spans, and any other
+ * page on the global counter. A product change bumps the counters of its
+ * categories, its price band and the global one, so only pages that could
+ * contain the product are invalidated.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private static final String GLOBAL_GENERATION = "all";
+
+    /**
+     * Price bands double in width: band 0 is price <= 0, band n covers (2^(n-1), 2^n]
+     */
+    private static final int MAX_PRICE_BAND = 40;
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CachedProductLoader productLoader;
+
+    // ===== READ OPERATIONS =====
+
+    /**
+     * Serve a page from the cache, or run the search and cache its IDs
+     */
+    public Page<ProductDTO> getOrSearch(ProductSearchCriteria criteria, Sort.Order order, Pageable pageable,
+                                        Supplier<Page<ProductDTO>> search) {
+        Cache cache = cacheManager.getCache(ProductServiceConstants.CACHE_SEARCH_RESULTS);
+        Map<String, Long> generations = currentGenerations(dependencies(criteria));
+        if (cache == null || generations == null) {
+            return search.get();
+        }
+
+        String key = SearchCriteriaKey.of(criteria, order, pageable);
+        CachedSearchPage cached = readCached(cache, key);
+        if (cached != null && generations.equals(cached.getGenerations())) {
+            List<ProductDTO> items = productLoader.getAll(cached.getProductIds());
+            if (items.size() == cached.getProductIds().size()) {
+                log.debug("Search cache hit for key {}", key);
+                return new CountedPage<>(items, pageable, cached.getTotalElements(), cached.isTotalExact());
+            }
+        }
+
+        // Generations were read before searching, so a concurrent change leaves this entry already stale
+        long productGeneration = productLoader.generation();
+        Page<ProductDTO> page = search.get();
+        productLoader.putAll(page.getContent(), productGeneration);
+        try {
+            cache.put(key, CachedSearchPage.builder()
+                    .productIds(page.getContent().stream()
+                            .map(ProductDTO::getId)
+                            .collect(ArrayList::new, ArrayList::add, ArrayList::addAll))
+                    .totalElements(page.getTotalElements())
+                    .totalExact(!(page instanceof CountedPage<?> counted) || counted.isTotalExact())
+                    .generations(generations)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to cache search page {}: {}", key, e.getMessage());
+        }
+        return page;
+    }
+
+    // ===== INVALIDATION =====
+
+    /**
+     * Invalidate pages that could contain a product in any of the given categories or at any of the given prices
+     */
+    public void invalidate(Collection<String> categoryIds, Collection<BigDecimal> salePrices) {
+        Set<String> bumped = new LinkedHashSet<>();
+        bumped.add(GLOBAL_GENERATION);
+        categoryIds.stream().filter(Objects::nonNull).forEach(id -> bumped.add(categoryGeneration(id)));
+        salePrices.stream().filter(Objects::nonNull).forEach(price -> bumped.add(priceGeneration(priceBand(price))));
+
+        try {
+            bumped.forEach(name -> stringRedisTemplate.opsForValue()
+                    .increment(ProductServiceConstants.SEARCH_GENERATION_KEY_PREFIX + name));
+            log.debug("Bumped search generations {}", bumped);
+        } catch (Exception e) {
+            // Entries left behind expire with the cache TTL
+            log.error("Failed to invalidate search results {}: {}", bumped, e.getMessage());
+        }
+    }
+
+    // ===== HELPER METHODS =====
+
+    /**
+     * Generation counters a page for these criteria depends on
+     */
+    static List<String> dependencies(ProductSearchCriteria criteria) {
+        List<String> dependencies = new ArrayList<>();
+        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
+            criteria.getCategoryIds().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted()
+                    .forEach(id -> dependencies.add(categoryGeneration(id)));
+        }
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            int from = criteria.getMinPrice() != null ? priceBand(criteria.getMinPrice()) : 0;
+            int to = criteria.getMaxPrice() != null ? priceBand(criteria.getMaxPrice()) : MAX_PRICE_BAND;
+            for (int band = from; band <= to; band++) {
+                dependencies.add(priceGeneration(band));
+            }
+        }
+        if (dependencies.isEmpty()) {
+            dependencies.add(GLOBAL_GENERATION);
+        }
+        return dependencies;
+    }
+
+    static int priceBand(BigDecimal price) {
+        if (price.signum() <= 0) {
+            return 0;
+        }
+        BigDecimal upper = BigDecimal.ONE;
+        int band = 1;
+        while (price.compareTo(upper) > 0 && band < MAX_PRICE_BAND) {
+            upper = upper.add(upper);
+            band++;
+        }
+        return band;
+    }
+
+    private static String categoryGeneration(String categoryId) {
+        return "category:" + categoryId;
+    }
+
+    private static String priceGeneration(int band) {
+        return "price:" + band;
+    }
+
+    /**
+     * Current counter values, or null when Redis is unavailable and caching should be bypassed
+     */
+    private Map<String, Long> currentGenerations(List<String> dependencies) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(dependencies.stream()
+                    .map(name -> ProductServiceConstants.SEARCH_GENERATION_KEY_PREFIX + name)
+                    .toList());
+            Map<String, Long> generations = new HashMap<>();
+            for (int i = 0; i < dependencies.size(); i++) {
+                String value = values != null ? values.get(i) : null;
+                generations.put(dependencies.get(i), value != null ? Long.parseLong(value) : 0L);
+            }
+            return generations;
+        } catch (Exception e) {
+            log.warn("Failed to read search generations: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private CachedSearchPage readCached(Cache cache, String key) {
+        try {
+            return cache.get(key, CachedSearchPage.class);
+        } catch (Exception e) {
+            log.warn("Failed to read search page {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+}
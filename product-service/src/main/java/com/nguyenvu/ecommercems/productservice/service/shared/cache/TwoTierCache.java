@@ -0,0 +1,127 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link NearCache} in front of a shared remote cache.
+ *
+ * Reads try the near cache first and fill it from the remote one. Evictions and
+ * clears apply to both tiers and are broadcast so other nodes drop their near
+ * copies. Near-cached values are shared between callers and must not be mutated.
+ */
+public class TwoTierCache implements Cache {
+
+    private final Cache remote;
+    private final NearCache near;
+    private final BiConsumer<String, Collection<String>> invalidationPublisher;
+
+    /**
+     * @param invalidationPublisher Broadcasts (cache name, keys) after an eviction; no keys means clear
+     */
+    public TwoTierCache(Cache remote, NearCache near, BiConsumer<String, Collection<String>> invalidationPublisher) {
+        this.remote = remote;
+        this.near = near;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    public NearCache getNear() {
+        return near;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = String.valueOf(key);
+        Object cached = near.get(nearKey);
+        if (cached != null) {
+            return new SimpleValueWrapper(cached);
+        }
+
+        long generation = near.generation();
+        ValueWrapper loaded = remote.get(key);
+        if (loaded != null && loaded.get() != null) {
+            near.putIfUnchanged(nearKey, loaded.get(), generation);
+        }
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        long generation = near.generation();
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            near.putIfUnchanged(String.valueOf(key), value, generation);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            near.put(String.valueOf(key), value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        near.evict(String.valueOf(key));
+        invalidationPublisher.accept(getName(), List.of(String.valueOf(key)));
+    }
+
+    /**
+     * Drop keys from the near cache of every node with a single broadcast.
+     * The caller evicts them from the remote tier first, so no node refills a stale copy.
+     */
+    public void evictNear(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        near.evictAll(keys);
+        invalidationPublisher.accept(getName(), keys);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        near.clear();
+        invalidationPublisher.accept(getName(), List.of());
+    }
+}
@@ -0,0 +1,109 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager adding a per-node {@link NearCache} to selected caches of a remote manager.
+ *
+ * Evictions are published on {@link ProductServiceConstants#CACHE_INVALIDATION_TOPIC};
+ * every node, subscribed through this listener, drops the keys from its own near cache.
+ * Messages from the publishing node itself are ignored.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private static final String SEPARATOR = "\n";
+
+    private final CacheManager remote;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Set<String> nearCachedNames;
+    private final int nearMaxEntries;
+    private final Duration nearTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remote, StringRedisTemplate stringRedisTemplate,
+                               Set<String> nearCachedNames, int nearMaxEntries, Duration nearTtl) {
+        this.remote = remote;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.nearCachedNames = Set.copyOf(nearCachedNames);
+        this.nearMaxEntries = nearMaxEntries;
+        this.nearTtl = nearTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!nearCachedNames.contains(name)) {
+            return remote.getCache(name);
+        }
+
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key ->
+                new TwoTierCache(remoteCache, new NearCache(nearMaxEntries, nearTtl), this::publishInvalidation));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    // ===== INVALIDATION =====
+
+    /**
+     * Apply an invalidation published by another node
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length > 2) {
+            cache.getNear().evictAll(Arrays.asList(parts).subList(2, parts.length));
+        } else {
+            cache.getNear().clear();
+        }
+        log.trace("Applied near cache invalidation for {} from node {}", parts[1], parts[0]);
+    }
+
+    /**
+     * Broadcast an eviction of one or more keys; no keys clears the whole cache
+     */
+    private void publishInvalidation(String cacheName, Collection<String> keys) {
+        StringBuilder payload = new StringBuilder(nodeId).append(SEPARATOR).append(cacheName);
+        keys.forEach(key -> payload.append(SEPARATOR).append(key));
+        try {
+            stringRedisTemplate.convertAndSend(ProductServiceConstants.CACHE_INVALIDATION_TOPIC, payload.toString());
+        } catch (Exception e) {
+            // Other nodes keep the stale copy until it expires from their near cache
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.nguyenvu.ecommercems.productservice.service.shared.cache.impl;
 
 import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.RedisCacheKeys;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.SearchResultCache;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.TwoTierCache;
 import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,7 +30,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SpringCacheProductCacheService implements ProductCacheService {
     
+    private static final List<String> BY_ID_CACHES = List.of(
+            ProductServiceConstants.CACHE_BOOK_BY_ID,
+            ProductServiceConstants.CACHE_BOOK_BY_CODE,
+            ProductServiceConstants.CACHE_BOOK_BY_ISBN);
+    
     private final CacheManager cacheManager;
+    private final SearchResultCache searchResultCache;
+    private final StringRedisTemplate stringRedisTemplate;
 
     @Override
     public void evictById(String bookId) {
@@ -33,6 +50,44 @@ public class SpringCacheProductCacheService implements ProductCacheService {
         log.debug("Cache evicted for Product ID: {}", bookId);
     }
 
+    /**
+     * One Redis DEL for all keys, then one near cache broadcast per cache
+     */
+    @Override
+    public void evictByIds(Collection<String> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        log.debug("Evicting cache for {} Product IDs", bookIds.size());
+        
+        List<TwoTierCache> nearCached = new ArrayList<>();
+        List<byte[]> redisKeys = new ArrayList<>();
+        for (String cacheName : BY_ID_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoTierCache twoTier) {
+                nearCached.add(twoTier);
+                cache = twoTier.getRemote();
+            }
+            if (cache instanceof RedisCache redisCache) {
+                bookIds.forEach(id -> redisKeys.add(RedisCacheKeys.of(redisCache, id)));
+            } else if (cache != null) {
+                bookIds.forEach(id -> evictFromCache(cacheName, id));
+            }
+        }
+        
+        try {
+            if (!redisKeys.isEmpty()) {
+                stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                        connection.keyCommands().del(redisKeys.toArray(byte[][]::new)));
+            }
+        } catch (Exception e) {
+            log.error("Failed to evict {} products from cache: {}", bookIds.size(), e.getMessage());
+        }
+        nearCached.forEach(cache -> cache.evictNear(bookIds));
+        
+        log.debug("Cache evicted for {} Product IDs", bookIds.size());
+    }
+
     @Override
     public void evictAll() {
         log.debug("Evicting all products cache");
@@ -79,6 +134,13 @@ public class SpringCacheProductCacheService implements ProductCacheService {
         
         log.debug("Search results cache evicted");
     }
+
+    @Override
+    public void evictSearchResults(Collection<String> categoryIds, Collection<BigDecimal> salePrices) {
+        log.debug("Evicting search results for categories {} and prices {}", categoryIds, salePrices);
+        
+        searchResultCache.invalidate(categoryIds, salePrices);
+    }
     
     @Override
     public void evictBySku(String sku) {
@@ -1,5 +1,7 @@
 package com.nguyenvu.ecommercems.productservice.service.shared.constants;
 
+import java.time.Duration;
+
 /**
  * Constants for Product service operations
  */
@@ -37,6 +39,14 @@ public final class ProductServiceConstants {
     public static final String CACHE_OUT_OF_STOCK_PRODUCTS = "Product:outOfStock";
     public static final String CACHE_PRODUCTS_BY_PUBLISHER = "Product:byPublisher";
     public static final String CACHE_SEARCH_RESULTS = "Product:searchResults";
+    public static final String CACHE_SEARCH_COUNTS = "Product:searchCounts";
+    
+    // ===== Cache Settings =====
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(30);
+    public static final Duration SEARCH_RESULTS_CACHE_TTL = Duration.ofMinutes(5);
+    public static final Duration SEARCH_COUNTS_CACHE_TTL = Duration.ofMinutes(1);
+    public static final String SEARCH_GENERATION_KEY_PREFIX = "Product:searchGen:";
+    public static final String CACHE_INVALIDATION_TOPIC = "Product:cacheInvalidation";
     
     // ===== Legacy BookStore Cache Names (for compatibility) =====
     public static final String CACHE_ALL_Products = "Product:all";
@@ -76,11 +86,14 @@ public final class ProductServiceConstants {
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
     public static final int DEFAULT_SEARCH_LIMIT = 50;
+    public static final int ESTIMATED_COUNT_LIMIT = 10000;
     
     // ===== Bulk Operations =====
-    public static final int MAX_BULK_CREATE_SIZE = 100;
-    public static final int MAX_BULK_DELETE_SIZE = 100;
+    public static final int MAX_BULK_CREATE_SIZE = 10000;
+    public static final int MAX_BULK_DELETE_SIZE = 10000;
     public static final int MAX_BULK_UPDATE_SIZE = 100;
+    public static final int MAX_BATCH_GET_SIZE = 200;
+    public static final int MAX_BULK_SALES_SIZE = 10000;
     
     // ===== Sales & Analytics =====
     public static final int BESTSELLERS_DEFAULT_LIMIT = 10;
@@ -90,6 +103,8 @@ public final class ProductServiceConstants {
     // ===== Stock Management =====
     public static final int LOW_STOCK_THRESHOLD = 10;
     public static final int OUT_OF_STOCK_THRESHOLD = 0;
+    public static final int MAX_STOCK_HISTORY_SIZE = 1000;
+    public static final int MAX_STOCK_REPORT_SIZE = 500;
     
     // ===== Audit & Logging =====
     public static final String OPERATION_CREATE = "CREATE";
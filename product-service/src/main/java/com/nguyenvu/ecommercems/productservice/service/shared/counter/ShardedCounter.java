@@ -0,0 +1,56 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.counter;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.Review;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counters kept through {@link ShardedCounters}, with the document they belong to
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ShardedCounter {
+    PRODUCT_SALES(Product.class, "sales.lastSaleDate"),
+    PRODUCT_RATINGS(Product.class, "rating.lastRatingDate"),
+    REVIEW_HELPFUL(Review.class, null);
+
+    private final Class<?> entityType;
+
+    /**
+     * Timestamp field advanced to the latest increment, if any
+     */
+    private final String touchedField;
+
+    /**
+     * Value a field starts from when the document does not have it yet
+     */
+    Object initialValue(String field) {
+        if (this == PRODUCT_RATINGS && "rating.sum".equals(field)) {
+            // Products rated before the sum was stored
+            return new Document("$multiply", List.of(
+                    new Document("$ifNull", List.of("$rating.average", 0)),
+                    new Document("$ifNull", List.of("$rating.count", 0))));
+        }
+        return 0;
+    }
+
+    /**
+     * Pipeline stages recomputing fields derived from the counters, run after the increments
+     */
+    List<Document> derivedStages() {
+        if (this == PRODUCT_RATINGS) {
+            return List.of(new Document("$set", new Document("rating.average", new Document("$cond", Arrays.asList(
+                    new Document("$gt", List.of("$rating.count", 0)),
+                    new Document("$divide", List.of("$rating.sum", "$rating.count")),
+                    null)))
+                    // Percentages are derived on read; drop the copy stored by older versions
+                    .append("rating.percentages", "$$REMOVE")));
+        }
+        return List.of();
+    }
+}
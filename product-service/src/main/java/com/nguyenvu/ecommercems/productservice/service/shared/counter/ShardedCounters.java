@@ -0,0 +1,350 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.counter;
+
+import com.nguyenvu.ecommercems.productservice.model.CounterShard;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.CounterMode;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Counter increments for products and reviews that do not contend on the owning document.
+ *
+ * In {@link CounterMode#SHARDED} mode an increment is an upsert into one of N shard documents
+ * of the current epoch, so concurrent increments of a hot product land on different documents
+ * and leave the product and its cache entry alone. Every epoch the shards of closed epochs are
+ * claimed, summed per document, applied with one pipeline update per document and deleted;
+ * the product cache is evicted once per fold instead of once per increment. The update also
+ * records the fold on the document, so shards re-folded after a crash between applying and
+ * deleting them are not counted twice. Readers that need
+ * exact values add {@link #pending} to what the document holds.
+ *
+ * In {@link CounterMode#DIRECT} mode the same update is applied to the document immediately.
+ */
+@Component
+@Slf4j
+public class ShardedCounters {
+
+    private static final int FOLD_BATCH_SIZE = 1000;
+
+    /**
+     * Field on counted documents listing the latest operations applied to them
+     */
+    static final String APPLIED_OPERATIONS_FIELD = "counterOps";
+
+    /**
+     * Operations remembered per document; enough to cover retries of recent calls and,
+     * at the default epoch, the folds of one claim timeout
+     */
+    private static final int APPLIED_OPERATIONS_KEPT = 100;
+
+    /**
+     * Claims older than this are taken over, in case the folding instance died
+     */
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductCacheService cacheService;
+    private final CounterMode mode;
+    private final int shards;
+    private final long epochMillis;
+    private final Clock clock;
+
+    @Autowired
+    public ShardedCounters(MongoTemplate mongoTemplate,
+                           ProductCacheService cacheService,
+                           @Value("${product.counters.mode:SHARDED}") CounterMode mode,
+                           @Value("${product.counters.shards:8}") int shards,
+                           @Value("${product.counters.epoch:10s}") Duration epoch) {
+        this(mongoTemplate, cacheService, mode, shards, epoch, Clock.systemUTC());
+    }
+
+    ShardedCounters(MongoTemplate mongoTemplate, ProductCacheService cacheService, CounterMode mode,
+                    int shards, Duration epoch, Clock clock) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Counter shard count must be positive");
+        }
+        if (epoch.isZero() || epoch.isNegative()) {
+            throw new IllegalArgumentException("Counter epoch must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.cacheService = cacheService;
+        this.mode = mode;
+        this.shards = shards;
+        this.epochMillis = epoch.toMillis();
+        this.clock = clock;
+    }
+
+    // ===== INCREMENTS =====
+
+    /**
+     * Add to counters of one document
+     * @param deltas increments by field path, e.g. {@code rating.count}
+     */
+    public void increment(ShardedCounter counter, String docId, Map<String, Number> deltas) {
+        incrementAll(counter, Map.of(docId, deltas));
+    }
+
+    /**
+     * Add to counters of many documents with one bulk write
+     * @param deltasByDoc increments by field path, by document ID
+     */
+    public void incrementAll(ShardedCounter counter, Map<String, Map<String, Number>> deltasByDoc) {
+        if (deltasByDoc.isEmpty()) {
+            return;
+        }
+        Date now = Date.from(clock.instant());
+        if (mode == CounterMode.DIRECT) {
+            Map<String, Date> touchedAt = new HashMap<>();
+            deltasByDoc.keySet().forEach(docId -> touchedAt.put(docId, now));
+            apply(counter, deltasByDoc, touchedAt, null);
+            return;
+        }
+
+        long epoch = epochOf(now.toInstant());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CounterShard.class);
+        deltasByDoc.forEach((docId, deltas) -> {
+            Update update = new Update()
+                    .max("lastAt", now)
+                    .setOnInsert("counter", counter.name())
+                    .setOnInsert("docId", docId)
+                    .setOnInsert("epoch", epoch);
+            deltas.forEach((field, delta) -> update.inc("values." + field, delta));
+            int shard = ThreadLocalRandom.current().nextInt(shards);
+            bulk.upsert(new Query(Criteria.where("_id").is(CounterShard.idOf(counter.name(), docId, epoch, shard))),
+                    update);
+        });
+        bulk.execute();
+    }
+
+    /**
+     * Add to counters of many documents at most once per operation, so a failed call can be
+     * retried with the same operation ID. In SHARDED mode every document gets one shard for the
+     * operation, created by the first attempt only; in DIRECT mode the operation is recorded on
+     * the document by the same update that applies it.
+     * @param operationId unique per logical change, the same for all its attempts
+     */
+    public void incrementAllOnce(ShardedCounter counter, Map<String, Map<String, Number>> deltasByDoc,
+                                 String operationId) {
+        if (deltasByDoc.isEmpty()) {
+            return;
+        }
+        Date now = Date.from(clock.instant());
+        if (mode == CounterMode.DIRECT) {
+            Map<String, Date> touchedAt = new HashMap<>();
+            deltasByDoc.keySet().forEach(docId -> touchedAt.put(docId, now));
+            apply(counter, deltasByDoc, touchedAt, operationId);
+            return;
+        }
+
+        long epoch = epochOf(now.toInstant());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CounterShard.class);
+        deltasByDoc.forEach((docId, deltas) -> {
+            Update update = new Update()
+                    .setOnInsert("lastAt", now)
+                    .setOnInsert("counter", counter.name())
+                    .setOnInsert("docId", docId)
+                    .setOnInsert("epoch", epoch);
+            deltas.forEach((field, delta) -> update.setOnInsert("values." + field, delta));
+            bulk.upsert(new Query(Criteria.where("_id").is(CounterShard.idOf(counter.name(), docId, operationId))),
+                    update);
+        });
+        bulk.execute();
+    }
+
+    /**
+     * Increments of a document not yet folded into it, summed over its shards
+     */
+    public Map<String, Number> pending(ShardedCounter counter, String docId) {
+        Map<String, Number> totals = new HashMap<>();
+        if (mode == CounterMode.DIRECT) {
+            return totals;
+        }
+        Query query = new Query(Criteria.where("counter").is(counter.name()).and("docId").is(docId));
+        query.fields().include("values");
+        mongoTemplate.find(query, CounterShard.class)
+                .forEach(shard -> addValues(totals, "", shard.getValues()));
+        return totals;
+    }
+
+    // ===== FOLDING =====
+
+    /**
+     * Apply and delete the shards of closed epochs
+     */
+    @Scheduled(fixedDelayString = "${product.counters.epoch:10s}")
+    public void fold() {
+        if (mode != CounterMode.SHARDED) {
+            return;
+        }
+        Instant now = clock.instant();
+        String token = UUID.randomUUID().toString();
+        // The current and the previous epoch may still receive increments
+        long closedBefore = epochOf(now) - 1;
+
+        try {
+            long claimed = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("epoch").lt(closedBefore).and("foldToken").is(null)),
+                    new Update().set("foldToken", token).set("claimedBy", token).set("claimedAt", Date.from(now)),
+                    CounterShard.class).getModifiedCount();
+            // Taken over shards keep their fold token, under which they may already be applied
+            claimed += mongoTemplate.updateMulti(
+                    new Query(Criteria.where("foldToken").ne(null).and("claimedAt").lt(Date.from(now.minus(CLAIM_TIMEOUT)))),
+                    new Update().set("claimedBy", token).set("claimedAt", Date.from(now)),
+                    CounterShard.class).getModifiedCount();
+            if (claimed == 0) {
+                return;
+            }
+
+            // Ordered by document so all shards of one document land in the same batch
+            Query owned = new Query(Criteria.where("claimedBy").is(token))
+                    .with(Sort.by("counter", "docId"));
+            List<CounterShard> batch = new ArrayList<>(FOLD_BATCH_SIZE);
+            try (Stream<CounterShard> shards = mongoTemplate.stream(owned, CounterShard.class)) {
+                Iterator<CounterShard> iterator = shards.iterator();
+                while (iterator.hasNext()) {
+                    CounterShard shard = iterator.next();
+                    if (batch.size() >= FOLD_BATCH_SIZE && !sameDocument(batch.get(batch.size() - 1), shard)) {
+                        foldBatch(batch);
+                        batch.clear();
+                    }
+                    batch.add(shard);
+                }
+            }
+            if (!batch.isEmpty()) {
+                foldBatch(batch);
+            }
+            log.debug("Folded {} counter shards", claimed);
+        } catch (Exception e) {
+            // Claimed shards are taken over again once the claim times out
+            log.error("Failed to fold counter shards", e);
+        }
+    }
+
+    /**
+     * Apply the shards of a batch, one update per document and fold token, then delete them.
+     * Each update records {@code counter:foldToken} on the document and is skipped where it is
+     * already recorded.
+     */
+    private void foldBatch(List<CounterShard> batch) {
+        Map<FoldKey, Map<String, Map<String, Number>>> deltas = new LinkedHashMap<>();
+        Map<FoldKey, Map<String, Date>> touchedAt = new HashMap<>();
+        for (CounterShard shard : batch) {
+            FoldKey key = new FoldKey(ShardedCounter.valueOf(shard.getCounter()), shard.getFoldToken());
+            addValues(deltas.computeIfAbsent(key, k -> new HashMap<>())
+                    .computeIfAbsent(shard.getDocId(), k -> new HashMap<>()), "", shard.getValues());
+            if (shard.getLastAt() != null) {
+                touchedAt.computeIfAbsent(key, k -> new HashMap<>())
+                        .merge(shard.getDocId(), shard.getLastAt(), (a, b) -> a.after(b) ? a : b);
+            }
+        }
+
+        deltas.forEach((key, byDoc) -> apply(key.counter(), byDoc, touchedAt.getOrDefault(key, Map.of()),
+                key.counter().name() + ":" + key.foldToken()));
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(batch.stream().map(CounterShard::getId).toList())),
+                CounterShard.class);
+    }
+
+    private record FoldKey(ShardedCounter counter, String foldToken) {
+    }
+
+    private static boolean sameDocument(CounterShard a, CounterShard b) {
+        return Objects.equals(a.getCounter(), b.getCounter()) && Objects.equals(a.getDocId(), b.getDocId());
+    }
+
+    // ===== HELPER METHODS =====
+
+    /**
+     * One pipeline update per document: add the increments, advance the timestamp, recompute derived fields
+     * @param operationId when set, documents that already applied it are skipped and the others record it
+     */
+    private void apply(ShardedCounter counter, Map<String, Map<String, Number>> deltasByDoc, Map<String, Date> touchedAt,
+                       String operationId) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, counter.getEntityType());
+        deltasByDoc.forEach((docId, deltas) -> {
+            Criteria target = Criteria.where("_id").is(docId);
+            if (operationId != null) {
+                target.and(APPLIED_OPERATIONS_FIELD).ne(operationId);
+            }
+            bulk.updateOne(new Query(target), counterUpdate(counter, deltas, touchedAt.get(docId), operationId));
+        });
+        bulk.execute();
+
+        if (counter.getEntityType() == Product.class) {
+            cacheService.evictByIds(deltasByDoc.keySet());
+        }
+    }
+
+    static AggregationUpdate counterUpdate(ShardedCounter counter, Map<String, Number> deltas, Date touchedAt,
+                                           String operationId) {
+        Document set = new Document();
+        deltas.forEach((field, delta) -> set.append(field, new Document("$add", List.of(
+                new Document("$ifNull", List.of("$" + field, counter.initialValue(field))), delta))));
+        if (counter.getTouchedField() != null && touchedAt != null) {
+            set.append(counter.getTouchedField(),
+                    new Document("$max", List.of("$" + counter.getTouchedField(), touchedAt)));
+        }
+        if (operationId != null) {
+            set.append(APPLIED_OPERATIONS_FIELD, new Document("$slice", List.of(
+                    new Document("$concatArrays", List.of(
+                            new Document("$ifNull", List.of("$" + APPLIED_OPERATIONS_FIELD, List.of())),
+                            List.of(operationId))),
+                    -APPLIED_OPERATIONS_KEPT)));
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(context -> new Document("$set", set));
+        counter.derivedStages().forEach(stage -> stages.add(context -> stage));
+        return AggregationUpdate.from(stages);
+    }
+
+    /**
+     * Flatten nested shard values back into field paths and add them up
+     */
+    private static void addValues(Map<String, Number> totals, String prefix, Document values) {
+        if (values == null) {
+            return;
+        }
+        values.forEach((key, value) -> {
+            String path = prefix + key;
+            if (value instanceof Document nested) {
+                addValues(totals, path + ".", nested);
+            } else if (value instanceof Number number) {
+                totals.merge(path, number, ShardedCounters::add);
+            }
+        });
+    }
+
+    private static Number add(Number a, Number b) {
+        if (a instanceof Double || b instanceof Double) {
+            return a.doubleValue() + b.doubleValue();
+        }
+        if (a instanceof Long || b instanceof Long) {
+            return a.longValue() + b.longValue();
+        }
+        return a.intValue() + b.intValue();
+    }
+
+    private long epochOf(Instant instant) {
+        return instant.toEpochMilli() / epochMillis;
+    }
+}
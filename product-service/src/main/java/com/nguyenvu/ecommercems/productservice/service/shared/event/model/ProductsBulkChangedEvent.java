@@ -0,0 +1,24 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.event.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Domain event fired once for a bulk create or delete, in place of one event per Product
+ */
+@Value
+@Builder
+public class ProductsBulkChangedEvent {
+
+    public enum Operation {
+        CREATED,
+        DELETED
+    }
+
+    List<String> productIds;
+    Operation operation;
+    OffsetDateTime occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.event.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Domain event fired once for sales recorded in bulk, in place of one event per Product
+ */
+@Value
+@Builder
+public class SalesBatchRecordedEvent {
+
+    /**
+     * Units sold by Product ID
+     */
+    Map<String, Integer> quantities;
+    OffsetDateTime occurredAt;
+}
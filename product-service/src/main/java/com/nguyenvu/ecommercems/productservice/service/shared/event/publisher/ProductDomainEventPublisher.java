@@ -2,12 +2,16 @@ package com.nguyenvu.ecommercems.productservice.service.shared.event.publisher;
 
 import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductCreatedEvent;
 import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductUpdatedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductsBulkChangedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.SalesBatchRecordedEvent;
 import com.nguyenvu.ecommercems.productservice.service.shared.event.model.StockChangedEvent;
 import com.nguyenvu.ecommercems.productservice.service.shared.event.model.SalesRecordedEvent;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Domain event Manufacturer for Product-related events
@@ -41,6 +45,18 @@ public interface ProductDomainEventPublisher {
      */
     void publishSalesRecorded(SalesRecordedEvent event);
     
+    /**
+     * Publish one event for sales recorded in bulk
+     * @param event Units sold by Product ID
+     */
+    void publishSalesBatchRecorded(SalesBatchRecordedEvent event);
+    
+    /**
+     * Publish one event for a bulk create or delete
+     * @param event Affected Product IDs and operation
+     */
+    void publishProductsBulkChanged(ProductsBulkChangedEvent event);
+    
     // ===== CONVENIENCE METHODS =====
     
     /**
@@ -63,5 +79,15 @@ public interface ProductDomainEventPublisher {
      */
     void publishSalesRecordedEvent(String productId, String orderId, Integer quantitySold,
             BigDecimal unitPrice, BigDecimal totalAmount, String customerId, LocalDateTime occurredAt);
+    
+    /**
+     * Convenience method to publish sales batch recorded event
+     */
+    void publishSalesBatchRecordedEvent(Map<String, Integer> quantities, LocalDateTime occurredAt);
+    
+    /**
+     * Convenience method to publish bulk changed event
+     */
+    void publishProductsBulkChangedEvent(List<String> productIds, ProductsBulkChangedEvent.Operation operation,
+            LocalDateTime occurredAt);
 }
-
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Spring event-based implementation of ProductDomainEventPublisher
@@ -41,6 +43,16 @@ public class SpringEventProductDomainEventPublisher implements ProductDomainEven
         eventPublisher.publishEvent(event);
     }
     
+    @Override
+    public void publishSalesBatchRecorded(SalesBatchRecordedEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+    
+    @Override
+    public void publishProductsBulkChanged(ProductsBulkChangedEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+    
     @Override
     public void publishProductCreatedEvent(String productId, String code, String sku, String title, LocalDateTime occurredAt) {
         ProductCreatedEvent event = ProductCreatedEvent.builder()
@@ -90,5 +102,24 @@ public class SpringEventProductDomainEventPublisher implements ProductDomainEven
                 .build();
         publishSalesRecorded(event);
     }
+    
+    @Override
+    public void publishSalesBatchRecordedEvent(Map<String, Integer> quantities, LocalDateTime occurredAt) {
+        SalesBatchRecordedEvent event = SalesBatchRecordedEvent.builder()
+                .quantities(Map.copyOf(quantities))
+                .occurredAt(occurredAt.atOffset(java.time.ZoneOffset.UTC))
+                .build();
+        publishSalesBatchRecorded(event);
+    }
+    
+    @Override
+    public void publishProductsBulkChangedEvent(List<String> productIds, ProductsBulkChangedEvent.Operation operation,
+            LocalDateTime occurredAt) {
+        ProductsBulkChangedEvent event = ProductsBulkChangedEvent.builder()
+                .productIds(productIds)
+                .operation(operation)
+                .occurredAt(occurredAt.atOffset(java.time.ZoneOffset.UTC))
+                .build();
+        publishProductsBulkChanged(event);
+    }
 }
-
@@ -0,0 +1,41 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.exception;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exception thrown when rows of a bulk request fail validation or writing
+ */
+public class BatchValidationException extends ProductValidationException {
+    
+    private final Map<Integer, String> errors;
+    private final Map<Integer, String> writtenIds;
+    
+    public BatchValidationException(String message, Map<Integer, String> errors) {
+        this(message, errors, Map.of());
+    }
+    
+    /**
+     * @param writtenIds IDs of the rows that were written despite the failures, by row index
+     */
+    public BatchValidationException(String message, Map<Integer, String> errors, Map<Integer, String> writtenIds) {
+        super(message + ": " + errors);
+        this.errors = Collections.unmodifiableMap(new TreeMap<>(errors));
+        this.writtenIds = Collections.unmodifiableMap(new TreeMap<>(writtenIds));
+    }
+    
+    /**
+     * Error messages by row index in the request
+     */
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+    
+    /**
+     * IDs of the rows that were written, by row index; empty when nothing was written
+     */
+    public Map<Integer, String> getWrittenIds() {
+        return writtenIds;
+    }
+}
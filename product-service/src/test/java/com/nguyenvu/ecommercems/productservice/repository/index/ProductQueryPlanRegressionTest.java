@@ -0,0 +1,293 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.repository.support.NormalizedNames;
+import com.nguyenvu.ecommercems.productservice.service.product.impl.ProductSearchServiceImpl;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.SearchCursorCodec;
+import com.nguyenvu.ecommercems.productservice.service.product.projection.ProductFieldProjection;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Query plan regression suite.
+ *
+ * Seeds a throwaway database with a synthetic catalog and creates the declared indexes.
+ * It then runs the finds the repository and the search service really issue: repository
+ * methods go through a repository proxy, search filters through the service itself. The
+ * commands are captured off the wire with a {@link CommandListener}, so the suite sees
+ * exactly what Mongo receives. String {@code @Query} filters included: those parse even
+ * when a spliced fragment is silently dropped. Each captured find is explained with
+ * execution stats and fails when it scans the collection, sorts in memory, or examines
+ * more keys or documents than its result budget. The declared catalog shapes are checked
+ * the same way.
+ *
+ * Seeding takes a while, so it is tagged out of the unit test run and run by failsafe in the
+ * {@code verify} phase against a MongoDB container, which needs Docker. Plans depend on the
+ * server version, so the image is pinned. To use another server instead, pass
+ * {@code -Dproduct.query-plans.mongo-uri=mongodb://host:27017}.
+ */
+@Tag(ProductQueryPlanRegressionTest.TAG)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Product Query Plan Regression Tests")
+class ProductQueryPlanRegressionTest {
+
+    static final String TAG = "query-plans";
+    static final String MONGO_URI_PROPERTY = "product.query-plans.mongo-uri";
+    private static final String MONGO_IMAGE = "mongo:7.0";
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    /**
+     * Keys or documents a query may examine per requested result
+     */
+    private static final int EXAMINED_PER_RESULT = 4;
+
+    /**
+     * Parts of a captured find that shape its plan; session and routing fields are dropped
+     */
+    private static final List<String> FIND_FIELDS = List.of("find", "filter", "sort", "projection", "skip", "limit");
+
+    private static final String[] SUPPLIERS = {
+            "Nguyễn Nhật Ánh", "Nguyễn Du", "Tô Hoài", "Haruki Murakami", "Agatha Christie", "Yuval Noah Harari"
+    };
+    private static final String[] MANUFACTURERS = {"NXB Trẻ", "NXB Kim Đồng", "Penguin Books", "O'Reilly Media"};
+    private static final String[] LANGUAGES = {"vi", "en", "ja"};
+    private static final String[] WORDS = {"history", "novel", "science", "children", "travel", "cooking", "poetry"};
+
+    private final List<Document> capturedFinds = new CopyOnWriteArrayList<>();
+
+    private MongoDBContainer mongoContainer;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private IndexRegistry indexRegistry;
+    private ProductRepository repository;
+    private ProductSearchServiceImpl searchService;
+
+    @BeforeAll
+    void seedCatalog() {
+        CommandListener captureFinds = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    capturedFinds.add(Document.parse(event.getCommand().toJson()));
+                }
+            }
+        };
+        String mongoUri = System.getProperty(MONGO_URI_PROPERTY);
+        if (mongoUri == null) {
+            mongoContainer = new MongoDBContainer(DockerImageName.parse(MONGO_IMAGE));
+            mongoContainer.start();
+            mongoUri = mongoContainer.getReplicaSetUrl();
+        }
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoUri))
+                .addCommandListener(captureFinds)
+                .build());
+        mongoTemplate = new MongoTemplate(mongoClient, "product_query_plans_" + UUID.randomUUID().toString().substring(0, 8));
+        indexRegistry = new IndexRegistry(mongoTemplate, PlanCheckMode.FAIL);
+        repository = new MongoRepositoryFactory(mongoTemplate).getRepository(ProductRepository.class);
+        searchService = new ProductSearchServiceImpl(repository, mock(ProductMapper.class), mongoTemplate,
+                new SearchCursorCodec(), new ProductFieldProjection(), null, null, null, null);
+
+        MongoCollection<Document> products = mongoTemplate.getCollection(ProductIndexCatalog.COLLECTION);
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            batch.add(syntheticProduct(i));
+            if (batch.size() == BATCH_SIZE) {
+                products.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            products.insertMany(batch);
+        }
+
+        indexRegistry.ensureIndexes();
+    }
+
+    @AfterAll
+    void dropCatalog() {
+        if (mongoTemplate != null) {
+            mongoTemplate.getDb().drop();
+        }
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+        if (mongoContainer != null) {
+            mongoContainer.stop();
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("issuedQueries")
+    @DisplayName("Should serve every find the repository and search service issue from an index within its budget")
+    void shouldServeIssuedQueryFromIndex(String name, Runnable invocation) {
+        capturedFinds.clear();
+        invocation.run();
+        assertThat(capturedFinds).as("finds issued by %s", name).isNotEmpty();
+
+        Document find = new Document();
+        Document captured = capturedFinds.get(capturedFinds.size() - 1);
+        FIND_FIELDS.stream().filter(captured::containsKey).forEach(field -> find.append(field, captured.get(field)));
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find)
+                .append("verbosity", QueryPlans.EXECUTION_STATS));
+
+        int limit = find.get("limit") instanceof Number number ? number.intValue() : FIRST_PAGE.getPageSize();
+        assertServedWithinBudget(name + " " + find.get("filter"), explain, limit, false);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("shapeNames")
+    @DisplayName("Should serve every declared query shape from an index within its budget")
+    void shouldServeShapeFromIndex(String shapeName) {
+        QueryShape shape = ProductIndexCatalog.QUERY_SHAPES.stream()
+                .filter(candidate -> candidate.getName().equals(shapeName))
+                .findFirst()
+                .orElseThrow();
+
+        Document explain = indexRegistry.explain(shape, QueryPlans.EXECUTION_STATS);
+        assertServedWithinBudget(shapeName, explain, shape.getLimit(), shape.isBlockingSortAllowed());
+    }
+
+    @Test
+    @DisplayName("Should pass startup verification in FAIL mode")
+    void shouldPassStartupVerification() {
+        assertThat(indexRegistry.verifyQueryPlans()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should detect a filter that turns a seek into a scan")
+    void shouldDetectUnindexedFilter() {
+        QueryShape unindexed = QueryShape.builder().name("unindexed")
+                .filter(new Document("seo.metaTitle", "missing").append("status", "ACTIVE"))
+                .sort(new Document("subtitle", 1))
+                .build();
+
+        Document explain = indexRegistry.explain(unindexed, QueryPlans.EXECUTION_STATS);
+
+        assertThat(QueryPlans.violations(explain, false)).isNotEmpty();
+        assertThat(QueryPlans.executionStats(explain).getDocsExamined())
+                .isGreaterThan((long) unindexed.getLimit() * EXAMINED_PER_RESULT);
+    }
+
+    /**
+     * Hot lookups as the application issues them; add new finders and search filters here
+     */
+    Stream<Arguments> issuedQueries() {
+        return Stream.of(
+                issued("findByCategoryId", () -> repository.findByCategoryId("sample", FIRST_PAGE)),
+                issued("findByAuthorName", () -> repository.findByAuthorName(
+                        NormalizedNames.prefixPattern("Nguyễn"), FIRST_PAGE)),
+                issued("findByPublisherName", () -> repository.findByPublisherName(
+                        NormalizedNames.prefixPattern("NXB"), FIRST_PAGE)),
+                issued("findByLanguage", () -> repository.findByLanguage("vi", FIRST_PAGE)),
+                issued("search: no filter", () -> searchCards(new ProductSearchCriteria())),
+                issued("search: category", () -> searchCards(ProductSearchCriteria.builder()
+                        .categoryIds(List.of("sample")).build())),
+                issued("search: price range by price", () -> searchCards(ProductSearchCriteria.builder()
+                        .minPrice(BigDecimal.TEN).maxPrice(BigDecimal.valueOf(50)).sortBy("price").build())),
+                issued("search: in stock", () -> searchCards(ProductSearchCriteria.builder()
+                        .inStock(true).build())));
+    }
+
+    Stream<String> shapeNames() {
+        return ProductIndexCatalog.QUERY_SHAPES.stream().map(QueryShape::getName);
+    }
+
+    // ===== HELPER METHODS =====
+
+    private static Arguments issued(String name, Runnable invocation) {
+        return Arguments.of(name, invocation);
+    }
+
+    private void searchCards(ProductSearchCriteria criteria) {
+        criteria.setIncludeTotalCount(false);
+        searchService.searchProductCards(criteria, FIRST_PAGE);
+    }
+
+    private void assertServedWithinBudget(String description, Document explain, int limit, boolean blockingSortAllowed) {
+        PlanStats stats = QueryPlans.executionStats(explain);
+        long budget = (long) limit * EXAMINED_PER_RESULT;
+
+        assertThat(QueryPlans.violations(explain, blockingSortAllowed))
+                .as("plan of %s: %s", description, QueryPlans.winningStages(explain))
+                .isEmpty();
+        assertThat(stats.getKeysExamined()).as("totalKeysExamined of %s", description).isLessThanOrEqualTo(budget);
+        assertThat(stats.getDocsExamined()).as("totalDocsExamined of %s", description).isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * Deterministic product spread over the values the catalog's sample shapes filter on
+     */
+    private Document syntheticProduct(int i) {
+        boolean inStock = i % 7 != 0;
+        String supplier = SUPPLIERS[i % SUPPLIERS.length];
+        String manufacturer = MANUFACTURERS[i % MANUFACTURERS.length];
+        String language = LANGUAGES[i % LANGUAGES.length];
+        String categoryId = i % 100 == 0 ? "sample" : "cat-" + (i % 100);
+        Date createdAt = Date.from(Instant.parse("2024-01-01T00:00:00Z").plus(i, ChronoUnit.MINUTES));
+
+        Document product = new Document("sku", "SKU-" + i)
+                .append("type", "PHYSICAL")
+                .append("title", WORDS[i % WORDS.length] + " volume " + i)
+                .append("description", "Synthetic " + WORDS[(i / 7) % WORDS.length] + " product")
+                .append("tags", List.of(WORDS[i % WORDS.length], WORDS[(i + 3) % WORDS.length]))
+                .append("status", i % 10 == 0 ? "INACTIVE" : "ACTIVE")
+                .append("availability", inStock ? "IN_STOCK" : "OUT_OF_STOCK")
+                .append("stockQuantity", inStock ? 1 + i % 200 : 0)
+                .append("categories", List.of(new Document("categoryId", categoryId)
+                        .append("path", "/products/" + categoryId)))
+                .append("pricing", new Document("salePrice", new Decimal128(BigDecimal.valueOf(1 + i % 500, 0))))
+                .append("rating", new Document("average", (i % 51) / 10.0).append("count", i % 300))
+                .append("suppliers", List.of(new Document("name", supplier)
+                        .append("normalizedName", NormalizedNames.normalize(supplier))))
+                .append("manufacturer", new Document("name", manufacturer)
+                        .append("normalizedName", NormalizedNames.normalize(manufacturer)))
+                .append("physical", new Document("language", language).append("normalizedLanguage", language))
+                .append("seriesId", i % 1000 == 0 ? "sample" : "series-" + (i % 1000))
+                .append("seriesVolume", i / 1000)
+                .append("sales", new Document("totalSold", i % 5000)
+                        .append("dailySold", i % 50)
+                        .append("weeklySold", i % 300)
+                        .append("monthlySold", i % 1200)
+                        .append("yearlySold", i % 4000))
+                .append("createdAt", createdAt)
+                .append("updatedAt", createdAt);
+        if (i % 50 == 0) {
+            product.append("featured", new Document("featuredType", "EDITOR_PICK")
+                    .append("featuredUntil", Date.from(createdAt.toInstant().plus(30, ChronoUnit.DAYS))));
+        }
+        return product;
+    }
+}
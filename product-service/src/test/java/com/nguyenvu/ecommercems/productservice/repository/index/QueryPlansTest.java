@@ -0,0 +1,59 @@
+package com.nguyenvu.ecommercems.productservice.repository.index;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for explain output inspection and the index catalog
+ */
+@DisplayName("QueryPlans Tests")
+class QueryPlansTest {
+
+    @Test
+    @DisplayName("Should accept an index seek and flag scans and in-memory sorts")
+    void shouldDetectViolations() {
+        Document seek = explain(stage("LIMIT", stage("FETCH", stage("IXSCAN", null))));
+        Document scanAndSort = explain(stage("SORT", stage("COLLSCAN", null)));
+
+        assertThat(QueryPlans.winningStages(seek)).containsExactly("LIMIT", "FETCH", "IXSCAN");
+        assertThat(QueryPlans.violations(seek, false)).isEmpty();
+        assertThat(QueryPlans.violations(scanAndSort, false)).containsExactly("COLLSCAN", "in-memory SORT");
+        assertThat(QueryPlans.violations(scanAndSort, true)).containsExactly("COLLSCAN");
+    }
+
+    @Test
+    @DisplayName("Should read slot-based plans and $or branches")
+    void shouldReadNestedPlans() {
+        Document or = new Document("stage", "OR")
+                .append("inputStages", List.of(stage("IXSCAN", null), stage("COLLSCAN", null)));
+        Document sbe = new Document("queryPlanner", new Document("winningPlan",
+                new Document("queryPlan", stage("FETCH", or)).append("slotBasedPlan", new Document())));
+
+        assertThat(QueryPlans.winningStages(sbe)).containsExactly("FETCH", "OR", "IXSCAN", "COLLSCAN");
+    }
+
+    @Test
+    @DisplayName("Should declare uniquely named indexes and a single text index")
+    void shouldDeclareConsistentCatalog() {
+        assertThat(ProductIndexCatalog.INDEXES).extracting(IndexSpec::getName).doesNotHaveDuplicates();
+        assertThat(ProductIndexCatalog.INDEXES).filteredOn(IndexSpec::isText).hasSize(1);
+        assertThat(ProductIndexCatalog.QUERY_SHAPES).extracting(QueryShape::getName).doesNotHaveDuplicates();
+    }
+
+    private Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private Document stage(String name, Document input) {
+        Document stage = new Document("stage", name);
+        if (input != null) {
+            stage.append("inputStage", input);
+        }
+        return stage;
+    }
+}
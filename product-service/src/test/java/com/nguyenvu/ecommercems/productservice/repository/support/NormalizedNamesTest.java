@@ -0,0 +1,55 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import com.nguyenvu.ecommercems.productservice.model.Manufacturer;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.Supplier;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Physical;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for normalized lookup fields
+ */
+@DisplayName("NormalizedNames Tests")
+class NormalizedNamesTest {
+
+    @Test
+    @DisplayName("Should lower-case, fold accents and collapse whitespace")
+    void shouldNormalize() {
+        assertThat(NormalizedNames.normalize("  Nguyễn   Văn Đức ")).isEqualTo("nguyen van duc");
+        assertThat(NormalizedNames.normalize("   ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should build an anchored prefix pattern with metacharacters escaped")
+    void shouldBuildPrefixPattern() {
+        String pattern = NormalizedNames.prefixPattern("O'Reilly (Media)");
+
+        assertThat(pattern).isEqualTo("^o'reilly \\(media\\)");
+        assertThat(Pattern.compile(pattern).matcher("o'reilly (media) inc").lookingAt()).isTrue();
+        assertThatThrownBy(() -> NormalizedNames.prefixPattern(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should fill shadow fields before a product is saved")
+    void shouldFillShadowFieldsOnSave() {
+        Product product = Product.builder()
+                .suppliers(List.of(Supplier.builder().name("Kim Đồng").build()))
+                .manufacturer(Manufacturer.builder().name("NXB Trẻ").build())
+                .physical(Physical.builder().language("VI").build())
+                .build();
+
+        new ProductNormalizationCallback().onBeforeConvert(product, "products");
+
+        assertThat(product.getSuppliers().get(0).getNormalizedName()).isEqualTo("kim dong");
+        assertThat(product.getManufacturer().getNormalizedName()).isEqualTo("nxb tre");
+        assertThat(product.getPhysical().getNormalizedLanguage()).isEqualTo("vi");
+    }
+}
@@ -0,0 +1,72 @@
+package com.nguyenvu.ecommercems.productservice.repository.support;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Pricing;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for field-level product edits
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductEditWriter Tests")
+class ProductEditWriterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ProductEditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        writer = new ProductEditWriter(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should set edited fields, unset emptied ones and leave stock, reservation and counter fields alone")
+    void shouldWriteOnlyEditableFields() {
+        Product edited = Product.builder()
+                .id("p1")
+                .title("Clean Code")
+                .status(ProductStatus.ACTIVE)
+                .pricing(Pricing.builder().salePrice(BigDecimal.TEN).build())
+                .stockQuantity(3)
+                .reservedQuantity(1)
+                .availableQuantity(2)
+                .build();
+
+        Update update = writer.editUpdate(edited);
+
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        Document unset = update.getUpdateObject().get("$unset", Document.class);
+        assertThat(set).containsKeys("title", "status", "pricing");
+        assertThat(unset).containsKey("subtitle");
+        assertThat(set.keySet()).doesNotContainAnyElementsOf(ProductEditWriter.SERVER_MAINTAINED_FIELDS);
+        assertThat(unset.keySet()).doesNotContainAnyElementsOf(ProductEditWriter.SERVER_MAINTAINED_FIELDS);
+    }
+}
@@ -0,0 +1,103 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.bestseller;
+
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.SalesBatchRecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for bucketed bestseller rankings
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BestsellerLeaderboard Tests")
+class BestsellerLeaderboardTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Test
+    @DisplayName("Should span day buckets for short windows and month buckets for the year")
+    void shouldSpanBuckets() {
+        LocalDate today = LocalDate.of(2025, 1, 3);
+
+        assertThat(BestsellerLeaderboard.bucketKeys(BestsellerWindow.WEEKLY, today))
+                .hasSize(7)
+                .startsWith("Product:leaderboard:day:20250103")
+                .endsWith("Product:leaderboard:day:20241228");
+        assertThat(BestsellerLeaderboard.bucketKeys(BestsellerWindow.YEARLY, today))
+                .hasSize(12)
+                .startsWith("Product:leaderboard:month:202501")
+                .endsWith("Product:leaderboard:month:202402");
+    }
+
+    @Test
+    @DisplayName("Should record a whole batch of sales in one pipeline")
+    void shouldRecordBatchInOnePipeline() {
+        BestsellerLeaderboard leaderboard = new BestsellerLeaderboard(stringRedisTemplate, Duration.ofSeconds(60));
+
+        leaderboard.onSalesBatchRecorded(SalesBatchRecordedEvent.builder()
+                .quantities(Map.of("p1", 3, "p2", 1, "p3", 0))
+                .occurredAt(OffsetDateTime.now())
+                .build());
+
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should merge buckets into an expiring window key and read the top IDs in one script")
+    void shouldMergeWindowOnMiss() {
+        BestsellerLeaderboard leaderboard = new BestsellerLeaderboard(stringRedisTemplate, Duration.ofSeconds(60));
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(startsWith("Product:leaderboard:window:weekly:"), eq(0L), eq(2L)))
+                .thenReturn(Set.of());
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), eq("60000"), eq("2")))
+                .thenReturn(List.of("p2", "p1", "p3"));
+
+        assertThat(leaderboard.top(BestsellerWindow.WEEKLY, 3)).hasValue(List.of("p2", "p1", "p3"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), keys.capture(), eq("60000"), eq("2"));
+        assertThat(keys.getValue()).hasSize(8).first().asString().startsWith("Product:leaderboard:window:weekly:");
+        verify(zSetOperations, never()).unionAndStore(anyString(), anyCollection(), anyString());
+        verify(stringRedisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should report no ranking when the window is empty or Redis fails")
+    void shouldReportMissingRanking() {
+        BestsellerLeaderboard leaderboard = new BestsellerLeaderboard(stringRedisTemplate, Duration.ofSeconds(60));
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(anyString(), anyLong(), anyLong())).thenReturn(Set.of());
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(List.of());
+
+        assertThat(leaderboard.top(BestsellerWindow.DAILY, 5)).isEmpty();
+        assertThat(leaderboard.top(BestsellerWindow.MONTHLY, 5)).isEmpty();
+
+        when(zSetOperations.reverseRange(anyString(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        assertThat(leaderboard.top(BestsellerWindow.YEARLY, 5)).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.LowStockView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the NDJSON catalog export
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCatalogExporter Tests")
+class ProductCatalogExporterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private LowStockView lowStockView;
+
+    @Test
+    @DisplayName("Should write one JSON line per product from a single batched cursor")
+    void shouldWriteOneLinePerProduct() throws Exception {
+        ProductCatalogExporter exporter = new ProductCatalogExporter(mongoTemplate, productMapper, lowStockView,
+                new ObjectMapper().findAndRegisterModules(), 2);
+        when(mongoTemplate.stream(any(Query.class), eq(Product.class))).thenReturn(Stream.of(
+                Product.builder().id("p1").build(),
+                Product.builder().id("p2").build(),
+                Product.builder().id("p3").build()));
+        when(productMapper.toDTO(any(Product.class)))
+                .thenAnswer(invocation -> ProductDTO.builder().id(invocation.<Product>getArgument(0).getId()).build());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = exporter.exportActiveProducts(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":\"p1\"");
+        assertThat(lines[2]).contains("\"id\":\"p3\"");
+        verify(mongoTemplate).stream(argThat(query -> query.getMeta().getCursorBatchSize() == 2), eq(Product.class));
+    }
+}
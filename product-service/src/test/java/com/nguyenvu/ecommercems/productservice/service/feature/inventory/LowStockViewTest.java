@@ -0,0 +1,81 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.inventory;
+
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.LowStockEntry;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.StockChangedEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the materialized low-stock set
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LowStockView Tests")
+class LowStockViewTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private BulkOperations entries;
+
+    private LowStockView view;
+
+    @BeforeEach
+    void setUp() {
+        view = new LowStockView(mongoTemplate, productMapper, 10, false);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LowStockEntry.class)).thenReturn(entries);
+    }
+
+    @Test
+    @DisplayName("Should track a product at or below its own threshold")
+    void shouldUpsertLowProduct() {
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of(Product.builder()
+                .id("p1").status(ProductStatus.ACTIVE).stockQuantity(15).lowStockThreshold(20).build()));
+
+        view.onStockChanged(StockChangedEvent.builder().productId("p1").newStock(15).build());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(entries).upsert(any(Query.class), update.capture());
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("stockQuantity", 15)
+                .containsEntry("threshold", 20);
+        verify(entries, never()).remove(any(Query.class));
+        verify(entries).execute();
+    }
+
+    @Test
+    @DisplayName("Should drop products that are restocked, inactive or deleted")
+    void shouldRemoveProductsNoLongerLow() {
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of(
+                Product.builder().id("p1").status(ProductStatus.ACTIVE).stockQuantity(50).build(),
+                Product.builder().id("p2").status(ProductStatus.INACTIVE).stockQuantity(0).build()));
+
+        view.refresh(List.of("p1", "p2", "p3"));
+
+        verify(entries, times(3)).remove(any(Query.class));
+        verify(entries, never()).upsert(any(Query.class), any(Update.class));
+    }
+}
@@ -0,0 +1,113 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.inventory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.nguyenvu.ecommercems.productservice.model.StockMovement;
+import com.nguyenvu.ecommercems.productservice.model.enums.MovementType;
+import com.nguyenvu.ecommercems.productservice.repository.StockMovementRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the buffered stock movement journal
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockMovementJournal Tests")
+class StockMovementJournalTest {
+
+    @Mock
+    private StockMovementRepository repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulk;
+
+    @Test
+    @DisplayName("Should buffer movements and write them in batch inserts")
+    void shouldFlushInBatches() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockMovement.class)).thenReturn(bulk);
+        StockMovementJournal journal = new StockMovementJournal(mongoTemplate, repository, 10, 2);
+        for (int i = 0; i < 3; i++) {
+            journal.record(movement());
+        }
+        verifyNoInteractions(repository, mongoTemplate);
+
+        assertThat(journal.flush()).isEqualTo(3);
+
+        verify(bulk).insert(argThat((List<? extends Object> batch) -> batch.size() == 2));
+        verify(bulk).insert(argThat((List<? extends Object> batch) -> batch.size() == 1));
+        verify(bulk, times(2)).execute();
+        assertThat(journal.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write synchronously instead of dropping when the buffer is full")
+    void shouldWriteThroughWhenFull() {
+        StockMovementJournal journal = new StockMovementJournal(mongoTemplate, repository, 1, 10);
+        journal.record(movement());
+        StockMovement overflow = movement();
+
+        journal.record(overflow);
+
+        verify(repository).insert(overflow);
+        assertThat(overflow.getId()).isNotBlank();
+        verifyNoInteractions(mongoTemplate);
+        assertThat(journal.pending()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch with the same IDs, treat landed entries as written and give up when bounded")
+    void shouldRetryFailedBatch() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockMovement.class)).thenReturn(bulk);
+        StockMovementJournal journal = new StockMovementJournal(mongoTemplate, repository, 10, 10);
+        StockMovement first = movement();
+        journal.record(first);
+        journal.record(movement());
+        BulkWriteResult partial = BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of());
+        when(bulk.execute())
+                .thenThrow(new DataAccessResourceFailureException("connection reset"))
+                .thenThrow(new BulkOperationException("duplicate", new MongoBulkWriteException(partial, List.of(
+                        new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 0)),
+                        null, new ServerAddress(), Set.of())))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThat(journal.flush()).isZero();
+        assertThat(journal.pending()).isEqualTo(2);
+        assertThat(journal.flush()).isEqualTo(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockMovement>> batches = ArgumentCaptor.forClass(List.class);
+        verify(bulk, times(2)).insert(batches.capture());
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch.get(0).getId()).isEqualTo(first.getId()));
+
+        journal.record(movement());
+        for (int i = 0; i < StockMovementJournal.MAX_FLUSH_ATTEMPTS; i++) {
+            assertThat(journal.flush()).isZero();
+        }
+        assertThat(journal.pending()).isZero();
+    }
+
+    private static StockMovement movement() {
+        return StockMovement.orderMove("p1", MovementType.RESERVE, -1, "o1", "Stock reserved");
+    }
+}
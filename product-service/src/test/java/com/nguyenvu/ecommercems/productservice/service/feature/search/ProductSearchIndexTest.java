@@ -0,0 +1,87 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.Manufacturer;
+import com.nguyenvu.ecommercems.productservice.model.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the in-memory product search index
+ */
+@DisplayName("ProductSearchIndex Tests")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index(Product.builder().id("P1").title("Clean Code").subtitle("A Handbook of Agile Software Craftsmanship")
+                .suppliers(List.of(Supplier.builder().name("Robert Martin").build()))
+                .manufacturer(Manufacturer.builder().name("Prentice Hall").build())
+                .build());
+        index(Product.builder().id("P2").title("Clean Architecture")
+                .suppliers(List.of(Supplier.builder().name("Robert Martin").build()))
+                .tags(List.of("software"))
+                .build());
+        index(Product.builder().id("P3").title("Lập trình Java căn bản")
+                .subjects(List.of("Programming"))
+                .build());
+        index.markReady();
+    }
+
+    @Test
+    @DisplayName("Should require every term and rank title matches first")
+    void shouldMatchAllTermsAndRank() {
+        ProductSearchIndex.SearchHits hits = index.search("clean software", 0, 10);
+
+        assertThat(hits.getTotalHits()).isEqualTo(2);
+        assertThat(hits.getProductIds()).containsExactly("P1", "P2");
+    }
+
+    @Test
+    @DisplayName("Should match supplier names and the last term as prefix")
+    void shouldMatchSupplierAndPrefix() {
+        assertThat(index.search("martin arch", 0, 10).getProductIds()).containsExactly("P2");
+        assertThat(index.search("prentice", 0, 10).getProductIds()).containsExactly("P1");
+    }
+
+    @Test
+    @DisplayName("Should fold accents in documents and queries")
+    void shouldFoldAccents() {
+        assertThat(index.search("lap trinh", 0, 10).getProductIds()).containsExactly("P3");
+        assertThat(index.search("CĂN BẢN", 0, 10).getProductIds()).containsExactly("P3");
+    }
+
+    @Test
+    @DisplayName("Should page ranked hits and keep the total")
+    void shouldPageHits() {
+        ProductSearchIndex.SearchHits page = index.search("robert", 1, 1);
+
+        assertThat(page.getTotalHits()).isEqualTo(2);
+        assertThat(page.getProductIds()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should drop old terms on reindex and on removal")
+    void shouldApplyIncrementalUpdates() {
+        index(Product.builder().id("P2").title("Refactoring").build());
+
+        assertThat(index.search("architecture", 0, 10).getTotalHits()).isZero();
+        assertThat(index.search("refactoring", 0, 10).getProductIds()).containsExactly("P2");
+
+        index.remove("P2");
+        assertThat(index.search("refactoring", 0, 10).getTotalHits()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private void index(Product product) {
+        index.index(product);
+    }
+}
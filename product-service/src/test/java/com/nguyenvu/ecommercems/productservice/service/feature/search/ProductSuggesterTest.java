@@ -0,0 +1,90 @@
+package com.nguyenvu.ecommercems.productservice.service.feature.search;
+
+import com.nguyenvu.ecommercems.productservice.dto.SuggestionDTO;
+import com.nguyenvu.ecommercems.productservice.model.Manufacturer;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.Supplier;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Sales;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Seo;
+import com.nguyenvu.ecommercems.productservice.model.enums.SuggestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for prefix autocomplete
+ */
+@DisplayName("ProductSuggester Tests")
+class ProductSuggesterTest {
+
+    private ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ProductSuggester();
+        suggester.index(product("P1", "Clean Code", "clean-code-handbook", 500L, "Robert Martin"));
+        suggester.index(product("P2", "Clean Architecture", null, 100L, "Robert Martin"));
+        suggester.index(product("P3", "Cleaning Guide", null, 900L, "Marie Kondo"));
+        suggester.markReady();
+    }
+
+    @Test
+    @DisplayName("Should rank completions by sales")
+    void shouldRankBySales() {
+        List<SuggestionDTO> suggestions = suggester.suggest("clea", 10);
+
+        assertThat(suggestions).extracting(SuggestionDTO::getText)
+                .containsExactly("Cleaning Guide", "Clean Code", "Clean Architecture");
+        assertThat(suggestions.get(1).getProductId()).isEqualTo("P1");
+        assertThat(suggestions.get(1).getSlug()).isEqualTo("clean-code-handbook");
+    }
+
+    @Test
+    @DisplayName("Should complete from inner words, slugs and shared names")
+    void shouldCompleteInnerWordsAndNames() {
+        assertThat(suggester.suggest("arch", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Clean Architecture");
+        assertThat(suggester.suggest("handb", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Clean Code");
+
+        SuggestionDTO supplier = suggester.suggest("mart", 10).get(0);
+        assertThat(supplier.getType()).isEqualTo(SuggestionType.SUPPLIER);
+        assertThat(supplier.getText()).isEqualTo("Robert Martin");
+        assertThat(supplier.getScore()).isEqualTo(602L);
+    }
+
+    @Test
+    @DisplayName("Should keep a trailing space as a word boundary")
+    void shouldRespectWordBoundary() {
+        assertThat(suggester.suggest("clean ", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Clean Code", "Clean Architecture");
+    }
+
+    @Test
+    @DisplayName("Should apply incremental updates and removals")
+    void shouldApplyIncrementalUpdates() {
+        suggester.index(product("P3", "Tidying Up", null, 900L, "Marie Kondo"));
+        suggester.remove("P2");
+
+        assertThat(suggester.suggest("clea", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Clean Code");
+        assertThat(suggester.suggest("tidy", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Tidying Up");
+        assertThat(suggester.suggest("robert", 10).get(0).getScore()).isEqualTo(501L);
+    }
+
+    private Product product(String id, String title, String slug, Long sold, String supplierName) {
+        return Product.builder()
+                .id(id)
+                .title(title)
+                .seo(slug != null ? Seo.builder().slug(slug).build() : null)
+                .sales(Sales.builder().totalSold(sold).build())
+                .suppliers(List.of(Supplier.builder().name(supplierName).build()))
+                .manufacturer(Manufacturer.builder().name("Acme Press").build())
+                .build();
+    }
+}
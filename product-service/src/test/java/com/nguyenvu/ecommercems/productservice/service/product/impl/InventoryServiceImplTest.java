@@ -0,0 +1,329 @@
+package com.nguyenvu.ecommercems.productservice.service.product.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nguyenvu.ecommercems.productservice.dto.ApiResponse;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.mapper.StockMovementMapper;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.StockReservation;
+import com.nguyenvu.ecommercems.productservice.model.enums.MovementType;
+import com.nguyenvu.ecommercems.productservice.model.enums.ReservationStatus;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.LowStockView;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockMovementJournal;
+import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for atomic stock reservation and order-level settlement
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryServiceImpl Tests")
+class InventoryServiceImplTest {
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductCacheService cacheService;
+
+    @Mock
+    private ProductDomainEventPublisher eventPublisher;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockMovementJournal movementJournal;
+
+    @Mock
+    private StockMovementMapper movementMapper;
+
+    @Mock
+    private LowStockView lowStockView;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations productBulk;
+
+    private InventoryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventoryServiceImpl(productMapper, cacheService, eventPublisher, productRepository,
+                movementJournal, movementMapper, lowStockView);
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "mongoTemplate", mongoTemplate, null);
+        ReflectionTestUtils.setField(service, "reservationTtl", Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should record the reservation as pending, take stock conditionally, then mark it reserved")
+    void shouldReserveAtomically() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Product.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        ApiResponse response = service.reserveStock("p1", 2, "o1");
+
+        assertThat(response.isSuccess()).isTrue();
+        InOrder order = inOrder(mongoTemplate);
+        ArgumentCaptor<StockReservation> reservation = ArgumentCaptor.forClass(StockReservation.class);
+        order.verify(mongoTemplate).insert(reservation.capture());
+        ArgumentCaptor<Query> condition = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> taken = ArgumentCaptor.forClass(Update.class);
+        order.verify(mongoTemplate).updateFirst(condition.capture(), taken.capture(), eq(Product.class));
+        ArgumentCaptor<Update> marked = ArgumentCaptor.forClass(Update.class);
+        order.verify(mongoTemplate).updateFirst(any(Query.class), marked.capture(), eq(StockReservation.class));
+
+        assertThat(reservation.getValue().getId()).isEqualTo("o1:p1");
+        assertThat(reservation.getValue().getStatus()).isEqualTo(ReservationStatus.PENDING);
+        String token = reservation.getValue().getToken();
+        assertThat(condition.getValue().getQueryObject().toJson()).contains("availableQuantity", "$gte");
+        assertThat(condition.getValue().getQueryObject().get("reservationTokens", Document.class))
+                .containsEntry("$ne", token);
+        assertThat(taken.getValue().getUpdateObject().get("$push", Document.class)).containsKey("reservationTokens");
+        assertThat(marked.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("status", ReservationStatus.RESERVED);
+        verify(productRepository, never()).save(any());
+        verify(movementJournal).record(argThat(movement -> movement.getMovementType() == MovementType.RESERVE
+                && movement.getDelta() == -2 && "o1".equals(movement.getOrderId())));
+    }
+
+    @Test
+    @DisplayName("Should drop the pending reservation when stock is short")
+    void shouldRefuseWhenStockIsShort() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Product.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        ApiResponse response = service.reserveStock("p1", 5, "o1");
+
+        assertThat(response.isSuccess()).isFalse();
+        verify(mongoTemplate).remove(argThat((Query query) -> "o1:p1".equals(query.getQueryObject().get("_id"))),
+                eq(StockReservation.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(StockReservation.class));
+        verifyNoInteractions(movementJournal);
+    }
+
+    @Test
+    @DisplayName("Should refuse a reservation past the open-reservation bound instead of dropping tokens")
+    void shouldRefuseWhenTokensAreFull() {
+        String lastSlot = "reservationTokens." + (InventoryServiceImpl.MAX_OPEN_RESERVATIONS - 1);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Product.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(Product.class))).thenReturn(true);
+
+        ApiResponse response = service.reserveStock("p1", 1, "o1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).startsWith("Too many open reservations");
+        verify(mongoTemplate).updateFirst(argThat((Query query) -> query.getQueryObject().containsKey(lastSlot)),
+                argThat((Update update) -> !update.getUpdateObject().toString().contains("$slice")), eq(Product.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(StockReservation.class));
+    }
+
+    @Test
+    @DisplayName("Should resolve stale pending reservations from the tokens on their products")
+    void shouldResolveStalePending() {
+        StockReservation held = pending("o1", "p1", "t1");
+        StockReservation neverTaken = pending("o2", "p2", "t2");
+        when(mongoTemplate.find(any(Query.class), eq(StockReservation.class))).thenReturn(List.of(held, neverTaken), List.of());
+        // Only p2 still lacks its token, so only its push matches
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Product.class))).thenAnswer(call -> {
+            long modified = "p2".equals(call.<Query>getArgument(0).getQueryObject().get("_id")) ? 1 : 0;
+            return UpdateResult.acknowledged(modified, modified, null);
+        });
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(StockReservation.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        service.expireReservations();
+
+        verify(mongoTemplate).updateFirst(argThat((Query query) -> "o1:p1".equals(query.getQueryObject().get("_id"))),
+                argThat((Update update) -> ReservationStatus.RESERVED.equals(
+                        update.getUpdateObject().get("$set", Document.class).get("status"))),
+                eq(StockReservation.class));
+        verify(mongoTemplate).remove(argThat((Query query) -> "o2:p2".equals(query.getQueryObject().get("_id"))),
+                eq(StockReservation.class));
+        verify(mongoTemplate, never()).remove(argThat((Query query) -> "o1:p1".equals(query.getQueryObject().get("_id"))),
+                eq(StockReservation.class));
+    }
+
+    @Test
+    @DisplayName("Should set stock with one pipeline update that derives availability")
+    void shouldSetStockInPlace() {
+        Product previous = Product.builder().id("p1").stockQuantity(3).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(Product.class))).thenReturn(previous);
+
+        ApiResponse response = service.updateStock("p1", 8);
+
+        assertThat(response.isSuccess()).isTrue();
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(Product.class));
+        assertThat(update.getValue()).isInstanceOf(AggregationUpdate.class);
+        assertThat(update.getValue().getUpdateObject().toString()).contains("availability", "availableQuantity");
+        verify(productRepository, never()).save(any());
+        verify(eventPublisher).publishStockChangedEvent(eq("p1"), eq(3), eq(8), anyString(), any());
+        verify(cacheService).evictSearchResults(previous);
+    }
+
+    @Test
+    @DisplayName("Should cap stock reports instead of loading every matching product")
+    void shouldCapStockReports() {
+        when(lowStockView.first(ProductServiceConstants.MAX_STOCK_REPORT_SIZE)).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of());
+
+        service.getLowStockProducts((Integer) null);
+        service.getOutOfStockProducts();
+
+        verify(lowStockView, never()).stream();
+        verify(mongoTemplate).find(argThat((Query query) -> query.getLimit() == ProductServiceConstants.MAX_STOCK_REPORT_SIZE
+                && query.getFieldsObject().containsKey("reservationTokens")), eq(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should release against the product of the reservation")
+    void shouldReleaseToReservedProduct() {
+        StockReservation drained = StockReservation.builder().id("o1:p1").productId("p1").quantity(0).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(StockReservation.class))).thenReturn(drained);
+
+        ApiResponse response = service.releaseReservedStock("p1", 2, "o1");
+
+        assertThat(response.isSuccess()).isTrue();
+        ArgumentCaptor<Query> product = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(product.capture(), any(Update.class), eq(Product.class));
+        assertThat(product.getValue().getQueryObject().get("_id")).isEqualTo("p1");
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(StockReservation.class));
+        verify(cacheService).evictById("p1");
+    }
+
+    @Test
+    @DisplayName("Should confirm every line of an order with one claim, one product bulk write and one finish")
+    void shouldConfirmOrderInOneBulk() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(StockReservation.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+        when(mongoTemplate.find(any(Query.class), eq(StockReservation.class))).thenReturn(List.of(
+                line("p1", 1), line("p2", 2), line("p3", 3)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(productBulk);
+        when(mongoTemplate.find(any(Query.class), eq(Product.class)))
+                .thenReturn(List.of(Product.builder().id("p1").stockQuantity(4).build()));
+
+        ApiResponse response = service.confirmReservedStock("o1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData()).isEqualTo(3);
+        InOrder order = inOrder(mongoTemplate, productBulk);
+        ArgumentCaptor<Update> claim = ArgumentCaptor.forClass(Update.class);
+        order.verify(mongoTemplate).updateMulti(any(Query.class), claim.capture(), eq(StockReservation.class));
+        order.verify(productBulk).execute();
+        ArgumentCaptor<Update> finish = ArgumentCaptor.forClass(Update.class);
+        order.verify(mongoTemplate).updateMulti(any(Query.class), finish.capture(), eq(StockReservation.class));
+        assertThat(claim.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("status", ReservationStatus.SETTLING)
+                .containsEntry("settleAs", ReservationStatus.CONFIRMED);
+        assertThat(finish.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("status", ReservationStatus.CONFIRMED);
+
+        ArgumentCaptor<Query> held = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> sold = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(productBulk, times(3)).updateOne(held.capture(), sold.capture());
+        assertThat(held.getAllValues()).allSatisfy(query ->
+                assertThat(query.getQueryObject()).containsKey("reservationTokens"));
+        assertThat(sold.getAllValues()).allSatisfy(update -> {
+            assertThat(update).isInstanceOf(AggregationUpdate.class);
+            assertThat(update.getUpdateObject().toString()).contains("stockQuantity", "availability", "reservationTokens");
+        });
+        verify(movementJournal, times(3)).record(argThat(movement -> movement.getMovementType() == MovementType.SALE));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Product.class));
+        verify(cacheService).evictByIds(List.of("p1", "p2", "p3"));
+        verify(eventPublisher).publishStockChangedEvent(eq("p1"), eq(5), eq(4), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should finish a settlement left settling by a crash with its recorded final status")
+    void shouldFinishStuckSettlement() {
+        StockReservation stuck = StockReservation.builder().settlementId("s1").settleAs(ReservationStatus.EXPIRED).build();
+        when(mongoTemplate.find(any(Query.class), eq(StockReservation.class)))
+                .thenReturn(List.of(), List.of(stuck), List.of(line("p1", 2)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(productBulk);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(StockReservation.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null), UpdateResult.acknowledged(0, 0L, null));
+
+        service.expireReservations();
+
+        ArgumentCaptor<Query> lines = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).find(lines.capture(), eq(StockReservation.class));
+        assertThat(lines.getAllValues().get(2).getQueryObject()).containsEntry("settlementId", "s1");
+        verify(productBulk).updateOne(any(Query.class), any(UpdateDefinition.class));
+        verify(productBulk).execute();
+        ArgumentCaptor<Update> finish = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), finish.capture(), eq(StockReservation.class));
+        assertThat(finish.getAllValues().get(0).getUpdateObject().get("$set", Document.class))
+                .containsEntry("status", ReservationStatus.EXPIRED);
+        verify(movementJournal).record(argThat(movement -> movement.getMovementType() == MovementType.RELEASE));
+    }
+
+    @Test
+    @DisplayName("Should not touch products when the order has no reserved lines left")
+    void shouldSkipSettledOrder() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(StockReservation.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        ApiResponse response = service.releaseOrderReservations("o1");
+
+        assertThat(response.isSuccess()).isFalse();
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Product.class));
+    }
+
+    private static StockReservation pending(String orderId, String productId, String token) {
+        return StockReservation.builder()
+                .id(StockReservation.idOf(orderId, productId))
+                .orderId(orderId)
+                .productId(productId)
+                .quantity(1)
+                .token(token)
+                .status(ReservationStatus.PENDING)
+                .build();
+    }
+
+    private static StockReservation line(String productId, int quantity) {
+        return StockReservation.builder()
+                .id(StockReservation.idOf("o1", productId))
+                .orderId("o1")
+                .productId(productId)
+                .quantity(quantity)
+                .token("token-" + productId)
+                .build();
+    }
+}
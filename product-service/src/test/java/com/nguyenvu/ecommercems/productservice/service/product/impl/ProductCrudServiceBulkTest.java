@@ -0,0 +1,173 @@
+package com.nguyenvu.ecommercems.productservice.service.product.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.embedded.ProductCategory;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.feature.inventory.StockMovementJournal;
+import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
+import com.nguyenvu.ecommercems.productservice.service.product.validation.ProductValidator;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.model.ProductsBulkChangedEvent;
+import com.nguyenvu.ecommercems.productservice.service.shared.exception.BatchValidationException;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the bulk create and delete paths
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCrudServiceImpl Bulk Tests")
+class ProductCrudServiceBulkTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductValidator productValidator;
+
+    @Mock
+    private ProductDomainEventPublisher eventPublisher;
+
+    @Mock
+    private ProductCacheService cacheService;
+
+    @Mock
+    private StockMovementJournal movementJournal;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private ProductCrudServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductCrudServiceImpl(productRepository, productMapper, productValidator, eventPublisher, cacheService,
+                movementJournal);
+        // Collaborators field-injected into the base class
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "ProductMapper", productMapper, null);
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "mongoTemplate", mongoTemplate, null);
+    }
+
+    @Test
+    @DisplayName("Should insert all products in one bulk write with one event and one invalidation")
+    void shouldCreateInOneBulkWrite() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(bulkOperations);
+        when(productMapper.toEntity(any(ProductDTO.class))).thenAnswer(invocation -> Product.builder()
+                .title(invocation.<ProductDTO>getArgument(0).getTitle())
+                .categories(List.of(ProductCategory.builder().categoryId("books").build()))
+                .build());
+        when(productMapper.toDTO(any(Product.class)))
+                .thenAnswer(invocation -> ProductDTO.builder().id(invocation.<Product>getArgument(0).getId()).build());
+
+        List<ProductDTO> created = service.createProducts(List.of(
+                ProductDTO.builder().title("A").build(),
+                ProductDTO.builder().title("B").build(),
+                ProductDTO.builder().title("C").build()));
+
+        assertThat(created).hasSize(3).allSatisfy(dto -> assertThat(dto.getId()).isNotBlank());
+        verify(bulkOperations).insert(argThat((List<? extends Object> products) -> products.size() == 3));
+        verify(bulkOperations, times(1)).execute();
+        verify(productRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishProductsBulkChangedEvent(
+                argThat(ids -> ids.size() == 3), eq(ProductsBulkChangedEvent.Operation.CREATED), any());
+        verify(eventPublisher, never()).publishProductCreatedEvent(any(), any(), any(), any(), any());
+        verify(cacheService, times(1)).evictAll();
+        verify(cacheService, times(1)).evictByCategory("books");
+        verify(cacheService, times(1)).evictSearchResults(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should report the IDs of inserted rows alongside the rows that failed")
+    void shouldReportInsertedIdsOnPartialFailure() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(bulkOperations);
+        when(productMapper.toEntity(any(ProductDTO.class))).thenAnswer(invocation -> Product.builder()
+                .title(invocation.<ProductDTO>getArgument(0).getTitle())
+                .build());
+        BulkWriteResult partial = BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of());
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("duplicate", new MongoBulkWriteException(partial,
+                List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of())));
+
+        assertThatThrownBy(() -> service.createProducts(List.of(
+                ProductDTO.builder().title("A").build(),
+                ProductDTO.builder().title("B").build(),
+                ProductDTO.builder().title("C").build())))
+                .isInstanceOfSatisfying(BatchValidationException.class, e -> {
+                    assertThat(e.getErrors()).containsOnlyKeys(1);
+                    assertThat(e.getWrittenIds()).containsOnlyKeys(0, 2)
+                            .allSatisfy((row, id) -> assertThat(id).isNotBlank());
+                });
+        verify(eventPublisher).publishProductsBulkChangedEvent(
+                argThat(ids -> ids.size() == 2), eq(ProductsBulkChangedEvent.Operation.CREATED), any());
+    }
+
+    @Test
+    @DisplayName("Should surface per-row validation errors unwrapped")
+    void shouldRethrowBatchValidationErrors() {
+        List<ProductDTO> rows = List.of(ProductDTO.builder().title("A").build(), ProductDTO.builder().build());
+        when(productValidator.validateBatchForCreate(eq(rows), anyBoolean())).thenReturn(Map.of(1, "Title is required"));
+
+        assertThatThrownBy(() -> service.createProducts(rows))
+                .isInstanceOfSatisfying(BatchValidationException.class,
+                        e -> assertThat(e.getErrors()).containsEntry(1, "Title is required"));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should soft delete distinct products with one update, one event and one batched eviction")
+    void shouldSoftDeleteInOneBulkWrite() {
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of(
+                Product.builder().id("p1").build(),
+                Product.builder().id("p2").build()));
+
+        service.deleteProductsByIds(List.of("p1", "p2", "p1"));
+
+        ArgumentCaptor<Query> condition = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(condition.capture(), argThat((Update update) ->
+                update.getUpdateObject().get("$set", Document.class).get("status").toString().equals("INACTIVE")),
+                eq(Product.class));
+        assertThat(condition.getValue().getQueryObject().toJson()).contains("\"$in\": [\"p1\", \"p2\"]");
+        verify(productRepository, never()).findAllById(any());
+        verify(productRepository, never()).deleteById(any());
+        verify(eventPublisher, times(1)).publishProductsBulkChangedEvent(
+                eq(List.of("p1", "p2")), eq(ProductsBulkChangedEvent.Operation.DELETED), any());
+        verify(cacheService, times(1)).evictByIds(List.of("p1", "p2"));
+        verify(cacheService, never()).evictById(any());
+        verify(cacheService, times(1)).evictAll();
+    }
+}
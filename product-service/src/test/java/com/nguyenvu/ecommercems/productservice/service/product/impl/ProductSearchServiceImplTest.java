@@ -0,0 +1,154 @@
+package com.nguyenvu.ecommercems.productservice.service.product.impl;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.dto.ProductListResponse;
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.dto.SearchFacets;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.CountStrategy;
+import com.nguyenvu.ecommercems.productservice.model.enums.ProductStatus;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.feature.search.ProductSearchIndex;
+import com.nguyenvu.ecommercems.productservice.service.feature.search.ProductSuggester;
+import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.CountedPage;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.SearchCursorCodec;
+import com.nguyenvu.ecommercems.productservice.service.product.pagination.TotalCountResolver;
+import com.nguyenvu.ecommercems.productservice.service.product.projection.ProductFieldProjection;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.CachedProductLoader;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.SearchResultCache;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for faceted search and limit pushdown of the "by X" lookups
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchServiceImpl Tests")
+class ProductSearchServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductFieldProjection fieldProjection;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductSuggester suggester;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private CachedProductLoader productLoader;
+
+    private ProductSearchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductSearchServiceImpl(productRepository, productMapper, mongoTemplate,
+                new SearchCursorCodec(), fieldProjection, searchIndex, suggester, searchResultCache, productLoader);
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "ProductMapper", productMapper, null);
+    }
+
+    @Test
+    @DisplayName("Should return every facet from one aggregation, grouping manufacturers on the stored id")
+    void shouldReturnAllFacets() {
+        Document result = new Document("results", List.of())
+                .append("total", List.of(new Document("count", 7)))
+                .append("categories", List.of(facet("c1", "Books", 4)))
+                .append("availability", List.of(facet("IN_STOCK", null, 7)))
+                .append("types", List.of(facet("BOOK", null, 7)))
+                .append("manufacturers", List.of(facet("m1", "Acme", 3)))
+                .append("priceRanges", List.of(new Document("_id", new Decimal128(BigDecimal.TEN)).append("count", 5)));
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+
+        ProductListResponse response = service.advancedSearchWithFacets(new ProductSearchCriteria(), PageRequest.of(0, 10));
+
+        SearchFacets facets = response.getFacets();
+        assertThat(facets.getCategories()).isNotEmpty();
+        assertThat(facets.getAvailability()).isNotEmpty();
+        assertThat(facets.getTypes()).isNotEmpty();
+        assertThat(facets.getManufacturers()).extracting(SearchFacets.FacetCount::getLabel).containsExactly("Acme");
+        assertThat(facets.getPriceRanges()).isNotEmpty();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<TypedAggregation<?>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Document.class));
+        String pipeline = aggregation.getValue().toDocument("products", Aggregation.DEFAULT_CONTEXT).toString();
+        assertThat(pipeline).contains("$manufacturer._id").doesNotContain("manufacturer.manufacturerId=");
+    }
+
+    @Test
+    @DisplayName("Should cap the active-product total under the estimated count strategy instead of reading metadata")
+    void shouldCapActiveListingTotalWhenEstimating() {
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "mongoTemplate", mongoTemplate, null);
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "totalCountResolver",
+                new TotalCountResolver(mongoTemplate, new ConcurrentMapCacheManager(), CountStrategy.ESTIMATED), null);
+        when(mongoTemplate.find(any(Query.class), eq(Product.class)))
+                .thenReturn(List.of(Product.builder().id("p1").build(), Product.builder().id("p2").build()));
+        when(mongoTemplate.count(any(Query.class), eq(Product.class)))
+                .thenReturn((long) ProductServiceConstants.ESTIMATED_COUNT_LIMIT);
+
+        Page<ProductDTO> page = service.advancedSearch(null, PageRequest.of(0, 2));
+
+        assertThat(page).isInstanceOfSatisfying(CountedPage.class, counted -> assertThat(counted.isTotalExact()).isFalse());
+        assertThat(page.getTotalElements()).isEqualTo(ProductServiceConstants.ESTIMATED_COUNT_LIMIT);
+        verify(mongoTemplate).count(argThat((Query query) -> query.getLimit() == ProductServiceConstants.ESTIMATED_COUNT_LIMIT
+                && ProductStatus.ACTIVE.equals(query.getQueryObject().get("status"))), eq(Product.class));
+        verify(mongoTemplate, never()).estimatedCount(Product.class);
+    }
+
+    @Test
+    @DisplayName("Should push the limit into the repository query")
+    void shouldPushLimitDown() {
+        when(productRepository.findByCategoryId("c1", PageRequest.of(0, 5))).thenReturn(List.of());
+
+        assertThat(service.getProductsByCategory("c1", 5)).isEmpty();
+
+        verify(productRepository).findByCategoryId("c1", PageRequest.of(0, 5));
+    }
+
+    private static Document facet(String value, String label, int count) {
+        return new Document("_id", value).append("label", label).append("count", count);
+    }
+}
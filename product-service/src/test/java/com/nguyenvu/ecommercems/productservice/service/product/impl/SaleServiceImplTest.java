@@ -0,0 +1,117 @@
+package com.nguyenvu.ecommercems.productservice.service.product.impl;
+
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.SalesBucket;
+import com.nguyenvu.ecommercems.productservice.service.product.base.AbstractProductService;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounter;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounters;
+import com.nguyenvu.ecommercems.productservice.service.shared.event.publisher.ProductDomainEventPublisher;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for batched sales recording
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SaleServiceImpl Tests")
+class SaleServiceImplTest {
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductDomainEventPublisher eventPublisher;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ShardedCounters counters;
+
+    @Mock
+    private BulkOperations bucketBulk;
+
+    @Captor
+    private ArgumentCaptor<Map<String, Map<String, Number>>> deltas;
+
+    private SaleServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SaleServiceImpl(productMapper, eventPublisher, counters);
+        ReflectionTestUtils.setField(service, AbstractProductService.class, "mongoTemplate", mongoTemplate, null);
+    }
+
+    @Test
+    @DisplayName("Should record many products with one counter write and one bucket bulk write")
+    void shouldRecordSalesInTwoBulkWrites() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesBucket.class)).thenReturn(bucketBulk);
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("p1", 3);
+        quantities.put("p2", 1);
+
+        service.recordSales(quantities);
+
+        verify(counters).incrementAllOnce(eq(ShardedCounter.PRODUCT_SALES), deltas.capture(), anyString());
+        assertThat(deltas.getValue()).containsOnlyKeys("p1", "p2");
+        assertThat(deltas.getValue().get("p1")).containsEntry("sales.totalSold", 3L)
+                .containsEntry("sales.dailySold", 3)
+                .containsEntry("sales.yearlySold", 3);
+        verify(bucketBulk, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bucketBulk).execute();
+        verify(eventPublisher).publishSalesBatchRecordedEvent(eq(quantities), any());
+        verify(eventPublisher, never()).publishSalesRecordedEvent(anyString(), any(), anyInt(),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry the bucket and counter writes together under the same sale ID")
+    void shouldRetryPairWithSameSaleId() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesBucket.class)).thenReturn(bucketBulk);
+        doThrow(new DataAccessResourceFailureException("timeout")).doNothing()
+                .when(counters).incrementAllOnce(eq(ShardedCounter.PRODUCT_SALES), anyMap(), anyString());
+
+        service.recordSale("p1", 2);
+
+        ArgumentCaptor<String> saleIds = ArgumentCaptor.forClass(String.class);
+        verify(counters, times(2)).incrementAllOnce(eq(ShardedCounter.PRODUCT_SALES), anyMap(), saleIds.capture());
+        assertThat(saleIds.getAllValues()).hasSize(2).containsOnly(saleIds.getValue());
+        ArgumentCaptor<Query> bucket = ArgumentCaptor.forClass(Query.class);
+        verify(bucketBulk, times(2)).upsert(bucket.capture(), any(Update.class));
+        assertThat(bucket.getValue().getQueryObject().get("saleIds", Document.class))
+                .containsEntry("$ne", saleIds.getValue());
+        verify(bucketBulk, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive quantities before writing")
+    void shouldRejectInvalidQuantities() {
+        assertThatThrownBy(() -> service.recordSale("p1", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.recordSales(Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(mongoTemplate, counters, eventPublisher);
+    }
+}
@@ -0,0 +1,108 @@
+package com.nguyenvu.ecommercems.productservice.service.product.impl;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.SalesBucket;
+import com.nguyenvu.ecommercems.productservice.model.enums.SalesWindow;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the incremental rolling window rollover
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesWindowRollover Tests")
+class SalesWindowRolloverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations productBulk;
+
+    @Mock
+    private ProductCacheService cacheService;
+
+    @Test
+    @DisplayName("Should mark buckets that left the window, then subtract them from the products")
+    void shouldSubtractExpiredBuckets() {
+        SalesWindowRollover rollover = new SalesWindowRollover(mongoTemplate, cacheService, 2,
+                Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+        when(mongoTemplate.find(any(Query.class), eq(SalesBucket.class))).thenReturn(
+                List.of(bucket("p1", 3), bucket("p2", 1)),
+                List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(productBulk);
+
+        long expired = rollover.expire(SalesWindow.WEEKLY, TODAY, null);
+
+        assertThat(expired).isEqualTo(2);
+        ArgumentCaptor<Query> due = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(due.capture(), eq(SalesBucket.class));
+        assertThat(due.getValue().getQueryObject().get("dayStart", Document.class).get("$lt"))
+                .isEqualTo(SalesBucket.dayStartOf(LocalDate.of(2025, 3, 4)));
+
+        InOrder order = inOrder(mongoTemplate, productBulk, cacheService);
+        order.verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(SalesBucket.class));
+        ArgumentCaptor<Update> decrement = ArgumentCaptor.forClass(Update.class);
+        order.verify(productBulk, times(2)).updateOne(any(Query.class), decrement.capture());
+        order.verify(productBulk).execute();
+        order.verify(cacheService).evictByIds(List.of("p1", "p2"));
+        assertThat(decrement.getAllValues().get(0).getUpdateObject().get("$inc", Document.class))
+                .containsEntry("sales.weeklySold", -3);
+    }
+
+    @Test
+    @DisplayName("Should scan only from the window's watermark and advance it after the window is done")
+    void shouldScanFromWatermark() {
+        SalesWindowRollover rollover = new SalesWindowRollover(mongoTemplate, cacheService, 2,
+                Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+        Date watermark = Date.from(SalesBucket.dayStartOf(LocalDate.of(2025, 3, 3)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("scheduler_locks")))
+                .thenReturn(new Document("watermarks", new Document(SalesWindow.WEEKLY.name(), watermark)));
+        when(mongoTemplate.find(any(Query.class), eq(SalesBucket.class))).thenReturn(List.of());
+
+        rollover.rollover();
+
+        ArgumentCaptor<Query> due = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(SalesWindow.values().length)).find(due.capture(), eq(SalesBucket.class));
+        Document weekly = due.getAllValues().get(SalesWindow.WEEKLY.ordinal()).getQueryObject().get("dayStart", Document.class);
+        assertThat(weekly.get("$gte")).isEqualTo(watermark.toInstant());
+        ArgumentCaptor<Update> advance = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(SalesWindow.values().length + 1))
+                .updateFirst(any(Query.class), advance.capture(), eq("scheduler_locks"));
+        assertThat(advance.getAllValues().get(SalesWindow.WEEKLY.ordinal()).getUpdateObject().get("$max", Document.class))
+                .containsEntry("watermarks.WEEKLY", Date.from(SalesBucket.dayStartOf(LocalDate.of(2025, 3, 4))));
+    }
+
+    private SalesBucket bucket(String productId, long quantity) {
+        return SalesBucket.builder()
+                .id(SalesBucket.idOf(productId, LocalDate.of(2025, 3, 3)))
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nguyenvu.ecommercems.productservice.service.product.pagination;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for keyset cursor encoding
+ */
+@DisplayName("SearchCursorCodec Tests")
+class SearchCursorCodecTest {
+
+    private final SearchCursorCodec codec = new SearchCursorCodec();
+
+    @Test
+    @DisplayName("Should round-trip date sort value and ObjectId")
+    void shouldRoundTripDateAndObjectId() {
+        // Given
+        ObjectId id = new ObjectId();
+        Date createdAt = new Date(1_700_000_000_000L);
+        Document last = new Document("_id", id).append("createdAt", createdAt);
+
+        // When
+        String token = codec.encode(Sort.Order.desc("createdAt"), last);
+        SearchCursor cursor = codec.decode(token);
+
+        // Then
+        assertThat(cursor.getSortField()).isEqualTo("createdAt");
+        assertThat(cursor.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(cursor.getLastValue()).isEqualTo(createdAt);
+        assertThat(cursor.getLastId()).isEqualTo(id);
+        assertThat(cursor.matches(Sort.Order.desc("createdAt"))).isTrue();
+        assertThat(cursor.matches(Sort.Order.asc("createdAt"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should resolve nested sort field and keep missing values as null")
+    void shouldResolveNestedSortField() {
+        // Given
+        Document withPrice = new Document("_id", "P1")
+                .append("pricing", new Document("salePrice", "199.00"));
+        Document withoutPrice = new Document("_id", "P2");
+
+        // When
+        SearchCursor priced = codec.decode(codec.encode(Sort.Order.asc("pricing.salePrice"), withPrice));
+        SearchCursor unpriced = codec.decode(codec.encode(Sort.Order.asc("pricing.salePrice"), withoutPrice));
+
+        // Then
+        assertThat(priced.getLastValue()).isEqualTo("199.00");
+        assertThat(unpriced.getLastValue()).isNull();
+        assertThat(unpriced.getLastId()).isEqualTo("P2");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> codec.decode("not-a-cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,75 @@
+package com.nguyenvu.ecommercems.productservice.service.product.pagination;
+
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.CountStrategy;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for listing total strategies
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TotalCountResolver Tests")
+class TotalCountResolverTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final Query filter = new Query(Criteria.where("type").is("PHYSICAL"));
+
+    @Test
+    @DisplayName("Should skip counting when a partial page reveals the total")
+    void shouldSkipCountForPartialPage() {
+        TotalCountResolver resolver = new TotalCountResolver(mongoTemplate, cacheManager, CountStrategy.EXACT);
+
+        CountedPage<String> page = resolver.page(List.of("a", "b"), PageRequest.of(2, 5), filter, "key");
+
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.isTotalExact()).isTrue();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should estimate unfiltered totals and bound filtered counts")
+    void shouldEstimateTotals() {
+        TotalCountResolver resolver = new TotalCountResolver(mongoTemplate, cacheManager, CountStrategy.ESTIMATED);
+        when(mongoTemplate.estimatedCount(Product.class)).thenReturn(250_000L);
+        when(mongoTemplate.count(any(Query.class), eq(Product.class)))
+                .thenReturn((long) ProductServiceConstants.ESTIMATED_COUNT_LIMIT);
+
+        assertThat(resolver.count(null, "all")).isEqualTo(TotalCount.approximate(250_000L));
+        assertThat(resolver.count(filter, "key"))
+                .isEqualTo(TotalCount.approximate(ProductServiceConstants.ESTIMATED_COUNT_LIMIT));
+        verify(mongoTemplate).count(argThat(query -> query.getLimit() == ProductServiceConstants.ESTIMATED_COUNT_LIMIT),
+                eq(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should reuse cached counts per criteria key")
+    void shouldReuseCachedCounts() {
+        TotalCountResolver resolver = new TotalCountResolver(mongoTemplate, cacheManager, CountStrategy.CACHED);
+        when(mongoTemplate.count(any(Query.class), eq(Product.class))).thenReturn(42L);
+
+        assertThat(resolver.count(filter, "key")).isEqualTo(TotalCount.exact(42));
+        assertThat(resolver.count(filter, "key")).isEqualTo(TotalCount.approximate(42));
+        verify(mongoTemplate, times(1)).count(any(Query.class), eq(Product.class));
+    }
+}
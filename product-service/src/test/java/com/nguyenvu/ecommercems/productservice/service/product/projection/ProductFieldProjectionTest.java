@@ -0,0 +1,75 @@
+package com.nguyenvu.ecommercems.productservice.service.product.projection;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for listing field projections
+ */
+@DisplayName("ProductFieldProjection Tests")
+class ProductFieldProjectionTest {
+
+    private final ProductFieldProjection projection = new ProductFieldProjection();
+
+    @Test
+    @DisplayName("Should include requested fields plus required sort key")
+    void shouldIncludeRequestedAndRequiredFields() {
+        // Given
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setIncludeFields(List.of("title", "pricing", "description"));
+        criteria.setExcludeFields(List.of("description"));
+        Query query = new Query();
+
+        // When
+        projection.apply(query, criteria, "pricing.salePrice", "id");
+
+        // Then
+        Document fields = query.getFieldsObject();
+        assertThat(fields.keySet()).containsExactlyInAnyOrder("title", "pricing", "id");
+    }
+
+    @Test
+    @DisplayName("Should not exclude fields needed by the sort key")
+    void shouldKeepRequiredFieldsWhenExcluding() {
+        // Given
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setExcludeFields(List.of("description", "pricing"));
+        Query query = new Query();
+
+        // When
+        projection.apply(query, criteria, "pricing.salePrice");
+
+        // Then
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("description", 0));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown projection field")
+    void shouldRejectUnknownField() {
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setIncludeFields(List.of("$where"));
+
+        assertThatThrownBy(() -> projection.apply(new Query(), criteria))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown projection field");
+    }
+
+    @Test
+    @DisplayName("Should restrict card queries to card fields")
+    void shouldApplyCardFields() {
+        Query query = new Query();
+
+        projection.applyCard(query, "rating.average");
+
+        assertThat(query.getFieldsObject().keySet())
+                .containsExactlyInAnyOrderElementsOf(ProductFieldProjection.CARD_FIELDS);
+    }
+}
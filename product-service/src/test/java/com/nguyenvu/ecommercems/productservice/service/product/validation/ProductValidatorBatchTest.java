@@ -0,0 +1,86 @@
+package com.nguyenvu.ecommercems.productservice.service.product.validation;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Manufacturer;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Pricing;
+import com.nguyenvu.ecommercems.productservice.model.embedded.ProductCategory;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for batch creation validation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductValidator Batch Tests")
+class ProductValidatorBatchTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PriceValidator priceValidator;
+
+    @Mock
+    private IsbnValidator isbnValidator;
+
+    @InjectMocks
+    private ProductValidator productValidator;
+
+    @Test
+    @DisplayName("Should report in-batch duplicates, invalid rows and existing SKUs by index with one lookup")
+    void shouldReportErrorsByIndex() {
+        when(productRepository.findSkusIn(any())).thenReturn(List.of(Product.builder().sku("SKU-B").build()));
+
+        Map<Integer, String> errors = productValidator.validateBatchForCreate(List.of(
+                product("SKU-A", "First"),
+                product("SKU-A", "Second"),
+                product("SKU-C", ""),
+                product("SKU-B", "Fourth")), true);
+
+        assertThat(errors).containsOnlyKeys(1, 2, 3);
+        assertThat(errors.get(1)).contains("duplicated in the batch").contains("index 0");
+        assertThat(errors.get(2)).contains("title is required");
+        assertThat(errors.get(3)).isEqualTo(ProductValidator.duplicateSkuMessage("SKU-B"));
+        verify(productRepository, times(1)).findSkusIn(argThat(skus -> Set.copyOf(skus).equals(Set.of("SKU-A", "SKU-B"))));
+        verify(productRepository, never()).existsBySku(anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip the SKU lookup when the unique index is trusted")
+    void shouldSkipLookupWhenIndexIsTrusted() {
+        Map<Integer, String> errors = productValidator.validateBatchForCreate(List.of(
+                product("SKU-A", "First"),
+                product("SKU-A", "Second")), false);
+
+        assertThat(errors).containsOnlyKeys(1);
+        verifyNoInteractions(productRepository);
+    }
+
+    private ProductDTO product(String sku, String title) {
+        return ProductDTO.builder()
+                .sku(sku)
+                .title(title)
+                .suppliers(List.of())
+                .categories(List.of(ProductCategory.builder().categoryId("books").name("Books").build()))
+                .pricing(Pricing.builder().salePrice(BigDecimal.TEN).build())
+                .manufacturer(Manufacturer.builder().manufacturerId("m1").name("NXB Trẻ").build())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nguyenvu.ecommercems.productservice.service.rating;
+
+import com.nguyenvu.ecommercems.productservice.dto.ApiResponse;
+import com.nguyenvu.ecommercems.productservice.dto.ProductRatingRequest;
+import com.nguyenvu.ecommercems.productservice.dto.RatingStatsDTO;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.embedded.Rating;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounter;
+import com.nguyenvu.ecommercems.productservice.service.shared.counter.ShardedCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for atomic rating aggregation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RatingService Tests")
+class RatingServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShardedCounters counters;
+
+    private RatingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RatingService(productRepository, counters);
+    }
+
+    @Test
+    @DisplayName("Should add a rating as one counter increment without loading or saving the product")
+    void shouldIncrementWithoutReadModifyWrite() {
+        when(productRepository.existsActiveById("p1")).thenReturn(true);
+        ProductRatingRequest request = new ProductRatingRequest();
+        request.setRating(4.0);
+
+        ApiResponse response = service.addRating("p1", request);
+
+        assertThat(response.isSuccess()).isTrue();
+        verify(counters).increment(ShardedCounter.PRODUCT_RATINGS, "p1", Map.of(
+                "rating.count", 1, "rating.sum", 4.0, "rating.distribution.4", 1));
+        verify(productRepository, never()).findById(anyString());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should derive average and percentages from stored and pending counters")
+    void shouldDeriveStatsOnRead() {
+        Map<String, Integer> distribution = new HashMap<>(Map.of("5", 1, "3", 1));
+        // Stored before the sum existed: the average stands in for it
+        Rating legacy = Rating.builder().average(4.0).count(2).distribution(distribution).build();
+        when(productRepository.findRatingById("p1")).thenReturn(Optional.of(Product.builder().rating(legacy).build()));
+        when(counters.pending(ShardedCounter.PRODUCT_RATINGS, "p1")).thenReturn(Map.of(
+                "rating.count", 2, "rating.sum", 6.0, "rating.distribution.3", 2));
+
+        RatingStatsDTO stats = service.getRatingStats("p1");
+
+        assertThat(stats.getTotalRatings()).isEqualTo(4);
+        assertThat(stats.getAverageRating()).isEqualTo(3.5);
+        assertThat(stats.getThreeStar()).isEqualTo(3);
+        assertThat(stats.getPercentageThreeStar()).isEqualTo(75.0);
+        assertThat(stats.getPercentageFiveStar()).isEqualTo(25.0);
+        assertThat(stats.getPercentageOneStar()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.mapper.ProductMapper;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.repository.ProductRepository;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for by-id cache read-through
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachedProductLoader Tests")
+class CachedProductLoaderTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Test
+    @DisplayName("Should load only misses in one query, backfill them and keep request order")
+    void shouldLoadMissesOnceInRequestOrder() {
+        CachedProductLoader loader = new CachedProductLoader(cacheManager, stringRedisTemplate, productRepository, productMapper);
+        cacheManager.getCache(ProductServiceConstants.CACHE_PRODUCT_BY_ID).put("p2", ProductDTO.builder().id("p2").build());
+        when(productRepository.findByIdIn(List.of("p3", "p1", "missing"))).thenReturn(List.of(
+                Product.builder().id("p1").build(),
+                Product.builder().id("p3").build()));
+        when(productMapper.toDTO(any(Product.class)))
+                .thenAnswer(invocation -> ProductDTO.builder().id(invocation.<Product>getArgument(0).getId()).build());
+
+        List<ProductDTO> products = loader.getAll(List.of("p3", "p2", "p1", "missing", "p3"));
+
+        assertThat(products).extracting(ProductDTO::getId).containsExactly("p3", "p2", "p1", "p3");
+        assertThat(loader.getAll(List.of("p1", "p3"))).extracting(ProductDTO::getId).containsExactly("p1", "p3");
+        verify(productRepository, times(1)).findByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent misses for the same product")
+    void shouldShareConcurrentLoads() throws Exception {
+        CachedProductLoader loader = new CachedProductLoader(cacheManager, stringRedisTemplate, productRepository, productMapper);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findByIdIn(any())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(Product.builder().id("hot").build());
+        });
+        when(productMapper.toDTO(any(Product.class))).thenReturn(ProductDTO.builder().id("hot").build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<ProductDTO>> first = executor.submit(() -> loader.getAll(List.of("hot")));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<List<ProductDTO>> second = executor.submit(() -> loader.getAll(List.of("hot")));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).extracting(ProductDTO::getId).containsExactly("hot");
+            assertThat(second.get(5, TimeUnit.SECONDS)).extracting(ProductDTO::getId).containsExactly("hot");
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(productRepository, times(1)).findByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should not backfill either tier with a load that raced an eviction")
+    void shouldSkipBackfillAfterConcurrentEviction() {
+        TwoTierCacheManager twoTierManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(), stringRedisTemplate,
+                Set.of(ProductServiceConstants.CACHE_PRODUCT_BY_ID), 100, Duration.ofMinutes(1));
+        TwoTierCache cache = (TwoTierCache) twoTierManager.getCache(ProductServiceConstants.CACHE_PRODUCT_BY_ID);
+        CachedProductLoader loader = new CachedProductLoader(twoTierManager, stringRedisTemplate, productRepository, productMapper);
+        when(productRepository.findByIdIn(List.of("p1"))).thenAnswer(invocation -> {
+            // A write lands while the old state is being read
+            cache.evict("p1");
+            return List.of(Product.builder().id("p1").build());
+        });
+        when(productMapper.toDTO(any(Product.class))).thenReturn(ProductDTO.builder().id("p1").build());
+
+        assertThat(loader.getAll(List.of("p1"))).extracting(ProductDTO::getId).containsExactly("p1");
+
+        assertThat(cache.getNear().get("p1")).isNull();
+        assertThat(cache.getRemote().get("p1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refresh early only as expiry approaches relative to load cost")
+    void shouldRefreshEarlyNearExpiry() {
+        CachedProductLoader loader = new CachedProductLoader(cacheManager, stringRedisTemplate, productRepository, productMapper);
+        assertThat(loader.shouldRefreshEarly(0)).isFalse();
+
+        ReflectionTestUtils.setField(loader, "loadMillisEstimate", 50L);
+
+        assertThat(loader.shouldRefreshEarly(0)).isTrue();
+        assertThat(loader.shouldRefreshEarly(TimeUnit.DAYS.toMillis(1))).isFalse();
+        assertThat(loader.shouldRefreshEarly(-1)).isFalse();
+    }
+}
@@ -0,0 +1,86 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.model.enums.Availability;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for search cache key canonicalization and dependency tracking
+ */
+@DisplayName("SearchCriteriaKey Tests")
+class SearchCriteriaKeyTest {
+
+    private static final Sort.Order DEFAULT_ORDER = Sort.Order.desc("createdAt");
+
+    @Test
+    @DisplayName("Should hash equivalent criteria to the same key")
+    void shouldCanonicalizeEquivalentCriteria() {
+        ProductSearchCriteria first = ProductSearchCriteria.builder()
+                .searchText("  Clean Code ")
+                .categoryIds(List.of("c2", "c1", "c2"))
+                .availabilities(List.of(Availability.values()[1], Availability.values()[0]))
+                .minPrice(new BigDecimal("10.00"))
+                .supplierName("")
+                .tags(List.of())
+                .build();
+        ProductSearchCriteria second = ProductSearchCriteria.builder()
+                .searchText("clean code")
+                .categoryIds(List.of("c1", "c2"))
+                .availabilities(List.of(Availability.values()[0], Availability.values()[1]))
+                .minPrice(BigDecimal.TEN)
+                .sortBy("created")
+                .build();
+
+        assertThat(SearchCriteriaKey.of(first, DEFAULT_ORDER, PageRequest.of(0, 20)))
+                .isEqualTo(SearchCriteriaKey.of(second, DEFAULT_ORDER, PageRequest.of(0, 20)))
+                .hasSize(64);
+    }
+
+    @Test
+    @DisplayName("Should distinguish page, sort and case-sensitive values")
+    void shouldDistinguishDifferentRequests() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder().sku("AB-1").build();
+        String key = SearchCriteriaKey.of(criteria, DEFAULT_ORDER, PageRequest.of(0, 20));
+
+        assertThat(SearchCriteriaKey.of(criteria, DEFAULT_ORDER, PageRequest.of(1, 20))).isNotEqualTo(key);
+        assertThat(SearchCriteriaKey.of(criteria, Sort.Order.asc("createdAt"), PageRequest.of(0, 20)))
+                .isNotEqualTo(key);
+        assertThat(SearchCriteriaKey.of(ProductSearchCriteria.builder().sku("ab-1").build(),
+                DEFAULT_ORDER, PageRequest.of(0, 20))).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Should depend on categories and price bands instead of the global generation")
+    void shouldTrackSelectiveDependencies() {
+        assertThat(SearchResultCache.dependencies(ProductSearchCriteria.builder().build()))
+                .containsExactly("all");
+        assertThat(SearchResultCache.dependencies(ProductSearchCriteria.builder()
+                .categoryIds(List.of("c2", "c1"))
+                .build()))
+                .containsExactly("category:c1", "category:c2");
+        assertThat(SearchResultCache.dependencies(ProductSearchCriteria.builder()
+                .minPrice(new BigDecimal("10"))
+                .maxPrice(new BigDecimal("20"))
+                .build()))
+                .containsExactly("price:5", "price:6");
+    }
+
+    @Test
+    @DisplayName("Should place prices in doubling bands")
+    void shouldComputePriceBands() {
+        assertThat(SearchResultCache.priceBand(BigDecimal.ZERO)).isZero();
+        assertThat(SearchResultCache.priceBand(new BigDecimal("0.5"))).isEqualTo(1);
+        assertThat(SearchResultCache.priceBand(BigDecimal.ONE)).isEqualTo(1);
+        assertThat(SearchResultCache.priceBand(new BigDecimal("1.01"))).isEqualTo(2);
+        assertThat(SearchResultCache.priceBand(new BigDecimal("16"))).isEqualTo(5);
+        assertThat(SearchResultCache.priceBand(new BigDecimal("16.5"))).isEqualTo(6);
+    }
+}
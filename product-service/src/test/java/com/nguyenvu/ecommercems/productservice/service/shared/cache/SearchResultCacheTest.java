@@ -0,0 +1,130 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.dto.ProductDTO;
+import com.nguyenvu.ecommercems.productservice.dto.ProductSearchCriteria;
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for generation-based invalidation of cached search pages
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchResultCache Tests")
+class SearchResultCacheTest {
+
+    private static final Sort.Order ORDER = Sort.Order.desc("createdAt");
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private CachedProductLoader productLoader;
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(cacheManager, stringRedisTemplate, productLoader);
+    }
+
+    @Test
+    @DisplayName("Should depend on categories, the spanned price bands or the global counter")
+    void shouldDeriveDependencies() {
+        assertThat(SearchResultCache.priceBand(BigDecimal.ZERO)).isZero();
+        assertThat(SearchResultCache.priceBand(BigDecimal.ONE)).isEqualTo(1);
+        assertThat(SearchResultCache.priceBand(new BigDecimal("1.50"))).isEqualTo(2);
+        assertThat(SearchResultCache.priceBand(BigDecimal.valueOf(16))).isEqualTo(5);
+        assertThat(SearchResultCache.priceBand(BigDecimal.valueOf(17))).isEqualTo(6);
+
+        assertThat(SearchResultCache.dependencies(ProductSearchCriteria.builder()
+                .categoryIds(List.of("c2", "c1", "c2")).build()))
+                .containsExactly("category:c1", "category:c2");
+        assertThat(SearchResultCache.dependencies(ProductSearchCriteria.builder()
+                .minPrice(BigDecimal.TEN).maxPrice(BigDecimal.valueOf(20)).build()))
+                .containsExactly("price:5", "price:6");
+        assertThat(SearchResultCache.dependencies(new ProductSearchCriteria())).containsExactly("all");
+    }
+
+    @Test
+    @DisplayName("Should serve a cached page while its generations are unchanged")
+    void shouldHitWhileGenerationsUnchanged() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder().categoryIds(List.of("c1")).build();
+        givenGenerations("3");
+        AtomicInteger searches = new AtomicInteger();
+
+        cache.getOrSearch(criteria, ORDER, PAGE, search(searches));
+        when(productLoader.getAll(List.of("p1"))).thenReturn(List.of(product()));
+        Page<ProductDTO> second = cache.getOrSearch(criteria, ORDER, PAGE, search(searches));
+
+        assertThat(searches).hasValue(1);
+        assertThat(second.getContent()).extracting(ProductDTO::getId).containsExactly("p1");
+        assertThat(second.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should miss after an invalidation bumps a dependency")
+    void shouldMissAfterInvalidation() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder().categoryIds(List.of("c1")).build();
+        givenGenerations("3");
+        AtomicInteger searches = new AtomicInteger();
+        cache.getOrSearch(criteria, ORDER, PAGE, search(searches));
+
+        cache.invalidate(List.of("c1"), List.of(BigDecimal.TEN));
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of("4"));
+        cache.getOrSearch(criteria, ORDER, PAGE, search(searches));
+
+        assertThat(searches).hasValue(2);
+        verify(valueOperations).increment(ProductServiceConstants.SEARCH_GENERATION_KEY_PREFIX + "all");
+        verify(valueOperations).increment(ProductServiceConstants.SEARCH_GENERATION_KEY_PREFIX + "category:c1");
+        verify(valueOperations).increment(ProductServiceConstants.SEARCH_GENERATION_KEY_PREFIX + "price:5");
+        verify(productLoader, never()).getAll(anyList());
+    }
+
+    private void givenGenerations(String value) {
+        when(cacheManager.getCache(ProductServiceConstants.CACHE_SEARCH_RESULTS))
+                .thenReturn(new ConcurrentMapCache(ProductServiceConstants.CACHE_SEARCH_RESULTS));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of(value));
+    }
+
+    private static Supplier<Page<ProductDTO>> search(AtomicInteger searches) {
+        return () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of(product()), PAGE, 1);
+        };
+    }
+
+    private static ProductDTO product() {
+        return ProductDTO.builder().id("p1").title("Clean Code").build();
+    }
+}
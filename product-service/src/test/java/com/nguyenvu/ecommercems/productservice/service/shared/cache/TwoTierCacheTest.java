@@ -0,0 +1,125 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.cache;
+
+import com.nguyenvu.ecommercems.productservice.service.shared.constants.ProductServiceConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for the near cache tier and its cross-node invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoTierCache Tests")
+class TwoTierCacheTest {
+
+    private static final String CACHE = ProductServiceConstants.CACHE_PRODUCT_BY_ID;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final ConcurrentMapCacheManager remoteManager = new ConcurrentMapCacheManager();
+
+    @Test
+    @DisplayName("Should bound the near cache and not keep a load that raced an invalidation")
+    void shouldBoundNearCache() {
+        NearCache near = new NearCache(2, Duration.ofMinutes(1));
+        near.put("a", 1);
+        near.put("b", 2);
+        near.get("a");
+        near.put("c", 3);
+
+        long observed = near.generation();
+        near.evict("a");
+        near.putIfUnchanged("a", 1, observed);
+
+        assertThat(near.get("b")).isNull();
+        assertThat(near.get("a")).isNull();
+        assertThat(near.get("c")).isEqualTo(3);
+        assertThat(new NearCache(10, Duration.ZERO)).satisfies(expiring -> {
+            expiring.put("a", 1);
+            assertThat(expiring.get("a")).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound across segments and honour invalidations in each")
+    void shouldBoundSegmentedNearCache() {
+        NearCache near = new NearCache(1024, Duration.ofMinutes(1));
+        for (int i = 0; i < 5000; i++) {
+            near.put("p" + i, i);
+        }
+        assertThat(near.size()).isBetween(1, 1024);
+
+        long observed = near.generation();
+        near.evictAll(List.of("p4998", "p4999"));
+        near.putIfUnchanged("p4999", 4999, observed);
+
+        assertThat(near.get("p4998")).isNull();
+        assertThat(near.get("p4999")).isNull();
+        assertThat(near.get("p4997")).isEqualTo(4997);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat reads from the near tier and broadcast evictions")
+    void shouldServeNearHitsAndBroadcastEvictions() {
+        TwoTierCacheManager manager = newManager();
+        Cache cache = manager.getCache(CACHE);
+        remoteManager.getCache(CACHE).put("p1", "v1");
+
+        assertThat(cache.get("p1", String.class)).isEqualTo("v1");
+        remoteManager.getCache(CACHE).put("p1", "changed-behind-our-back");
+        assertThat(cache.get("p1", String.class)).isEqualTo("v1");
+
+        cache.evict("p1");
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(ProductServiceConstants.CACHE_INVALIDATION_TOPIC), payload.capture());
+        assertThat(payload.getValue()).endsWith("\n" + CACHE + "\np1");
+        assertThat(cache.get("p1")).isNull();
+        assertThat(manager.getCache("Product:all")).isNotInstanceOf(TwoTierCache.class);
+    }
+
+    @Test
+    @DisplayName("Should drop near copies on invalidations from other nodes only")
+    void shouldApplyRemoteInvalidations() {
+        TwoTierCacheManager manager = newManager();
+        TwoTierCache cache = (TwoTierCache) manager.getCache(CACHE);
+        cache.put("p1", "v1");
+
+        manager.onMessage(message("other-node\n" + CACHE + "\np1"), null);
+
+        assertThat(cache.getNear().get("p1")).isNull();
+        cache.put("p2", "v2");
+        cache.put("p3", "v3");
+        manager.onMessage(message("other-node\n" + CACHE + "\np2\np3"), null);
+        assertThat(cache.getNear().size()).isZero();
+        cache.put("p2", "v2");
+        manager.onMessage(message("other-node\n" + CACHE), null);
+        assertThat(cache.getNear().size()).isZero();
+    }
+
+    private TwoTierCacheManager newManager() {
+        return new TwoTierCacheManager(remoteManager, stringRedisTemplate, Set.of(CACHE), 100, Duration.ofMinutes(1));
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(ProductServiceConstants.CACHE_INVALIDATION_TOPIC.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
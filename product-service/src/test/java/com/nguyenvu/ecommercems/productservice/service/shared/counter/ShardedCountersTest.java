@@ -0,0 +1,183 @@
+package com.nguyenvu.ecommercems.productservice.service.shared.counter;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nguyenvu.ecommercems.productservice.model.CounterShard;
+import com.nguyenvu.ecommercems.productservice.model.Product;
+import com.nguyenvu.ecommercems.productservice.model.enums.CounterMode;
+import com.nguyenvu.ecommercems.productservice.service.shared.cache.ProductCacheService;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for sharded counter increments and folding
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardedCounters Tests")
+class ShardedCountersTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-10T12:00:05Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductCacheService cacheService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Test
+    @DisplayName("Should upsert increments into a shard of the current epoch without touching the product")
+    void shouldIncrementShard() {
+        ShardedCounters counters = counters(CounterMode.SHARDED);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CounterShard.class)).thenReturn(bulkOperations);
+
+        counters.increment(ShardedCounter.PRODUCT_SALES, "p1", Map.of("sales.totalSold", 2L));
+
+        ArgumentCaptor<Query> shard = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).upsert(shard.capture(), update.capture());
+        verify(bulkOperations).execute();
+        long epoch = NOW.toEpochMilli() / 10_000;
+        assertThat(shard.getValue().getQueryObject().getString("_id")).startsWith("PRODUCT_SALES:p1:" + epoch + ":");
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("values.sales.totalSold", 2L);
+        verify(mongoTemplate, never()).bulkOps(any(), eq(Product.class));
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("Should apply an operation at most once, on its own shard or guarded on the document")
+    void shouldApplyOperationOnce() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CounterShard.class)).thenReturn(bulkOperations);
+        counters(CounterMode.SHARDED).incrementAllOnce(ShardedCounter.PRODUCT_SALES,
+                Map.of("p1", Map.of("sales.totalSold", 2L)), "sale-1");
+
+        ArgumentCaptor<Query> shard = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> insert = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).upsert(shard.capture(), insert.capture());
+        assertThat(shard.getValue().getQueryObject().getString("_id")).isEqualTo("PRODUCT_SALES:p1:op:sale-1");
+        assertThat(insert.getValue().getUpdateObject()).containsOnlyKeys("$setOnInsert");
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(bulkOperations);
+        counters(CounterMode.DIRECT).incrementAllOnce(ShardedCounter.PRODUCT_SALES,
+                Map.of("p1", Map.of("sales.totalSold", 2L)), "sale-1");
+
+        ArgumentCaptor<Query> target = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(bulkOperations).updateOne(target.capture(), update.capture());
+        assertThat(target.getValue().getQueryObject().get("counterOps", Document.class)).containsEntry("$ne", "sale-1");
+        assertThat(((AggregationUpdate) update.getValue()).toPipeline(null).get(0).get("$set", Document.class))
+                .containsKey("counterOps");
+    }
+
+    @Test
+    @DisplayName("Should fold claimed shards into one pipeline update per product and delete them")
+    void shouldFoldClaimedShards() {
+        ShardedCounters counters = counters(CounterMode.SHARDED);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(CounterShard.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+        when(mongoTemplate.stream(any(Query.class), eq(CounterShard.class))).thenReturn(Stream.of(
+                shard("a", "p1", new Document("rating", new Document("count", 1).append("sum", 4.0))),
+                shard("b", "p1", new Document("rating", new Document("count", 1).append("sum", 5.0)))));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(bulkOperations);
+
+        counters.fold();
+
+        ArgumentCaptor<Query> target = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(bulkOperations).updateOne(target.capture(), update.capture());
+        assertThat(target.getValue().getQueryObject().get("counterOps", Document.class))
+                .containsEntry("$ne", "PRODUCT_RATINGS:t1");
+        List<Document> pipeline = ((AggregationUpdate) update.getValue()).toPipeline(null);
+        Document set = pipeline.get(0).get("$set", Document.class);
+        assertThat(set.get("rating.count", Document.class).getList("$add", Object.class)).endsWith(2);
+        assertThat(set.get("rating.sum", Document.class).getList("$add", Object.class)).endsWith(9.0);
+        assertThat(pipeline).hasSize(2);
+        verify(mongoTemplate).remove(any(Query.class), eq(CounterShard.class));
+        verify(cacheService).evictByIds(Set.of("p1"));
+    }
+
+    @Test
+    @DisplayName("Should keep the fold token of taken over shards and apply each token separately")
+    void shouldRefoldTakenOverShardsUnderTheirToken() {
+        ShardedCounters counters = counters(CounterMode.SHARDED);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(CounterShard.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        CounterShard stale = shard("a", "p1", new Document("rating", new Document("count", 1)));
+        stale.setFoldToken("crashed-fold");
+        when(mongoTemplate.stream(any(Query.class), eq(CounterShard.class))).thenReturn(Stream.of(
+                stale, shard("b", "p1", new Document("rating", new Document("count", 1)))));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)).thenReturn(bulkOperations);
+
+        counters.fold();
+
+        ArgumentCaptor<Update> claims = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), claims.capture(), eq(CounterShard.class));
+        assertThat(claims.getAllValues().get(1).getUpdateObject().get("$set", Document.class))
+                .containsKey("claimedBy").doesNotContainKey("foldToken");
+        ArgumentCaptor<Query> targets = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations, times(2)).updateOne(targets.capture(), any(UpdateDefinition.class));
+        assertThat(targets.getAllValues())
+                .extracting(query -> query.getQueryObject().get("counterOps", Document.class).getString("$ne"))
+                .containsExactlyInAnyOrder("PRODUCT_RATINGS:crashed-fold", "PRODUCT_RATINGS:t1");
+        verify(mongoTemplate).remove(any(Query.class), eq(CounterShard.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to average times count for products without a stored sum")
+    void shouldDeriveMissingSum() {
+        AggregationUpdate update = ShardedCounters.counterUpdate(ShardedCounter.PRODUCT_RATINGS,
+                Map.of("rating.sum", 4.0), new Date(), null);
+
+        Document set = update.toPipeline(null).get(0).get("$set", Document.class);
+        Document current = (Document) set.get("rating.sum", Document.class).getList("$add", Object.class).get(0);
+
+        assertThat(current.getList("$ifNull", Object.class))
+                .first().isEqualTo("$rating.sum");
+        assertThat(current.getList("$ifNull", Object.class).get(1))
+                .isInstanceOfSatisfying(Document.class, initial -> assertThat(initial).containsKey("$multiply"));
+        assertThat(set).containsKey("rating.lastRatingDate");
+    }
+
+    private ShardedCounters counters(CounterMode mode) {
+        return new ShardedCounters(mongoTemplate, cacheService, mode, 4, Duration.ofSeconds(10),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private CounterShard shard(String id, String productId, Document values) {
+        return CounterShard.builder()
+                .id(id)
+                .counter(ShardedCounter.PRODUCT_RATINGS.name())
+                .docId(productId)
+                .values(values)
+                .lastAt(Date.from(NOW))
+                .foldToken("t1")
+                .build();
+    }
+}